@@ -0,0 +1,80 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Gives every existing project a task_counters row for each status/priority pair, counted from
+ * its tasks. New projects get theirs on creation, so counter deltas are always plain UPDATEs.
+ * The statuses and priorities are the ones that existed when this migration was written, not
+ * whatever the enums hold later, so the migration's result never changes once it has run.
+ */
+public class V4__Seed_task_counter_grid extends BaseJavaMigration {
+
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "IN_REVIEW", "DONE", "BLOCKED"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "URGENT"};
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        Set<String> existing = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT project_id, status, priority FROM task_counters")) {
+            while (rows.next()) {
+                existing.add(key(rows.getObject(1, UUID.class), rows.getString(2), rows.getString(3)));
+            }
+        }
+
+        Map<String, Long> counts = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT project_id, status, priority, COUNT(*) FROM tasks GROUP BY project_id, status, priority")) {
+            while (rows.next()) {
+                counts.put(key(rows.getObject(1, UUID.class), rows.getString(2), rows.getString(3)), rows.getLong(4));
+            }
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet projects = statement.executeQuery("SELECT id, tenant_id FROM projects");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO task_counters (id, tenant_id, project_id, status, priority, task_count) " +
+                             "VALUES (?, ?, ?, ?, ?, ?)")) {
+            while (projects.next()) {
+                UUID projectId = projects.getObject(1, UUID.class);
+                UUID tenantId = projects.getObject(2, UUID.class);
+                for (String status : STATUSES) {
+                    for (String priority : PRIORITIES) {
+                        String key = key(projectId, status, priority);
+                        if (existing.contains(key)) {
+                            continue;
+                        }
+                        insert.setObject(1, UUID.randomUUID());
+                        insert.setObject(2, tenantId);
+                        insert.setObject(3, projectId);
+                        insert.setString(4, status);
+                        insert.setString(5, priority);
+                        insert.setLong(6, counts.getOrDefault(key, 0L));
+                        insert.addBatch();
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static String key(UUID projectId, String status, String priority) {
+        return projectId + "/" + status + "/" + priority;
+    }
+}
@@ -1,9 +1,10 @@
 package om.tanish.saas.common;
 
 import om.tanish.saas.security.JwtService;
-import om.tanish.saas.tenant.Tenant;
-import om.tanish.saas.tenant.TenantRepository;
-import om.tanish.saas.tenant.TenantStatus;
+import om.tanish.saas.tenant.TenantContext;
+import om.tanish.saas.tenant.TenantRegistry;
+import om.tanish.saas.tenant.TenantSnapshot;
+import om.tanish.saas.tenant.TenantStatusTable;
 import om.tanish.saas.user.User;
 import om.tanish.saas.user.UserRepository;
 import org.slf4j.Logger;
@@ -23,20 +24,23 @@ public class AuthService {
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
     private final UserRepository userRepository;
-    private final TenantRepository tenantRepository;
+    private final TenantRegistry tenantRegistry;
+    private final TenantStatusTable tenantStatusTable;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
 
     public AuthService(
             UserRepository userRepository,
-            TenantRepository tenantRepository,
+            TenantRegistry tenantRegistry,
+            TenantStatusTable tenantStatusTable,
             PasswordEncoder passwordEncoder,
             JwtService jwtService,
             RefreshTokenService refreshTokenService
     ) {
         this.userRepository = userRepository;
-        this.tenantRepository = tenantRepository;
+        this.tenantRegistry = tenantRegistry;
+        this.tenantStatusTable = tenantStatusTable;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.refreshTokenService = refreshTokenService;
@@ -51,24 +55,24 @@ public class AuthService {
         validateBasicLoginRequest(request);
         String email = sanitizeEmail(request.getEmail());
 
-        // --------- SUPER ADMIN LOGIN ---------
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() ->
-                        new ResponseStatusException(
-                                HttpStatus.UNAUTHORIZED, "Invalid credentials"));
+        boolean hasTenantKey = request.getTenantKey() != null && !request.getTenantKey().isBlank();
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new ResponseStatusException(
-                    HttpStatus.UNAUTHORIZED, "Invalid credentials");
-        }
-
-        if ("SUPER_ADMIN".equals(user.getRole().toString())) {
+        // --------- SUPER ADMIN LOGIN ---------
+        // Super admins live in the catalog; tenant users on their tenant's shard
+        if (!hasTenantKey) {
+            User user = userRepository.findByEmail(email)
+                    .orElseThrow(() ->
+                            new ResponseStatusException(
+                                    HttpStatus.UNAUTHORIZED, "Invalid credentials"));
+
+            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+                throw new ResponseStatusException(
+                        HttpStatus.UNAUTHORIZED, "Invalid credentials");
+            }
 
-            if (request.getTenantKey() != null && !request.getTenantKey().isBlank()) {
+            if (!"SUPER_ADMIN".equals(user.getRole().toString())) {
                 throw new ResponseStatusException(
-                        HttpStatus.BAD_REQUEST,
-                        "SUPER_ADMIN must not provide tenant key"
-                );
+                        HttpStatus.BAD_REQUEST, "Tenant key is required");
             }
 
             Map<String, Object> claims = new HashMap<>();
@@ -82,25 +86,21 @@ public class AuthService {
         }
 
         // --------- TENANT USER LOGIN ---------
-        if (request.getTenantKey() == null || request.getTenantKey().isBlank()) {
-            throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST, "Tenant key is required");
-        }
-
-        Tenant tenant = tenantRepository
-                .findByTenantKey(request.getTenantKey().trim())
+        String tenantKey = request.getTenantKey().trim();
+        TenantSnapshot tenant = tenantRegistry
+                .getByKey(tenantKey)
                 .orElseThrow(() ->
                         new ResponseStatusException(
                                 HttpStatus.UNAUTHORIZED, "Invalid credentials"));
 
-        if (tenant.getStatus() != TenantStatus.ACTIVE) {
+        if (!tenant.isActive()) {
             throw new ResponseStatusException(
                     HttpStatus.UNAUTHORIZED, "Tenant is not active");
         }
 
         // Tenant-aware user lookup (IMPORTANT)
-        user = userRepository
-                .findByEmailAndTenant_TenantKey(email, request.getTenantKey().trim())
+        User user = TenantContext.callAs(tenant.id(), () -> userRepository
+                        .findByEmailAndTenant_TenantKey(email, tenantKey))
                 .orElseThrow(() ->
                         new ResponseStatusException(
                                 HttpStatus.UNAUTHORIZED, "Invalid credentials"));
@@ -111,14 +111,14 @@ public class AuthService {
         }
 
         Map<String, Object> claims = new HashMap<>();
-        claims.put("tenantId", tenant.getId().toString());
+        claims.put("tenantId", tenant.id().toString());
         claims.put("role", user.getRole().toString());
 
         String accessToken = jwtService.generateToken(claims, user);
         String refreshToken = refreshTokenService.createRefreshToken(user.getId());
 
         logger.info("Login successful for user: {} (tenant: {})",
-                user.getEmail(), tenant.getName());
+                user.getEmail(), tenant.name());
 
         return new AuthResponse(accessToken, refreshToken);
     }
@@ -134,7 +134,8 @@ public class AuthService {
                 .map(refreshToken -> {
 
                     UUID userId = refreshToken.getUserId();
-                    User user = userRepository.findById(userId)
+                    UUID tenantId = refreshToken.getTenant() != null ? refreshToken.getTenant().getId() : null;
+                    User user = TenantContext.callAs(tenantId, () -> userRepository.findById(userId))
                             .orElseThrow(() ->
                                     new ResponseStatusException(
                                             HttpStatus.NOT_FOUND, "User not found"));
@@ -142,6 +143,10 @@ public class AuthService {
                     Map<String, Object> claims = new HashMap<>();
 
                     if (user.getTenant() != null) {
+                        if (!tenantStatusTable.isActive(user.getTenant().getId())) {
+                            throw new ResponseStatusException(
+                                    HttpStatus.UNAUTHORIZED, "Tenant is not active");
+                        }
                         claims.put("tenantId", user.getTenant().getId().toString());
                     }
 
@@ -0,0 +1,15 @@
+package om.tanish.saas.common;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Runs each task as the tenant and user that submitted it. Spring Boot applies the decorator
+ * to the application task executor, which serves {@code @Async} methods and async MVC requests.
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return ContextSnapshot.capture().wrap(runnable);
+    }
+}
@@ -0,0 +1,107 @@
+package om.tanish.saas.common;
+
+import om.tanish.saas.tenant.TenantContext;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
+/**
+ * The request's tenant and caller, captured on one thread so that work handed to another
+ * thread runs as the same tenant and user. Running under a snapshot sets both for the duration
+ * of the action and restores what the thread had before, the way a ScopedValue binding would
+ * (ScopedValue itself is still a preview API on Java 21).
+ */
+public final class ContextSnapshot {
+
+    private static final ContextSnapshot EMPTY = new ContextSnapshot(null, null);
+
+    private final UUID tenantId;
+    private final Authentication authentication;
+
+    private ContextSnapshot(UUID tenantId, Authentication authentication) {
+        this.tenantId = tenantId;
+        this.authentication = authentication;
+    }
+
+    public static ContextSnapshot capture() {
+        UUID tenantId = TenantContext.getTenant();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return tenantId == null && authentication == null ? EMPTY : new ContextSnapshot(tenantId, authentication);
+    }
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public Authentication getAuthentication() {
+        return authentication;
+    }
+
+    public <T> T call(Supplier<T> action) {
+        try {
+            return within(action::get);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public Runnable wrap(Runnable action) {
+        return () -> run(action);
+    }
+
+    public <T> Callable<T> wrap(Callable<T> action) {
+        return () -> within(action);
+    }
+
+    /**
+     * An executor that starts a virtual thread per task, each running under this snapshot. Meant
+     * for try-with-resources, so that the forked work finishes inside the request that owns it.
+     */
+    public ExecutorService newVirtualThreadPerTaskExecutor() {
+        ThreadFactory virtual = Thread.ofVirtual().name("ctx-", 0).factory();
+        return Executors.newThreadPerTaskExecutor(task -> virtual.newThread(wrap(task)));
+    }
+
+    private <T> T within(Callable<T> action) throws Exception {
+        UUID previousTenant = TenantContext.getTenant();
+        SecurityContext previousSecurity = SecurityContextHolder.getContext();
+        setTenant(tenantId);
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            return action.call();
+        } finally {
+            setTenant(previousTenant);
+            if (previousSecurity.getAuthentication() != null) {
+                SecurityContextHolder.setContext(previousSecurity);
+            } else {
+                SecurityContextHolder.clearContext();
+            }
+        }
+    }
+
+    private static void setTenant(UUID tenantId) {
+        if (tenantId != null) {
+            TenantContext.setTenant(tenantId);
+        } else {
+            TenantContext.clear();
+        }
+    }
+}
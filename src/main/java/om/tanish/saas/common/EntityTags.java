@@ -0,0 +1,79 @@
+package om.tanish.saas.common;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * HTTP entity tags derived from {@code updatedAt}. A row's tag is strong and changes with every
+ * write, so services store {@code updatedAt} truncated to microseconds (what the database keeps)
+ * and a tag handed out after a write matches the one computed from the stored row later.
+ * A representation that shows fields of joined rows (a task's project name, its assignee's
+ * email) carries their versions in its tag too, so a change to any of them moves the tag.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    public static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /** Strong tag of a row and the rows it joins in; a missing joined row counts as 0. */
+    public static String of(Instant version, Instant... joined) {
+        return "\"" + join(version, joined) + "\"";
+    }
+
+    /** Tag of a collection, weak since it only tracks the size and the latest writes. */
+    public static String weak(long count, Instant latest, Instant... joined) {
+        return "W/\"" + count + "-" + join(latest, joined) + "\"";
+    }
+
+    /** The latest of the given versions, for {@code Last-Modified}; null if all are null. */
+    public static Instant latest(Instant... versions) {
+        Instant latest = null;
+        for (Instant version : versions) {
+            if (version != null && (latest == null || version.isAfter(latest))) {
+                latest = version;
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Checks an {@code If-Match} header against the current tag; no header always passes.
+     * Tomcat weakens the tag of a response it compresses, so a {@code W/} prefix is ignored: the
+     * tag names the version either way.
+     */
+    public static void checkIfMatch(String ifMatch, String current) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals("*") || trimmed.equals(current)) {
+                return;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                "Resource was modified; current version is " + current);
+    }
+
+    private static String join(Instant version, Instant... joined) {
+        StringBuilder tag = new StringBuilder().append(micros(version));
+        for (Instant instant : joined) {
+            tag.append('.').append(micros(instant));
+        }
+        return tag.toString();
+    }
+
+    private static long micros(Instant instant) {
+        return instant != null ? ChronoUnit.MICROS.between(Instant.EPOCH, instant) : 0;
+    }
+}
@@ -0,0 +1,70 @@
+package om.tanish.saas.common;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Lets a scheduled job run on one node at a time, through a row in the catalog's
+ * {@code scheduler_locks} table. A node that dies mid-run holds the lock until
+ * {@code lockAtMostFor} runs out; {@code lockAtLeastFor} keeps a node whose clock is a little
+ * behind from starting the same run again right after another one finished.
+ */
+@Component
+public class SchedulerLock {
+
+    private static final String NODE = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Called with no tenant set, so connections come from the catalog
+    public SchedulerLock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Runs the task if no other node holds the lock; false if it was skipped. */
+    public boolean runIfFree(String name, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        Instant lockedAt = Instant.now();
+        if (!acquire(name, lockedAt, lockedAt.plus(lockAtMostFor))) {
+            return false;
+        }
+        try {
+            task.run();
+        } finally {
+            Instant earliest = lockedAt.plus(lockAtLeastFor);
+            Instant now = Instant.now();
+            jdbcTemplate.update("UPDATE scheduler_locks SET locked_until = ? WHERE name = ? AND locked_by = ?",
+                    utc(now.isAfter(earliest) ? now : earliest), name, NODE);
+        }
+        return true;
+    }
+
+    private boolean acquire(String name, Instant lockedAt, Instant lockedUntil) {
+        int updated = jdbcTemplate.update(
+                "UPDATE scheduler_locks SET locked_until = ?, locked_at = ?, locked_by = ? " +
+                        "WHERE name = ? AND locked_until <= ?",
+                utc(lockedUntil), utc(lockedAt), NODE, name, utc(lockedAt));
+        if (updated == 1) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO scheduler_locks (name, locked_until, locked_at, locked_by) VALUES (?, ?, ?, ?)",
+                    name, utc(lockedUntil), utc(lockedAt), NODE);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // The row exists and another node holds it
+            return false;
+        }
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
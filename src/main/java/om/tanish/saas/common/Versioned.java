@@ -0,0 +1,7 @@
+package om.tanish.saas.common;
+
+import java.time.Instant;
+
+/** The result of a write with the version it left behind, for the response's ETag. */
+public record Versioned<T>(T body, String tag, Instant lastModified) {
+}
@@ -0,0 +1,51 @@
+package om.tanish.saas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dashboard widget timeouts and fan-out. A widget that has not loaded within its timeout is left
+ * out of the response, and its transaction times out with it. Each widget holds a connection
+ * while it loads, so one request loads at most {@code max-concurrent-widgets} at a time.
+ */
+@ConfigurationProperties(prefix = "dashboard")
+public class DashboardProperties {
+
+    private Duration widgetTimeout = Duration.ofSeconds(2);
+
+    private int maxConcurrentWidgets = 2;
+
+    /** Per-widget overrides of {@code widget-timeout}, keyed by widget name. */
+    private Map<String, Duration> widgetTimeouts = new HashMap<>();
+
+    public Duration timeoutFor(String widget) {
+        return widgetTimeouts.getOrDefault(widget, widgetTimeout);
+    }
+
+    public Duration getWidgetTimeout() {
+        return widgetTimeout;
+    }
+
+    public void setWidgetTimeout(Duration widgetTimeout) {
+        this.widgetTimeout = widgetTimeout;
+    }
+
+    public int getMaxConcurrentWidgets() {
+        return maxConcurrentWidgets;
+    }
+
+    public void setMaxConcurrentWidgets(int maxConcurrentWidgets) {
+        this.maxConcurrentWidgets = maxConcurrentWidgets;
+    }
+
+    public Map<String, Duration> getWidgetTimeouts() {
+        return widgetTimeouts;
+    }
+
+    public void setWidgetTimeouts(Map<String, Duration> widgetTimeouts) {
+        this.widgetTimeouts = widgetTimeouts;
+    }
+}
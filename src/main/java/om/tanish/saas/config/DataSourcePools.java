@@ -0,0 +1,50 @@
+package om.tanish.saas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+/**
+ * Builds the Hikari pools for configurations that replace Boot's single DataSource. Each pool
+ * registers its own Micrometer metrics, since Boot only instruments the DataSource it creates.
+ */
+final class DataSourcePools {
+
+    private DataSourcePools() {
+    }
+
+    /** The {@code spring.datasource} pool, honouring {@code spring.datasource.hikari.*}. */
+    static HikariDataSource primary(String poolName,
+                                    DataSourceProperties properties,
+                                    Environment environment,
+                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        return named(pool, poolName, meterRegistry);
+    }
+
+    static HikariDataSource pool(String poolName, String url, String username, String password,
+                                 int maximumPoolSize, ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setMaximumPoolSize(maximumPoolSize);
+        return named(pool, poolName, meterRegistry);
+    }
+
+    private static HikariDataSource named(HikariDataSource pool, String poolName,
+                                          ObjectProvider<MeterRegistry> meterRegistry) {
+        pool.setPoolName(poolName);
+        meterRegistry.ifAvailable(registry ->
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return pool;
+    }
+}
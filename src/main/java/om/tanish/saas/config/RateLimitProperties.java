@@ -0,0 +1,152 @@
+package om.tanish.saas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate-limit tiers. Global and IP limits are enforced before authentication; tenant, user
+ * and route limits after it. Tenants can override the tenant and user defaults on their row.
+ */
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private Limit global = new Limit(2000, Duration.ofSeconds(1));
+
+    /** Per client IP for requests without a verified bearer token, and for every /api/v1/auth request. */
+    private Limit ip = new Limit(100, Duration.ofMinutes(1));
+
+    /** Per client IP for requests with a verified bearer token; kept loose so tenants behind one NAT do not starve each other. */
+    private Limit ipAuthenticated = new Limit(1000, Duration.ofMinutes(1));
+
+    private Limit tenant = new Limit(1200, Duration.ofMinutes(1));
+
+    private Limit user = new Limit(300, Duration.ofMinutes(1));
+
+    /** In-flight requests per tenant, so one tenant cannot hold the whole connection pool. */
+    private int tenantMaxConcurrentRequests = 10;
+
+    private List<RouteLimit> routes = new ArrayList<>();
+
+    private Duration idleTimeout = Duration.ofMinutes(5);
+
+    public Limit getGlobal() {
+        return global;
+    }
+
+    public void setGlobal(Limit global) {
+        this.global = global;
+    }
+
+    public Limit getIp() {
+        return ip;
+    }
+
+    public void setIp(Limit ip) {
+        this.ip = ip;
+    }
+
+    public Limit getIpAuthenticated() {
+        return ipAuthenticated;
+    }
+
+    public void setIpAuthenticated(Limit ipAuthenticated) {
+        this.ipAuthenticated = ipAuthenticated;
+    }
+
+    public Limit getTenant() {
+        return tenant;
+    }
+
+    public void setTenant(Limit tenant) {
+        this.tenant = tenant;
+    }
+
+    public Limit getUser() {
+        return user;
+    }
+
+    public void setUser(Limit user) {
+        this.user = user;
+    }
+
+    public int getTenantMaxConcurrentRequests() {
+        return tenantMaxConcurrentRequests;
+    }
+
+    public void setTenantMaxConcurrentRequests(int tenantMaxConcurrentRequests) {
+        this.tenantMaxConcurrentRequests = tenantMaxConcurrentRequests;
+    }
+
+    public List<RouteLimit> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<RouteLimit> routes) {
+        this.routes = routes;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public static class Limit {
+
+        private long capacity;
+        private Duration refillPeriod;
+
+        public Limit() {
+        }
+
+        public Limit(long capacity, Duration refillPeriod) {
+            this.capacity = capacity;
+            this.refillPeriod = refillPeriod;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getRefillPeriod() {
+            return refillPeriod;
+        }
+
+        public void setRefillPeriod(Duration refillPeriod) {
+            this.refillPeriod = refillPeriod;
+        }
+    }
+
+    /** Extra per-user limit on matching requests, e.g. expensive reports or bulk writes. */
+    public static class RouteLimit extends Limit {
+
+        private HttpMethod method;
+        private String pattern;
+
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        public void setMethod(HttpMethod method) {
+            this.method = method;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package om.tanish.saas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import om.tanish.saas.replica.ReadYourWritesGuard;
+import om.tanish.saas.replica.ReplicaReadDataSource;
+import om.tanish.saas.replica.WriteTrackingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write splitting ({@code saas.replica.enabled=true}). The DataSource is a
+ * {@link LazyConnectionDataSourceProxy}, which defers taking a pooled connection until the
+ * first statement; by then the transaction manager has marked the connection read-only or
+ * not, and read-only transactions are served by the replica.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(name = "saas.replica.enabled", havingValue = "true")
+public class ReplicaConfig {
+
+    public ReplicaConfig(@Value("${spring.jpa.open-in-view:true}") boolean openInView,
+                         @Value("${saas.sharding.enabled:false}") boolean sharding,
+                         @Value("${saas.tenancy.mode:shared}") String tenancyMode) {
+        // An open-in-view session keeps its first connection for the request, so a write after
+        // a read in the same request would be sent to the replica
+        if (openInView) {
+            throw new IllegalStateException("saas.replica.enabled requires spring.jpa.open-in-view=false");
+        }
+        if (sharding || "schema".equalsIgnoreCase(tenancyMode)) {
+            throw new IllegalStateException(
+                    "saas.replica.enabled cannot be combined with sharding or saas.tenancy.mode=schema");
+        }
+    }
+
+    @Bean
+    public ReadYourWritesGuard readYourWritesGuard(ReplicaProperties replica) {
+        return new ReadYourWritesGuard(replica.getReadYourWritesWindow());
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties,
+                                              Environment environment,
+                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        return DataSourcePools.primary("primary", dataSourceProperties, environment, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource replicaDataSource(ReplicaProperties replica, ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource pool = DataSourcePools.pool("replica", replica.getUrl(), replica.getUsername(),
+                replica.getPassword(), replica.getMaximumPoolSize(), meterRegistry);
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 HikariDataSource replicaDataSource,
+                                 ReadYourWritesGuard readYourWritesGuard,
+                                 MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new WriteTrackingDataSource(primaryDataSource, readYourWritesGuard));
+        dataSource.setReadOnlyDataSource(new ReplicaReadDataSource(
+                primaryDataSource, replicaDataSource, readYourWritesGuard, meterRegistry));
+        return dataSource;
+    }
+}
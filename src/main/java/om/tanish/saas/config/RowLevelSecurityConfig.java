@@ -0,0 +1,55 @@
+package om.tanish.saas.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import om.tanish.saas.tenant.RowLevelSecurityPolicies;
+import om.tanish.saas.tenant.TenantScopedJpaTransactionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Row-level security mode ({@code saas.tenancy.isolation=rls}). Each transaction is scoped to
+ * the current tenant by {@link TenantScopedJpaTransactionManager}: PostgreSQL enforces it with
+ * row-level security policies, other databases (H2 in development and tests) with a Hibernate
+ * filter. Repository queries keep their tenant predicates; the database catches the ones that
+ * miss it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "saas.tenancy.isolation", havingValue = "rls")
+public class RowLevelSecurityConfig {
+
+    private final boolean postgres;
+
+    public RowLevelSecurityConfig(DataSourceProperties dataSourceProperties,
+                                  @Value("${saas.tenancy.mode:shared}") String tenancyMode,
+                                  @Value("${saas.sharding.enabled:false}") boolean sharding) {
+        if ("schema".equalsIgnoreCase(tenancyMode) || sharding) {
+            throw new IllegalStateException(
+                    "saas.tenancy.isolation=rls cannot be combined with sharding or saas.tenancy.mode=schema");
+        }
+        this.postgres = DatabaseDriver.fromJdbcUrl(dataSourceProperties.determineUrl()) == DatabaseDriver.POSTGRESQL;
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         ObjectProvider<TransactionManagerCustomizers> customizers) {
+        TenantScopedJpaTransactionManager transactionManager =
+                new TenantScopedJpaTransactionManager(entityManagerFactory, postgres);
+        customizers.ifAvailable(c -> c.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public RowLevelSecurityPolicies rowLevelSecurityPolicies(DataSource dataSource) {
+        return new RowLevelSecurityPolicies(dataSource, postgres);
+    }
+}
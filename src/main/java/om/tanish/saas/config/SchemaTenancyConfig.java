@@ -0,0 +1,56 @@
+package om.tanish.saas.config;
+
+import om.tanish.saas.tenant.SchemaMultiTenantConnectionProvider;
+import om.tanish.saas.tenant.TenantSchemaDirectory;
+import om.tanish.saas.tenant.TenantSchemaResolver;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Schema-per-tenant mode ({@code saas.tenancy.mode=schema}). Registers the connection provider
+ * and tenant resolver with Hibernate, which then picks each session's schema from the current tenant. Tenants created
+ * with a dedicated schema get their own projects, tasks and task_counters tables; everyone
+ * else stays in the shared schema.
+ */
+@Configuration
+@ConditionalOnProperty(name = "saas.tenancy.mode", havingValue = "schema")
+public class SchemaTenancyConfig {
+
+    private final String sharedSchema;
+
+    public SchemaTenancyConfig(@Value("${saas.tenancy.shared-schema:public}") String sharedSchema,
+                               @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        // A session's schema is fixed when it opens; an open-in-view session would pin every
+        // transaction in the request, including per-tenant background work, to one schema
+        if (openInView) {
+            throw new IllegalStateException("saas.tenancy.mode=schema requires spring.jpa.open-in-view=false");
+        }
+        this.sharedSchema = sharedSchema;
+    }
+
+    @Bean
+    public SchemaMultiTenantConnectionProvider schemaMultiTenantConnectionProvider(DataSource dataSource) {
+        return new SchemaMultiTenantConnectionProvider(dataSource, sharedSchema);
+    }
+
+    @Bean
+    public TenantSchemaResolver tenantSchemaResolver(TenantSchemaDirectory directory) {
+        return new TenantSchemaResolver(directory, sharedSchema);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer schemaTenancyHibernateProperties(
+            SchemaMultiTenantConnectionProvider connectionProvider,
+            TenantSchemaResolver tenantSchemaResolver) {
+        return properties -> {
+            properties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, connectionProvider);
+            properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, tenantSchemaResolver);
+        };
+    }
+}
@@ -1,7 +1,10 @@
 package om.tanish.saas.config;
 
+import jakarta.servlet.DispatcherType;
 import om.tanish.saas.security.JwtTenantFilter;
 import om.tanish.saas.security.RateLimitFilter;
+import om.tanish.saas.security.TenantQuotaFilter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -20,21 +23,25 @@ import java.util.List;
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     private final JwtTenantFilter jwtTenantFilter;
     private final RateLimitFilter rateLimitFilter;
+    private final TenantQuotaFilter tenantQuotaFilter;
 
-    public SecurityConfig(JwtTenantFilter jwtTenantFilter, RateLimitFilter rateLimitFilter) {
+    public SecurityConfig(JwtTenantFilter jwtTenantFilter, RateLimitFilter rateLimitFilter,
+                          TenantQuotaFilter tenantQuotaFilter) {
         this.jwtTenantFilter = jwtTenantFilter;
         this.rateLimitFilter = rateLimitFilter;
+        this.tenantQuotaFilter = tenantQuotaFilter;
     }
 
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:3000", "http://localhost:8080"));
-        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
         configuration.setAllowCredentials(true);
 
@@ -59,6 +66,10 @@ public class SecurityConfig {
                         .requestMatchers("/ping").permitAll()
                         .requestMatchers("/actuator/**").permitAll()
 
+                        // Streamed responses re-dispatch once the body is written; the
+                        // original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // -------- SUPER ADMIN ONLY --------
                         .requestMatchers("/api/v1/tenant/create","/api/v1/user/create")
                         .hasRole("SUPER_ADMIN")
@@ -71,7 +82,8 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtTenantFilter, UsernamePasswordAuthenticationFilter.class)
-                .addFilterBefore(rateLimitFilter, JwtTenantFilter.class);
+                .addFilterBefore(rateLimitFilter, JwtTenantFilter.class)
+                .addFilterAfter(tenantQuotaFilter, JwtTenantFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,95 @@
+package om.tanish.saas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import om.tanish.saas.shard.ShardDataSources;
+import om.tanish.saas.shard.ShardDirectory;
+import om.tanish.saas.shard.ShardSchemaInitializer;
+import om.tanish.saas.shard.TenantRoutingDataSource;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tenant sharding ({@code saas.sharding.enabled=true}). Replaces the single pooled DataSource
+ * with a {@link TenantRoutingDataSource} over one Hikari pool per shard; the catalog pool keeps
+ * the {@code spring.datasource} and {@code spring.datasource.hikari} settings.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "saas.sharding.enabled", havingValue = "true")
+    public ShardDataSources shardDataSources(ShardingProperties sharding,
+                                             DataSourceProperties dataSourceProperties,
+                                             Environment environment,
+                                             ObjectProvider<MeterRegistry> meterRegistry,
+                                             @Value("${spring.jpa.open-in-view:true}") boolean openInView,
+                                             @Value("${saas.tenancy.mode:shared}") String tenancyMode) {
+        // An open-in-view session holds its first connection for the whole request, so a
+        // super admin request that works across tenants would stay on the catalog shard
+        if (openInView) {
+            throw new IllegalStateException("saas.sharding.enabled requires spring.jpa.open-in-view=false");
+        }
+        if ("schema".equalsIgnoreCase(tenancyMode)) {
+            throw new IllegalStateException("saas.sharding.enabled cannot be combined with saas.tenancy.mode=schema");
+        }
+        String catalogShard = sharding.getCatalogShard();
+        if (sharding.getShards().containsKey(catalogShard)) {
+            throw new IllegalStateException("Shard " + catalogShard + " is the catalog; configure it under spring.datasource");
+        }
+
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        pools.put(catalogShard, DataSourcePools.primary(
+                "shard-" + catalogShard, dataSourceProperties, environment, meterRegistry));
+        sharding.getShards().forEach((id, shard) -> pools.put(id, DataSourcePools.pool(
+                "shard-" + id, shard.getUrl(), shard.getUsername(), shard.getPassword(),
+                shard.getMaximumPoolSize(), meterRegistry)));
+
+        for (String id : sharding.getPlacement()) {
+            if (!pools.containsKey(id)) {
+                throw new IllegalStateException("saas.sharding.placement names unknown shard " + id);
+            }
+        }
+        return new ShardDataSources(catalogShard, pools);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "saas.sharding.enabled", havingValue = "true")
+    public DataSource dataSource(ShardDataSources shardDataSources, ShardDirectory shardDirectory) {
+        return new TenantRoutingDataSource(shardDataSources, shardDirectory);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "saas.sharding.enabled", havingValue = "true")
+    public ShardSchemaInitializer shardSchemaInitializer(
+            ShardDataSources shardDataSources,
+            @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto,
+            @Value("${spring.flyway.enabled:true}") boolean flyway,
+            @Value("${spring.flyway.locations:classpath:db/migration}") String[] flywayLocations) {
+        return new ShardSchemaInitializer(shardDataSources, ddlAuto, flyway ? flywayLocations : null);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "saas.sharding.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer shardingHibernateProperties(ShardSchemaInitializer shardSchemaInitializer) {
+        return properties -> properties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(shardSchemaInitializer));
+    }
+}
@@ -0,0 +1,122 @@
+package om.tanish.saas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tenant sharding. The {@code spring.datasource} database is the catalog shard: it holds the
+ * tenant catalog, the shard map, super admins and refresh tokens, and can host tenants itself.
+ * Each entry under {@code shards} is a further database with its own connection pool.
+ */
+@ConfigurationProperties(prefix = "saas.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    /** Shard id of the spring.datasource database. */
+    private String catalogShard = "primary";
+
+    private Map<String, Shard> shards = new LinkedHashMap<>();
+
+    /** Shards that receive new tenants; empty means every shard, including the catalog. */
+    private List<String> placement = new ArrayList<>();
+
+    /** How long a node may keep routing a tenant to a shard without re-reading the shard map. */
+    private Duration directoryTtl = Duration.ofSeconds(5);
+
+    /** Extra wait on top of directory-ttl for in-flight requests to finish before a move copies rows. */
+    private Duration moveDrain = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCatalogShard() {
+        return catalogShard;
+    }
+
+    public void setCatalogShard(String catalogShard) {
+        this.catalogShard = catalogShard;
+    }
+
+    public Map<String, Shard> getShards() {
+        return shards;
+    }
+
+    public void setShards(Map<String, Shard> shards) {
+        this.shards = shards;
+    }
+
+    public List<String> getPlacement() {
+        return placement;
+    }
+
+    public void setPlacement(List<String> placement) {
+        this.placement = placement;
+    }
+
+    public Duration getDirectoryTtl() {
+        return directoryTtl;
+    }
+
+    public void setDirectoryTtl(Duration directoryTtl) {
+        this.directoryTtl = directoryTtl;
+    }
+
+    public Duration getMoveDrain() {
+        return moveDrain;
+    }
+
+    public void setMoveDrain(Duration moveDrain) {
+        this.moveDrain = moveDrain;
+    }
+
+    public static class Shard {
+
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package om.tanish.saas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import om.tanish.saas.common.BoundedDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Virtual-thread request execution ({@code spring.threads.virtual.enabled=true}). Tomcat then
+ * serves each request on a new virtual thread, so the thread pool no longer bounds how many
+ * requests reach the connection pool at once; the primary DataSource is wrapped in a
+ * {@link BoundedDataSource} sized to the pool so the excess waits in line outside it.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof BoundedDataSource) {
+                    return bean;
+                }
+                Binder binder = Binder.get(environment);
+                int maxConnections = binder.bind("saas.datasource.max-concurrent-connections", Integer.class)
+                        .orElseGet(() -> poolSize(dataSource));
+                Duration acquireTimeout = binder.bind("saas.datasource.acquire-timeout", Duration.class)
+                        .orElse(Duration.ofSeconds(30));
+                logger.info("Virtual threads enabled: at most {} concurrent connections", maxConnections);
+                return new BoundedDataSource(dataSource, maxConnections, acquireTimeout);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder boundedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof BoundedDataSource bounded) {
+                Gauge.builder("datasource.bounded.waiting", bounded, BoundedDataSource::getWaitingThreads)
+                        .description("Threads waiting for a connection permit")
+                        .register(registry);
+                Gauge.builder("datasource.bounded.available", bounded, BoundedDataSource::getAvailablePermits)
+                        .description("Connection permits not in use")
+                        .register(registry);
+            }
+        };
+    }
+
+    // With sharding or a replica this is the catalog or primary pool; set the property to
+    // allow more when requests are spread over several pools
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                int size = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                // Unset until the pool starts, when Hikari applies its default of 10
+                return size > 0 ? size : 10;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot inspect the DataSource pool", e);
+        }
+        throw new IllegalStateException(
+                "spring.threads.virtual.enabled requires saas.datasource.max-concurrent-connections for a non-Hikari DataSource");
+    }
+}
@@ -1,17 +1,22 @@
 package om.tanish.saas.project.controller;
 
 import jakarta.validation.Valid;
+import om.tanish.saas.common.Versioned;
 import om.tanish.saas.project.dto.CreateProjectRequest;
 import om.tanish.saas.project.dto.ProjectResponseDTO;
+import om.tanish.saas.project.dto.ProjectVersion;
 import om.tanish.saas.project.enums.ProjectStatus;
 import om.tanish.saas.project.service.ProjectService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -62,8 +67,13 @@ public class ProjectController {
 
     @GetMapping("/{projectId}")
     @PreAuthorize("hasAnyRole('TENANT_ADMIN', 'USER')")
-    public ProjectResponseDTO getProjectById(@PathVariable UUID projectId){
-        return projectService.getProjectById(projectId);
+    public ResponseEntity<ProjectResponseDTO> getProjectById(@PathVariable UUID projectId, WebRequest webRequest){
+        // A client holding the current version gets 304 without the project being loaded
+        ProjectVersion version = projectService.getProjectVersion(projectId);
+        if (webRequest.checkNotModified(version.tag(), version.lastModified().toEpochMilli())) {
+            return null;
+        }
+        return ResponseEntity.ok(projectService.getProjectById(projectId));
     }
 
     @DeleteMapping("/{projectId}")
@@ -75,11 +85,16 @@ public class ProjectController {
 
     @PutMapping("/{projectId}")
     @PreAuthorize("hasAnyRole('TENANT_ADMIN', 'USER')")
-    public ProjectResponseDTO updateProject(
+    public ResponseEntity<ProjectResponseDTO> updateProject(
             @PathVariable UUID projectId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody CreateProjectRequest request
     ) {
-        return projectService.updateProject(projectId, request);
+        Versioned<ProjectResponseDTO> updated = projectService.updateProject(projectId, request, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(updated.tag())
+                .lastModified(updated.lastModified())
+                .body(updated.body());
     }
 
     @GetMapping("/status/{status}")
@@ -2,18 +2,33 @@ package om.tanish.saas.project.controller;
 
 import jakarta.validation.Valid;
 
+import om.tanish.saas.common.CursorPage;
+import om.tanish.saas.common.Versioned;
+import om.tanish.saas.project.dto.BulkCreateTasksRequest;
+import om.tanish.saas.project.dto.BulkCreateTasksResponse;
+import om.tanish.saas.project.dto.BulkStatusUpdateRequest;
+import om.tanish.saas.project.dto.BulkStatusUpdateResponse;
 import om.tanish.saas.project.dto.CreateTaskRequest;
+import om.tanish.saas.project.dto.TaskListVersion;
 import om.tanish.saas.project.dto.TaskResponseDTO;
+import om.tanish.saas.project.dto.TaskVersion;
 import om.tanish.saas.project.entities.Task;
 import om.tanish.saas.project.service.TaskService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,6 +36,8 @@ import java.util.UUID;
 @RequestMapping("/api/v1/tasks")
 public class TaskController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
     private final TaskService taskService;
     public TaskController(TaskService taskService) {
         this.taskService = taskService;
@@ -33,38 +50,119 @@ public class TaskController {
         return taskService.createTask(request);
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('TENANT_ADMIN', 'USER')")
+    public ResponseEntity<BulkCreateTasksResponse> createTasks(@Valid @RequestBody BulkCreateTasksRequest request) {
+        BulkCreateTasksResponse response = taskService.createTasks(request);
+        HttpStatus status = response.getCreated() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @GetMapping("/{projectId}")
     @PreAuthorize("hasAnyRole('TENANT_ADMIN', 'USER')")
-    public Page<TaskResponseDTO> getTasksByProjectId(
+    public ResponseEntity<Page<TaskResponseDTO>> getTasksByProjectId(
             @PathVariable UUID projectId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String direction
+            @RequestParam(defaultValue = "DESC") String direction,
+            WebRequest webRequest
     ) {
+        // Any task added, removed or updated changes the list's version, and so every page's tag
+        TaskListVersion version = taskService.getTaskListVersion(projectId);
+        Instant lastModified = version.lastModified();
+        if (webRequest.checkNotModified(version.tag(), lastModified != null ? lastModified.toEpochMilli() : -1)) {
+            return null;
+        }
         Pageable pageable = (Pageable) PageRequest.of(page, size,
                 Sort.Direction.fromString(direction), sortBy);
-        return taskService.getTasksByProject(projectId, pageable);
+        return ResponseEntity.ok(taskService.getTasksByProject(projectId, pageable));
+    }
+
+    @GetMapping("/{projectId}/{taskId}")
+    @PreAuthorize("hasAnyRole('TENANT_ADMIN', 'USER')")
+    public ResponseEntity<TaskResponseDTO> getTask(@PathVariable UUID projectId,
+                                                   @PathVariable UUID taskId,
+                                                   WebRequest webRequest) {
+        TaskVersion version = taskService.getTaskVersion(projectId, taskId);
+        if (webRequest.checkNotModified(version.tag(), version.lastModified().toEpochMilli())) {
+            return null;
+        }
+        return ResponseEntity.ok(taskService.getTaskById(taskId));
+    }
+
+    @GetMapping(value = "/{projectId}", params = "limit")
+    @PreAuthorize("hasAnyRole('TENANT_ADMIN', 'USER')")
+    public CursorPage<TaskResponseDTO> getTasksByProjectIdAfter(
+            @PathVariable UUID projectId,
+            @RequestParam(required = false) String after,
+            @RequestParam int limit
+    ) {
+        return taskService.getTasksByProjectAfter(projectId, after, limit);
     }
 
     @GetMapping("/my-tasks")
     @PreAuthorize("hasAnyRole('TENANT_ADMIN', 'USER')")
-    public List<TaskResponseDTO> getMyTasks() {
-        return taskService.getMyTasks();
+    public ResponseEntity<List<TaskResponseDTO>> getMyTasks(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Instant dueAfter,
+            @RequestParam(required = false) Instant dueBefore
+    ) {
+        List<TaskResponseDTO> tasks = taskService.getMyTasks(status, dueAfter, dueBefore);
+        if (tasks.size() > TaskService.MAX_UNPAGED_TASKS) {
+            // Too long for one response: page through it, or ask for application/x-ndjson
+            return ResponseEntity.status(HttpStatus.SEE_OTHER)
+                    .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                            .replaceQueryParam("limit", DEFAULT_PAGE_SIZE).build().toUri())
+                    .build();
+        }
+        return ResponseEntity.ok(tasks);
+    }
+
+    @GetMapping(value = "/my-tasks", params = "limit")
+    @PreAuthorize("hasAnyRole('TENANT_ADMIN', 'USER')")
+    public CursorPage<TaskResponseDTO> getMyTasksAfter(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Instant dueAfter,
+            @RequestParam(required = false) Instant dueBefore,
+            @RequestParam(required = false) String after,
+            @RequestParam int limit
+    ) {
+        return taskService.getMyTasksAfter(status, dueAfter, dueBefore, after, limit);
+    }
+
+    @GetMapping(value = "/my-tasks", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('TENANT_ADMIN', 'USER')")
+    public ResponseEntity<StreamingResponseBody> streamMyTasks(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Instant dueAfter,
+            @RequestParam(required = false) Instant dueBefore
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(taskService.streamMyTasks(status, dueAfter, dueBefore));
     }
 
     @PutMapping("/{taskId}")
     @PreAuthorize("hasAnyRole('TENANT_ADMIN', 'USER')")
-    public TaskResponseDTO updateTask(@PathVariable UUID taskId,
-                                      @Valid @RequestBody CreateTaskRequest request){
-        return taskService.updateTask(taskId, request);
+    public ResponseEntity<TaskResponseDTO> updateTask(@PathVariable UUID taskId,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      @Valid @RequestBody CreateTaskRequest request){
+        return withVersion(taskService.updateTask(taskId, request, ifMatch));
     }
 
     @PutMapping("/{taskId}/status")
     @PreAuthorize("hasAnyRole('TENANT_ADMIN', 'USER')")
-    public TaskResponseDTO updateTaskStatus(@PathVariable UUID taskId,
-                                            @Valid @RequestBody CreateTaskRequest request){
-        return taskService.updateTaskStatus(taskId, request);
+    public ResponseEntity<TaskResponseDTO> updateTaskStatus(@PathVariable UUID taskId,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                            @Valid @RequestBody CreateTaskRequest request){
+        return withVersion(taskService.updateTaskStatus(taskId, request, ifMatch));
+    }
+
+    @PatchMapping("/status")
+    @PreAuthorize("hasAnyRole('TENANT_ADMIN', 'USER')")
+    public BulkStatusUpdateResponse updateTaskStatuses(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        return taskService.updateTaskStatuses(request);
     }
 
     @DeleteMapping("/{taskId}")
@@ -73,4 +171,11 @@ public class TaskController {
     public void deleteTask(@PathVariable UUID taskId){
         taskService.deleteTask(taskId);
     }
+
+    private static ResponseEntity<TaskResponseDTO> withVersion(Versioned<TaskResponseDTO> task) {
+        return ResponseEntity.ok()
+                .eTag(task.tag())
+                .lastModified(task.lastModified())
+                .body(task.body());
+    }
 }
@@ -0,0 +1,9 @@
+package om.tanish.saas.project.dto;
+
+import java.util.UUID;
+
+public interface AssigneeLoad {
+    UUID getAssigneeId();
+    String getEmail();
+    long getCount();
+}
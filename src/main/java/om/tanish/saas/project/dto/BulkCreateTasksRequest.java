@@ -0,0 +1,24 @@
+package om.tanish.saas.project.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkCreateTasksRequest {
+
+    public static final int MAX_TASKS = 1000;
+
+    // Items are validated one by one by the service, so one bad item does not reject the rest
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = MAX_TASKS, message = "At most " + MAX_TASKS + " tasks per request")
+    private List<CreateTaskRequest> tasks;
+
+    public List<CreateTaskRequest> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<CreateTaskRequest> tasks) {
+        this.tasks = tasks;
+    }
+}
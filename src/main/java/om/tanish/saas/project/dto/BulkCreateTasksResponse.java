@@ -0,0 +1,38 @@
+package om.tanish.saas.project.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkCreateTasksResponse {
+
+    private int created;
+    private int rejected;
+    private List<BulkTaskResult> results = new ArrayList<>();
+
+    public BulkCreateTasksResponse() {
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<BulkTaskResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkTaskResult> results) {
+        this.results = results;
+    }
+}
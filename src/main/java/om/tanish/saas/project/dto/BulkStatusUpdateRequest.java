@@ -0,0 +1,66 @@
+package om.tanish.saas.project.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves tasks to {@code status}, selected either by {@code taskIds} or by a filter on
+ * project, current status and assignee (at least one of them).
+ */
+public class BulkStatusUpdateRequest {
+
+    public static final int MAX_TASK_IDS = 1000;
+
+    @NotBlank(message = "Status is required")
+    private String status;
+
+    @Size(max = MAX_TASK_IDS, message = "At most " + MAX_TASK_IDS + " task ids per request")
+    private List<UUID> taskIds;
+
+    private UUID projectId;
+    private String currentStatus;
+    private UUID assigneeId;
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<UUID> getTaskIds() {
+        return taskIds;
+    }
+
+    public void setTaskIds(List<UUID> taskIds) {
+        this.taskIds = taskIds;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getCurrentStatus() {
+        return currentStatus;
+    }
+
+    public void setCurrentStatus(String currentStatus) {
+        this.currentStatus = currentStatus;
+    }
+
+    public UUID getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(UUID assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+}
@@ -0,0 +1,41 @@
+package om.tanish.saas.project.dto;
+
+import om.tanish.saas.project.enums.TaskStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class BulkStatusUpdateResponse {
+
+    private int updated;
+    // Requested ids that were not found or already had the target status
+    private int skipped;
+    private Map<TaskStatus, Long> previousStatuses = new EnumMap<>(TaskStatus.class);
+
+    public BulkStatusUpdateResponse() {
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public Map<TaskStatus, Long> getPreviousStatuses() {
+        return previousStatuses;
+    }
+
+    public void setPreviousStatuses(Map<TaskStatus, Long> previousStatuses) {
+        this.previousStatuses = previousStatuses;
+    }
+}
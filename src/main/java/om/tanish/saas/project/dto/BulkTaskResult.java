@@ -0,0 +1,54 @@
+package om.tanish.saas.project.dto;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one item of a bulk request: the new task's id, or why the item was rejected.
+ */
+public class BulkTaskResult {
+
+    private int index;
+    private UUID id;
+    private String error;
+
+    public BulkTaskResult() {
+    }
+
+    public static BulkTaskResult created(int index, UUID id) {
+        BulkTaskResult result = new BulkTaskResult();
+        result.index = index;
+        result.id = id;
+        return result;
+    }
+
+    public static BulkTaskResult rejected(int index, String error) {
+        BulkTaskResult result = new BulkTaskResult();
+        result.index = index;
+        result.error = error;
+        return result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,71 @@
+package om.tanish.saas.project.dto;
+
+import java.time.Instant;
+
+public class CounterReconciliationReport {
+
+    private int tenantsChecked;
+    private int countersChecked;
+    private int countersDrifted;
+    private long absoluteDrift;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    public CounterReconciliationReport() {
+    }
+
+    public void add(CounterReconciliationReport other) {
+        this.tenantsChecked += other.tenantsChecked;
+        this.countersChecked += other.countersChecked;
+        this.countersDrifted += other.countersDrifted;
+        this.absoluteDrift += other.absoluteDrift;
+    }
+
+    public int getTenantsChecked() {
+        return tenantsChecked;
+    }
+
+    public void setTenantsChecked(int tenantsChecked) {
+        this.tenantsChecked = tenantsChecked;
+    }
+
+    public int getCountersChecked() {
+        return countersChecked;
+    }
+
+    public void setCountersChecked(int countersChecked) {
+        this.countersChecked = countersChecked;
+    }
+
+    public int getCountersDrifted() {
+        return countersDrifted;
+    }
+
+    public void setCountersDrifted(int countersDrifted) {
+        this.countersDrifted = countersDrifted;
+    }
+
+    public long getAbsoluteDrift() {
+        return absoluteDrift;
+    }
+
+    public void setAbsoluteDrift(long absoluteDrift) {
+        this.absoluteDrift = absoluteDrift;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
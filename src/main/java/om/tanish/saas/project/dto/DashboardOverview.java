@@ -0,0 +1,91 @@
+package om.tanish.saas.project.dto;
+
+public class DashboardOverview {
+
+    private long totalProjects;
+    private long activeProjects;
+    private long completedProjects;
+
+    private long totalTasks;
+    private long completedTasks;
+    private long todoTasks;
+    private long inProgressTasks;
+    private long blockedTasks;
+
+    private String taskCompletionRate;
+
+    public DashboardOverview() {
+    }
+
+    public long getTotalProjects() {
+        return totalProjects;
+    }
+
+    public void setTotalProjects(long totalProjects) {
+        this.totalProjects = totalProjects;
+    }
+
+    public long getActiveProjects() {
+        return activeProjects;
+    }
+
+    public void setActiveProjects(long activeProjects) {
+        this.activeProjects = activeProjects;
+    }
+
+    public long getCompletedProjects() {
+        return completedProjects;
+    }
+
+    public void setCompletedProjects(long completedProjects) {
+        this.completedProjects = completedProjects;
+    }
+
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public void setTotalTasks(long totalTasks) {
+        this.totalTasks = totalTasks;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public void setCompletedTasks(long completedTasks) {
+        this.completedTasks = completedTasks;
+    }
+
+    public long getTodoTasks() {
+        return todoTasks;
+    }
+
+    public void setTodoTasks(long todoTasks) {
+        this.todoTasks = todoTasks;
+    }
+
+    public long getInProgressTasks() {
+        return inProgressTasks;
+    }
+
+    public void setInProgressTasks(long inProgressTasks) {
+        this.inProgressTasks = inProgressTasks;
+    }
+
+    public long getBlockedTasks() {
+        return blockedTasks;
+    }
+
+    public void setBlockedTasks(long blockedTasks) {
+        this.blockedTasks = blockedTasks;
+    }
+
+    public String getTaskCompletionRate() {
+        return taskCompletionRate;
+    }
+
+    public void setTaskCompletionRate(String taskCompletionRate) {
+        this.taskCompletionRate = taskCompletionRate;
+    }
+}
@@ -0,0 +1,48 @@
+package om.tanish.saas.project.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The widgets that loaded, keyed by name, plus the names of those that timed out or failed.
+ * A response with missing widgets is partial rather than an error.
+ */
+public class DashboardWidgets {
+
+    private Map<String, Object> widgets = new LinkedHashMap<>();
+    private List<String> timedOut = new ArrayList<>();
+    private List<String> failed = new ArrayList<>();
+
+    public DashboardWidgets() {
+    }
+
+    public boolean isPartial() {
+        return !timedOut.isEmpty() || !failed.isEmpty();
+    }
+
+    public Map<String, Object> getWidgets() {
+        return widgets;
+    }
+
+    public void setWidgets(Map<String, Object> widgets) {
+        this.widgets = widgets;
+    }
+
+    public List<String> getTimedOut() {
+        return timedOut;
+    }
+
+    public void setTimedOut(List<String> timedOut) {
+        this.timedOut = timedOut;
+    }
+
+    public List<String> getFailed() {
+        return failed;
+    }
+
+    public void setFailed(List<String> failed) {
+        this.failed = failed;
+    }
+}
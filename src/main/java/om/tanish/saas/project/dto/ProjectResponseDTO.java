@@ -9,15 +9,18 @@ public class ProjectResponseDTO {
     private String name;
     private String description;
     private Instant createdAt;
+    private Instant updatedAt;
 
     // flatten owner
     private UUID ownerId;
 
-    public ProjectResponseDTO(UUID id, String name, String description, Instant createdAt, UUID ownerId, String ownerEmail) {
+    public ProjectResponseDTO(UUID id, String name, String description, Instant createdAt, Instant updatedAt,
+                              UUID ownerId, String ownerEmail) {
         this.id = id;
         this.name = name;
         this.description = description;
         this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
         this.ownerId = ownerId;
         this.ownerEmail = ownerEmail;
     }
@@ -60,6 +63,14 @@ public class ProjectResponseDTO {
         this.createdAt = createdAt;
     }
 
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public UUID getOwnerId() {
         return ownerId;
     }
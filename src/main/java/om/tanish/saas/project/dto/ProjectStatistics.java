@@ -0,0 +1,79 @@
+package om.tanish.saas.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import om.tanish.saas.project.enums.ProjectStatus;
+
+import java.util.UUID;
+
+public class ProjectStatistics {
+
+    private UUID projectId;
+    private String projectName;
+    private ProjectStatus projectStatus;
+
+    private long totalTasks;
+    private long completedTasks;
+    private String completionRate;
+
+    @JsonUnwrapped
+    private TaskHistogram histogram;
+
+    public ProjectStatistics() {
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public void setProjectName(String projectName) {
+        this.projectName = projectName;
+    }
+
+    public ProjectStatus getProjectStatus() {
+        return projectStatus;
+    }
+
+    public void setProjectStatus(ProjectStatus projectStatus) {
+        this.projectStatus = projectStatus;
+    }
+
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public void setTotalTasks(long totalTasks) {
+        this.totalTasks = totalTasks;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public void setCompletedTasks(long completedTasks) {
+        this.completedTasks = completedTasks;
+    }
+
+    public String getCompletionRate() {
+        return completionRate;
+    }
+
+    public void setCompletionRate(String completionRate) {
+        this.completionRate = completionRate;
+    }
+
+    public TaskHistogram getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(TaskHistogram histogram) {
+        this.histogram = histogram;
+    }
+}
@@ -0,0 +1,8 @@
+package om.tanish.saas.project.dto;
+
+import om.tanish.saas.project.enums.ProjectStatus;
+
+public interface ProjectStatusCount {
+    ProjectStatus getStatus();
+    long getCount();
+}
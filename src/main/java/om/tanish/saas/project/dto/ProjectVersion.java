@@ -0,0 +1,19 @@
+package om.tanish.saas.project.dto;
+
+import om.tanish.saas.common.EntityTags;
+
+import java.time.Instant;
+
+/** Version of a project's representation: the project row and its owner (shown by email). */
+public interface ProjectVersion {
+    Instant getUpdatedAt();
+    Instant getOwnerUpdatedAt();
+
+    default String tag() {
+        return EntityTags.of(getUpdatedAt(), getOwnerUpdatedAt());
+    }
+
+    default Instant lastModified() {
+        return EntityTags.latest(getUpdatedAt(), getOwnerUpdatedAt());
+    }
+}
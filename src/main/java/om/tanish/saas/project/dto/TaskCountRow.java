@@ -0,0 +1,13 @@
+package om.tanish.saas.project.dto;
+
+import om.tanish.saas.project.enums.TaskPriority;
+import om.tanish.saas.project.enums.TaskStatus;
+
+import java.util.UUID;
+
+public interface TaskCountRow {
+    UUID getProjectId();
+    TaskStatus getStatus();
+    TaskPriority getPriority();
+    long getCount();
+}
@@ -0,0 +1,151 @@
+package om.tanish.saas.project.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import om.tanish.saas.project.entities.Task;
+import om.tanish.saas.project.entities.TaskCounter;
+import om.tanish.saas.project.enums.TaskPriority;
+import om.tanish.saas.project.enums.TaskStatus;
+
+import java.io.IOException;
+
+/**
+ * Task counts by status and priority, stored as a {@code long[status][priority]} indexed by
+ * enum ordinal. Serializes straight from the array as {@code tasksByStatus},
+ * {@code tasksByPriority} and {@code tasksByStatusAndPriority}; use {@code @JsonUnwrapped}
+ * to inline those fields into a parent response.
+ */
+@JsonSerialize(using = TaskHistogram.Serializer.class)
+public final class TaskHistogram {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private final long[][] counts = new long[STATUSES.length][PRIORITIES.length];
+
+    public static TaskHistogram ofTasks(Iterable<Task> tasks) {
+        TaskHistogram histogram = new TaskHistogram();
+        for (Task task : tasks) {
+            histogram.counts[task.getStatus().ordinal()][task.getPriority().ordinal()]++;
+        }
+        return histogram;
+    }
+
+    public static TaskHistogram ofCounters(Iterable<TaskCounter> counters) {
+        TaskHistogram histogram = new TaskHistogram();
+        for (TaskCounter counter : counters) {
+            histogram.add(counter.getStatus(), counter.getPriority(), counter.getTaskCount());
+        }
+        return histogram;
+    }
+
+    public static TaskHistogram ofRows(Iterable<? extends TaskStatusPriorityCount> rows) {
+        TaskHistogram histogram = new TaskHistogram();
+        for (TaskStatusPriorityCount row : rows) {
+            histogram.add(row.getStatus(), row.getPriority(), row.getCount());
+        }
+        return histogram;
+    }
+
+    public void add(TaskStatus status, TaskPriority priority, long count) {
+        counts[status.ordinal()][priority.ordinal()] += count;
+    }
+
+    public long count(TaskStatus status, TaskPriority priority) {
+        return counts[status.ordinal()][priority.ordinal()];
+    }
+
+    public long countByStatus(TaskStatus status) {
+        long total = 0;
+        for (long count : counts[status.ordinal()]) {
+            total += count;
+        }
+        return total;
+    }
+
+    public long countByPriority(TaskPriority priority) {
+        int p = priority.ordinal();
+        long total = 0;
+        for (long[] row : counts) {
+            total += row[p];
+        }
+        return total;
+    }
+
+    public long total() {
+        long total = 0;
+        for (long[] row : counts) {
+            for (long count : row) {
+                total += count;
+            }
+        }
+        return total;
+    }
+
+    static final class Serializer extends StdSerializer<TaskHistogram> {
+
+        private final NameTransformer unwrapper;
+
+        Serializer() {
+            this(null);
+        }
+
+        private Serializer(NameTransformer unwrapper) {
+            super(TaskHistogram.class);
+            this.unwrapper = unwrapper;
+        }
+
+        @Override
+        public void serialize(TaskHistogram histogram, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            if (unwrapper == null) {
+                gen.writeStartObject(histogram);
+            }
+
+            gen.writeObjectFieldStart(name("tasksByStatus"));
+            for (TaskStatus status : STATUSES) {
+                gen.writeNumberField(status.name(), histogram.countByStatus(status));
+            }
+            gen.writeEndObject();
+
+            gen.writeObjectFieldStart(name("tasksByPriority"));
+            for (TaskPriority priority : PRIORITIES) {
+                gen.writeNumberField(priority.name(), histogram.countByPriority(priority));
+            }
+            gen.writeEndObject();
+
+            gen.writeObjectFieldStart(name("tasksByStatusAndPriority"));
+            for (TaskStatus status : STATUSES) {
+                gen.writeObjectFieldStart(status.name());
+                long[] row = histogram.counts[status.ordinal()];
+                for (TaskPriority priority : PRIORITIES) {
+                    gen.writeNumberField(priority.name(), row[priority.ordinal()]);
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndObject();
+
+            if (unwrapper == null) {
+                gen.writeEndObject();
+            }
+        }
+
+        @Override
+        public boolean isUnwrappingSerializer() {
+            return unwrapper != null;
+        }
+
+        @Override
+        public JsonSerializer<TaskHistogram> unwrappingSerializer(NameTransformer transformer) {
+            return new Serializer(transformer);
+        }
+
+        private String name(String field) {
+            return unwrapper == null ? field : unwrapper.transform(field);
+        }
+    }
+}
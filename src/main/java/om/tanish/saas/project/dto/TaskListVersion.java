@@ -0,0 +1,24 @@
+package om.tanish.saas.project.dto;
+
+import om.tanish.saas.common.EntityTags;
+
+import java.time.Instant;
+
+/**
+ * Version of a project's task list: its size, the latest task write, and the latest write to
+ * the project and assignees whose name and emails the rows show.
+ */
+public interface TaskListVersion {
+    long getCount();
+    Instant getLastModified();
+    Instant getProjectUpdatedAt();
+    Instant getAssigneeLastModified();
+
+    default String tag() {
+        return EntityTags.weak(getCount(), getLastModified(), getProjectUpdatedAt(), getAssigneeLastModified());
+    }
+
+    default Instant lastModified() {
+        return EntityTags.latest(getLastModified(), getProjectUpdatedAt(), getAssigneeLastModified());
+    }
+}
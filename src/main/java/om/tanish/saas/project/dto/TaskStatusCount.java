@@ -0,0 +1,8 @@
+package om.tanish.saas.project.dto;
+
+import om.tanish.saas.project.enums.TaskStatus;
+
+public interface TaskStatusCount {
+    TaskStatus getStatus();
+    long getCount();
+}
@@ -0,0 +1,10 @@
+package om.tanish.saas.project.dto;
+
+import om.tanish.saas.project.enums.TaskPriority;
+import om.tanish.saas.project.enums.TaskStatus;
+
+public interface TaskStatusPriorityCount {
+    TaskStatus getStatus();
+    TaskPriority getPriority();
+    long getCount();
+}
@@ -0,0 +1,20 @@
+package om.tanish.saas.project.dto;
+
+import om.tanish.saas.common.EntityTags;
+
+import java.time.Instant;
+
+/** Version of a task's representation: the task row, its project (name) and assignee (email). */
+public interface TaskVersion {
+    Instant getUpdatedAt();
+    Instant getProjectUpdatedAt();
+    Instant getAssigneeUpdatedAt();
+
+    default String tag() {
+        return EntityTags.of(getUpdatedAt(), getProjectUpdatedAt(), getAssigneeUpdatedAt());
+    }
+
+    default Instant lastModified() {
+        return EntityTags.latest(getUpdatedAt(), getProjectUpdatedAt(), getAssigneeUpdatedAt());
+    }
+}
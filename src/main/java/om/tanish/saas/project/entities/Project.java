@@ -2,19 +2,26 @@ package om.tanish.saas.project.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import om.tanish.saas.common.UuidV7;
 import om.tanish.saas.project.enums.ProjectStatus;
 import om.tanish.saas.tenant.Tenant;
 import om.tanish.saas.user.User;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Filter;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
 @Table(name = "projects")
+@Filter(name = Tenant.FILTER)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")
 public class Project {
 
     @Id
-    @GeneratedValue
+    @UuidV7
     private UUID id;
 
     @JsonIgnore
@@ -2,20 +2,25 @@ package om.tanish.saas.project.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import om.tanish.saas.common.UuidV7;
 import om.tanish.saas.project.enums.TaskPriority;
 import om.tanish.saas.project.enums.TaskStatus;
 import om.tanish.saas.tenant.Tenant;
 import om.tanish.saas.user.User;
+import org.hibernate.annotations.Filter;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_tenant_project_created", columnList = "tenant_id, project_id, created_at, id")
+})
+@Filter(name = Tenant.FILTER)
 public class Task {
 
     @Id
-    @GeneratedValue
+    @UuidV7
     private UUID id;
 
     @JsonIgnore
@@ -55,7 +60,7 @@ public class Task {
     @Column(name = "created_at")
     private Instant createdAt;
 
-    @Column(name = "create_at")
+    @Column(name = "updated_at")
     private Instant updatedAt;
 
     // Getters and Setters
@@ -0,0 +1,103 @@
+package om.tanish.saas.project.entities;
+
+import jakarta.persistence.*;
+import om.tanish.saas.common.UuidV7;
+import om.tanish.saas.project.enums.TaskPriority;
+import om.tanish.saas.project.enums.TaskStatus;
+import om.tanish.saas.tenant.Tenant;
+import org.hibernate.annotations.Filter;
+
+import java.util.UUID;
+
+/**
+ * Pre-aggregated number of tasks per (tenant, project, status, priority).
+ * Maintained by TaskCounterService in the same transaction as the task write.
+ */
+@Entity
+@Table(name = "task_counters",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"tenant_id", "project_id", "status", "priority"})
+        })
+@Filter(name = Tenant.FILTER)
+public class TaskCounter {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "project_id", nullable = false)
+    private UUID projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskPriority priority;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    public TaskCounter() {
+    }
+
+    public TaskCounter(UUID tenantId, UUID projectId, TaskStatus status, TaskPriority priority, long taskCount) {
+        this.tenantId = tenantId;
+        this.projectId = projectId;
+        this.status = status;
+        this.priority = priority;
+        this.taskCount = taskCount;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(UUID tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(long taskCount) {
+        this.taskCount = taskCount;
+    }
+}
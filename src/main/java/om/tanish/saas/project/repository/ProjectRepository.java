@@ -1,15 +1,22 @@
 package om.tanish.saas.project.repository;
 
+import jakarta.persistence.LockModeType;
+import om.tanish.saas.project.dto.ProjectResponseDTO;
+import om.tanish.saas.project.dto.ProjectStatusCount;
+import om.tanish.saas.project.dto.ProjectVersion;
 import om.tanish.saas.project.entities.Project;
 import om.tanish.saas.project.enums.ProjectStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,14 +27,61 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
 
     List<Project> findAllByTenant_Id(UUID tenantId);
 
-    @EntityGraph(attributePaths = {"owner", "tenant"})
+    @Query("SELECT p.id FROM Project p WHERE p.tenant.id = :tenantId")
+    List<UUID> findIdsByTenantId(@Param("tenantId") UUID tenantId);
+
+    @EntityGraph(attributePaths = {"owner"})
     Page<Project> findAllByTenant_Id(UUID tenantId, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"owner", "tenant"})
+    @EntityGraph(attributePaths = {"owner"})
     Optional<Project> findByIdAndTenant_Id(UUID id, UUID tenantId);
 
+    /**
+     * Looks the project up by id, which goes through the second-level cache, and then checks
+     * that it belongs to the tenant.
+     */
+    default Optional<Project> findCachedInTenant(UUID id, UUID tenantId) {
+        return findById(id).filter(project -> project.getTenant().getId().equals(tenantId));
+    }
+
+    // Versions for conditional requests: the ETag is derived from the project's and its
+    // owner's updatedAt
+    @Query("SELECT p.updatedAt AS updatedAt, COALESCE(o.updatedAt, o.createdAt) AS ownerUpdatedAt " +
+            "FROM Project p LEFT JOIN p.owner o WHERE p.id = :id AND p.tenant.id = :tenantId")
+    Optional<ProjectVersion> findVersionByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") UUID tenantId);
+
+    /** Locks the project's row until the transaction ends, so its version cannot move. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.updatedAt FROM Project p WHERE p.id = :id AND p.tenant.id = :tenantId")
+    Optional<Instant> lockUpdatedAtByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") UUID tenantId);
+
+    // Read endpoints: DTO projections, no managed entities
+    String PROJECT_DTO_SELECT = "SELECT new om.tanish.saas.project.dto.ProjectResponseDTO(" +
+            "p.id, p.name, p.description, p.createdAt, p.updatedAt, o.id, o.email) " +
+            "FROM Project p LEFT JOIN p.owner o WHERE p.tenant.id = :tenantId ";
+
+    @Query(PROJECT_DTO_SELECT + "AND p.id = :id")
+    Optional<ProjectResponseDTO> findDtoByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") UUID tenantId);
+
+    @Query(PROJECT_DTO_SELECT + "AND p.status = :status")
+    List<ProjectResponseDTO> findDtosByTenantIdAndStatus(@Param("tenantId") UUID tenantId,
+                                                         @Param("status") ProjectStatus status);
+
+    @Query(value = PROJECT_DTO_SELECT +
+            "AND (:status IS NULL OR p.status = :status) " +
+            "AND (:ownerId IS NULL OR o.id = :ownerId)",
+            countQuery = "SELECT COUNT(p) FROM Project p WHERE p.tenant.id = :tenantId " +
+                    "AND (:status IS NULL OR p.status = :status) " +
+                    "AND (:ownerId IS NULL OR p.owner.id = :ownerId)")
+    Page<ProjectResponseDTO> findDtosByTenantId(@Param("tenantId") UUID tenantId,
+                                                @Param("status") ProjectStatus status,
+                                                @Param("ownerId") UUID ownerId,
+                                                Pageable pageable);
+
     boolean existsByIdAndTenant_Id(UUID id, UUID tenantId);
 
+    List<Project> findAllByTenant_IdAndIdIn(UUID tenantId, Collection<UUID> ids);
+
     // Status-based queries
     List<Project> findAllByTenant_IdAndStatus(UUID tenantId, ProjectStatus status);
 
@@ -65,6 +119,10 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
             @Param("status") ProjectStatus status
     );
 
+    @Query("SELECT p.status AS status, COUNT(p) AS count FROM Project p " +
+            "WHERE p.tenant.id = :tenantId GROUP BY p.status")
+    List<ProjectStatusCount> countByStatusForTenant(@Param("tenantId") UUID tenantId);
+
     @Query("SELECT p FROM Project p WHERE p.tenant.id = :tenantId " +
             "AND (LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
             "OR LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
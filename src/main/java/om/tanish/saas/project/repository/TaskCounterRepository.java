@@ -0,0 +1,44 @@
+package om.tanish.saas.project.repository;
+
+import jakarta.persistence.LockModeType;
+import om.tanish.saas.project.dto.TaskStatusPriorityCount;
+import om.tanish.saas.project.entities.TaskCounter;
+import om.tanish.saas.project.enums.TaskPriority;
+import om.tanish.saas.project.enums.TaskStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TaskCounterRepository extends JpaRepository<TaskCounter, UUID> {
+
+    @Modifying
+    @Query("UPDATE TaskCounter c SET c.taskCount = c.taskCount + :delta " +
+            "WHERE c.tenantId = :tenantId AND c.projectId = :projectId " +
+            "AND c.status = :status AND c.priority = :priority")
+    int applyDelta(@Param("tenantId") UUID tenantId,
+                   @Param("projectId") UUID projectId,
+                   @Param("status") TaskStatus status,
+                   @Param("priority") TaskPriority priority,
+                   @Param("delta") long delta);
+
+    @Query("SELECT c.status AS status, c.priority AS priority, SUM(c.taskCount) AS count FROM TaskCounter c " +
+            "WHERE c.tenantId = :tenantId GROUP BY c.status, c.priority")
+    List<TaskStatusPriorityCount> sumByStatusAndPriorityForTenant(@Param("tenantId") UUID tenantId);
+
+    List<TaskCounter> findAllByTenantIdAndProjectId(UUID tenantId, UUID projectId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM TaskCounter c WHERE c.tenantId = :tenantId")
+    List<TaskCounter> lockAllByTenantId(@Param("tenantId") UUID tenantId);
+
+    @Modifying
+    @Query("DELETE FROM TaskCounter c WHERE c.tenantId = :tenantId AND c.projectId = :projectId")
+    int deleteAllForProject(@Param("tenantId") UUID tenantId, @Param("projectId") UUID projectId);
+}
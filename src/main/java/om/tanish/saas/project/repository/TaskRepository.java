@@ -1,18 +1,35 @@
 package om.tanish.saas.project.repository;
 
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import om.tanish.saas.project.dto.AssigneeLoad;
+import om.tanish.saas.project.dto.TaskCountRow;
+import om.tanish.saas.project.dto.TaskListVersion;
+import om.tanish.saas.project.dto.TaskResponseDTO;
+import om.tanish.saas.project.dto.TaskStatusCount;
+import om.tanish.saas.project.dto.TaskStatusRow;
+import om.tanish.saas.project.dto.TaskVersion;
 import om.tanish.saas.project.entities.Task;
 import om.tanish.saas.project.enums.TaskStatus;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, UUID> {
@@ -25,12 +42,162 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
     @EntityGraph(attributePaths = {"project", "assignee", "createdBy"})
     Page<Task> findAllByProject_IdAndTenant_Id(UUID projectId, UUID tenantId, Pageable pageable);
 
+    // Read endpoints: DTO projections, no managed entities
+    String TASK_DTO_SELECT = "SELECT new om.tanish.saas.project.dto.TaskResponseDTO(" +
+            "t.id, t.title, t.description, p.id, p.name, a.id, a.email, " +
+            "t.priority, t.status, t.dueDate, t.createdAt, t.updatedAt) " +
+            "FROM Task t JOIN t.project p LEFT JOIN t.assignee a WHERE t.tenant.id = :tenantId ";
+
+    @Query(TASK_DTO_SELECT + "AND t.id = :id")
+    Optional<TaskResponseDTO> findDtoByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") UUID tenantId);
+
+    @Query(value = TASK_DTO_SELECT + "AND p.id = :projectId",
+            countQuery = "SELECT COUNT(t) FROM Task t WHERE t.tenant.id = :tenantId AND t.project.id = :projectId")
+    Page<TaskResponseDTO> findDtosByProject(@Param("tenantId") UUID tenantId,
+                                            @Param("projectId") UUID projectId,
+                                            Pageable pageable);
+
+    // Keyset pagination: seeks on idx_tasks_tenant_project_created, no OFFSET and no COUNT(*)
+    @Query(TASK_DTO_SELECT + "AND p.id = :projectId ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskResponseDTO> findFirstPageByProject(@Param("tenantId") UUID tenantId,
+                                                 @Param("projectId") UUID projectId,
+                                                 Limit limit);
+
+    @Query(TASK_DTO_SELECT + "AND p.id = :projectId " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskResponseDTO> findPageByProjectAfter(@Param("tenantId") UUID tenantId,
+                                                 @Param("projectId") UUID projectId,
+                                                 @Param("createdAt") Instant createdAt,
+                                                 @Param("id") UUID id,
+                                                 Limit limit);
+
     List<Task> findAllByAssignee_IdAndTenant_Id(UUID assigneeId, UUID tenantId);
 
+    // My tasks: optional status and due date filters
+    String MY_TASKS_SELECT = TASK_DTO_SELECT + "AND a.id = :assigneeId " +
+            "AND (:status IS NULL OR t.status = :status) " +
+            "AND (:dueAfter IS NULL OR t.dueDate >= :dueAfter) " +
+            "AND (:dueBefore IS NULL OR t.dueDate < :dueBefore) ";
+
+    String MY_TASKS_ORDER = "ORDER BY t.createdAt DESC, t.id DESC";
+
+    @Query(MY_TASKS_SELECT + MY_TASKS_ORDER)
+    List<TaskResponseDTO> findMyTasks(@Param("tenantId") UUID tenantId,
+                                      @Param("assigneeId") UUID assigneeId,
+                                      @Param("status") TaskStatus status,
+                                      @Param("dueAfter") Instant dueAfter,
+                                      @Param("dueBefore") Instant dueBefore,
+                                      Limit limit);
+
+    @Query(MY_TASKS_SELECT +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            MY_TASKS_ORDER)
+    List<TaskResponseDTO> findMyTasksAfter(@Param("tenantId") UUID tenantId,
+                                           @Param("assigneeId") UUID assigneeId,
+                                           @Param("status") TaskStatus status,
+                                           @Param("dueAfter") Instant dueAfter,
+                                           @Param("dueBefore") Instant dueBefore,
+                                           @Param("createdAt") Instant createdAt,
+                                           @Param("id") UUID id,
+                                           Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(MY_TASKS_SELECT + MY_TASKS_ORDER)
+    Stream<TaskResponseDTO> streamMyTasks(@Param("tenantId") UUID tenantId,
+                                          @Param("assigneeId") UUID assigneeId,
+                                          @Param("status") TaskStatus status,
+                                          @Param("dueAfter") Instant dueAfter,
+                                          @Param("dueBefore") Instant dueBefore);
+
     Optional<Task> findByIdAndTenant_Id(UUID id, UUID tenantId);
 
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId AND t.status = :status")
-    long countByProjectIdAndStatus(@Param("projectId") UUID projectId, @Param("status") TaskStatus status);
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.tenant.id = :tenantId " +
+            "AND t.project.id = :projectId AND t.status = :status")
+    long countByProjectIdAndStatus(@Param("tenantId") UUID tenantId,
+                                   @Param("projectId") UUID projectId,
+                                   @Param("status") TaskStatus status);
 
     boolean existsByIdAndTenant_Id(UUID id, UUID tenantId);
+
+    // Versions for conditional requests: ETags are derived from updatedAt (createdAt for rows
+    // that predate it) of the task and of the project and assignee it shows
+    String TASK_VERSION_SELECT = "SELECT COALESCE(t.updatedAt, t.createdAt) AS updatedAt, " +
+            "p.updatedAt AS projectUpdatedAt, COALESCE(a.updatedAt, a.createdAt) AS assigneeUpdatedAt " +
+            "FROM Task t JOIN t.project p LEFT JOIN t.assignee a WHERE t.id = :id AND t.tenant.id = :tenantId ";
+
+    @Query(TASK_VERSION_SELECT + "AND p.id = :projectId")
+    Optional<TaskVersion> findVersionByIdAndProjectId(@Param("tenantId") UUID tenantId,
+                                                      @Param("projectId") UUID projectId,
+                                                      @Param("id") UUID id);
+
+    @Query(TASK_VERSION_SELECT)
+    Optional<TaskVersion> findVersionByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") UUID tenantId);
+
+    /** Locks the task's row until the transaction ends, so its version cannot move. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM Task t WHERE t.id = :id AND t.tenant.id = :tenantId")
+    Optional<UUID> lockByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") UUID tenantId);
+
+    // The task side is index-only on idx_tasks_tenant_project_updated
+    @Query("SELECT COUNT(t) AS count, MAX(t.updatedAt) AS lastModified, MAX(p.updatedAt) AS projectUpdatedAt, " +
+            "MAX(COALESCE(a.updatedAt, a.createdAt)) AS assigneeLastModified " +
+            "FROM Task t JOIN t.project p LEFT JOIN t.assignee a " +
+            "WHERE t.tenant.id = :tenantId AND t.project.id = :projectId")
+    TaskListVersion findListVersionByProject(@Param("tenantId") UUID tenantId, @Param("projectId") UUID projectId);
+
+    // Bulk status transitions: lock the rows that will change, then update exactly those
+    String STATUS_ROW_SELECT = "SELECT t.id AS id, t.project.id AS projectId, t.status AS status, " +
+            "t.priority AS priority FROM Task t WHERE t.tenant.id = :tenantId AND t.status <> :status ";
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(STATUS_ROW_SELECT + "AND t.id IN :ids")
+    List<TaskStatusRow> lockForStatusChange(@Param("tenantId") UUID tenantId,
+                                            @Param("ids") Collection<UUID> ids,
+                                            @Param("status") TaskStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(STATUS_ROW_SELECT +
+            "AND (:projectId IS NULL OR t.project.id = :projectId) " +
+            "AND (:currentStatus IS NULL OR t.status = :currentStatus) " +
+            "AND (:assigneeId IS NULL OR t.assignee.id = :assigneeId)")
+    List<TaskStatusRow> lockForStatusChange(@Param("tenantId") UUID tenantId,
+                                            @Param("projectId") UUID projectId,
+                                            @Param("currentStatus") TaskStatus currentStatus,
+                                            @Param("assigneeId") UUID assigneeId,
+                                            @Param("status") TaskStatus status,
+                                            Limit limit);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :updatedAt " +
+            "WHERE t.tenant.id = :tenantId AND t.id IN :ids")
+    int updateStatus(@Param("tenantId") UUID tenantId,
+                     @Param("ids") Collection<UUID> ids,
+                     @Param("status") TaskStatus status,
+                     @Param("updatedAt") Instant updatedAt);
+
+    // Aggregations (dashboard)
+    @Query("SELECT t.status AS status, COUNT(t) AS count FROM Task t " +
+            "WHERE t.tenant.id = :tenantId GROUP BY t.status")
+    List<TaskStatusCount> countByStatusForTenant(@Param("tenantId") UUID tenantId);
+
+    @Query("SELECT t.project.id AS projectId, t.status AS status, t.priority AS priority, COUNT(t) AS count " +
+            "FROM Task t WHERE t.tenant.id = :tenantId GROUP BY t.project.id, t.status, t.priority")
+    List<TaskCountRow> countByProjectStatusAndPriorityForTenant(@Param("tenantId") UUID tenantId);
+
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.tenant.id = :tenantId " +
+            "AND t.dueDate < :now AND t.status <> :done")
+    long countOverdueForTenant(@Param("tenantId") UUID tenantId,
+                               @Param("now") Instant now,
+                               @Param("done") TaskStatus done);
+
+    @Query("SELECT a.id AS assigneeId, a.email AS email, COUNT(t) AS count " +
+            "FROM Task t JOIN t.assignee a WHERE t.tenant.id = :tenantId AND t.status <> :done " +
+            "GROUP BY a.id, a.email ORDER BY COUNT(t) DESC")
+    List<AssigneeLoad> countOpenByAssigneeForTenant(@Param("tenantId") UUID tenantId,
+                                                    @Param("done") TaskStatus done,
+                                                    Limit limit);
+
+    @Query(TASK_DTO_SELECT + "AND t.updatedAt IS NOT NULL ORDER BY t.updatedAt DESC")
+    List<TaskResponseDTO> findRecentlyUpdated(@Param("tenantId") UUID tenantId, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,228 @@
+package om.tanish.saas.project.service;
+
+import om.tanish.saas.common.ContextSnapshot;
+import om.tanish.saas.config.DashboardProperties;
+import om.tanish.saas.project.dto.DashboardOverview;
+import om.tanish.saas.project.dto.DashboardWidgets;
+import om.tanish.saas.project.dto.ProjectStatistics;
+import om.tanish.saas.project.dto.ProjectStatusCount;
+import om.tanish.saas.project.dto.TaskHistogram;
+import om.tanish.saas.project.entities.Project;
+import om.tanish.saas.project.enums.ProjectStatus;
+import om.tanish.saas.project.enums.TaskStatus;
+import om.tanish.saas.project.repository.ProjectRepository;
+import om.tanish.saas.project.repository.TaskRepository;
+import om.tanish.saas.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+@Service
+public class DashboardService {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    private static final int ASSIGNEE_LOAD_SIZE = 10;
+    private static final int RECENT_ACTIVITY_SIZE = 10;
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final TaskCounterService taskCounterService;
+    private final DashboardProperties properties;
+    private final PlatformTransactionManager transactionManager;
+
+    // Each widget is one independent read, given the tenant id
+    private final Map<String, Function<UUID, Object>> widgets = new LinkedHashMap<>();
+
+    public DashboardService(ProjectRepository projectRepository,
+                            TaskRepository taskRepository,
+                            TaskCounterService taskCounterService,
+                            DashboardProperties properties,
+                            PlatformTransactionManager transactionManager) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.taskCounterService = taskCounterService;
+        this.properties = properties;
+        this.transactionManager = transactionManager;
+
+        widgets.put("projects", this::projectCounts);
+        widgets.put("tasks", taskCounterService::histogramForTenant);
+        widgets.put("overdue", tenantId ->
+                taskRepository.countOverdueForTenant(tenantId, Instant.now(), TaskStatus.DONE));
+        widgets.put("assignee-load", tenantId -> taskRepository.countOpenByAssigneeForTenant(
+                tenantId, TaskStatus.DONE, Limit.of(ASSIGNEE_LOAD_SIZE)));
+        widgets.put("recent-activity", tenantId ->
+                taskRepository.findRecentlyUpdated(tenantId, Limit.of(RECENT_ACTIVITY_SIZE)));
+    }
+
+    /**
+     * Builds the tenant overview from GROUP BY counts, so memory use is bounded by the
+     * number of statuses rather than the number of projects and tasks in the tenant. Task
+     * counts come from the pre-aggregated task_counters rows instead of the tasks table.
+     */
+    @Transactional(readOnly = true)
+    public DashboardOverview getOverview() {
+        UUID tenantId = getTenantIdFromContext();
+
+        Map<ProjectStatus, Long> projectCounts = new EnumMap<>(ProjectStatus.class);
+        long totalProjects = 0;
+        for (ProjectStatusCount row : projectRepository.countByStatusForTenant(tenantId)) {
+            projectCounts.put(row.getStatus(), row.getCount());
+            totalProjects += row.getCount();
+        }
+
+        TaskHistogram tasks = taskCounterService.histogramForTenant(tenantId);
+        long totalTasks = tasks.total();
+        long completedTasks = tasks.countByStatus(TaskStatus.DONE);
+
+        DashboardOverview overview = new DashboardOverview();
+        overview.setTotalProjects(totalProjects);
+        overview.setActiveProjects(projectCounts.getOrDefault(ProjectStatus.IN_PROGRESS, 0L));
+        overview.setCompletedProjects(projectCounts.getOrDefault(ProjectStatus.COMPLETED, 0L));
+        overview.setTotalTasks(totalTasks);
+        overview.setCompletedTasks(completedTasks);
+        overview.setTodoTasks(tasks.countByStatus(TaskStatus.TODO));
+        overview.setInProgressTasks(tasks.countByStatus(TaskStatus.IN_PROGRESS));
+        overview.setBlockedTasks(tasks.countByStatus(TaskStatus.BLOCKED));
+        overview.setTaskCompletionRate(completionRate(completedTasks, totalTasks));
+
+        return overview;
+    }
+
+    /**
+     * Loads the requested widgets (all of them if none are named) concurrently, each on its own
+     * virtual thread, connection and read-only transaction, so the response takes about as long
+     * as the slowest widget rather than the sum. The tenant's in-flight quota counts the request
+     * once, so at most {@code dashboard.max-concurrent-widgets} of its widgets hold a connection
+     * at a time. A widget that misses its timeout, waiting included, is left out and reported as
+     * timed out; the others are still returned.
+     */
+    public DashboardWidgets getWidgets(Collection<String> names) {
+        UUID tenantId = getTenantIdFromContext();
+        List<String> selected = names == null || names.isEmpty() ? List.copyOf(widgets.keySet()) : List.copyOf(names);
+        for (String name : selected) {
+            if (!widgets.containsKey(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown widget: " + name);
+            }
+        }
+
+        long started = System.nanoTime();
+        Map<String, Future<Object>> loading = new LinkedHashMap<>();
+        Semaphore connections = new Semaphore(Math.max(1, properties.getMaxConcurrentWidgets()));
+        ExecutorService scope = ContextSnapshot.capture().newVirtualThreadPerTaskExecutor();
+        try {
+            for (String name : selected) {
+                TransactionTemplate transaction = readOnlyTransaction(properties.timeoutFor(name));
+                loading.put(name, scope.submit(() -> {
+                    connections.acquire();
+                    try {
+                        return transaction.execute(tx -> widgets.get(name).apply(tenantId));
+                    } finally {
+                        connections.release();
+                    }
+                }));
+            }
+
+            DashboardWidgets result = new DashboardWidgets();
+            for (Map.Entry<String, Future<Object>> widget : loading.entrySet()) {
+                String name = widget.getKey();
+                long remaining = started + properties.timeoutFor(name).toNanos() - System.nanoTime();
+                try {
+                    result.getWidgets().put(name, widget.getValue().get(Math.max(remaining, 0), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    logger.warn("Dashboard widget {} timed out for tenant {}", name, tenantId);
+                    result.getTimedOut().add(name);
+                } catch (ExecutionException e) {
+                    logger.warn("Dashboard widget {} failed for tenant {}", name, tenantId, e.getCause());
+                    result.getFailed().add(name);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Dashboard interrupted");
+                }
+            }
+            return result;
+        } finally {
+            // Slow widgets are interrupted rather than awaited; their transaction timeout
+            // cancels the statement and returns the connection
+            scope.shutdownNow();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ProjectStatistics getProjectStatistics(UUID projectId) {
+        UUID tenantId = getTenantIdFromContext();
+
+        Project project = projectRepository.findCachedInTenant(projectId, tenantId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Project not found"
+                ));
+
+        TaskHistogram tasks = taskCounterService.histogramForProject(tenantId, projectId);
+        long totalTasks = tasks.total();
+        long completedTasks = tasks.countByStatus(TaskStatus.DONE);
+
+        ProjectStatistics statistics = new ProjectStatistics();
+        statistics.setProjectId(project.getId());
+        statistics.setProjectName(project.getName());
+        statistics.setProjectStatus(project.getStatus());
+        statistics.setTotalTasks(totalTasks);
+        statistics.setCompletedTasks(completedTasks);
+        statistics.setCompletionRate(completionRate(completedTasks, totalTasks));
+        statistics.setHistogram(tasks);
+
+        return statistics;
+    }
+
+    private Map<ProjectStatus, Long> projectCounts(UUID tenantId) {
+        Map<ProjectStatus, Long> counts = new EnumMap<>(ProjectStatus.class);
+        for (ProjectStatusCount row : projectRepository.countByStatusForTenant(tenantId)) {
+            counts.put(row.getStatus(), row.getCount());
+        }
+        return counts;
+    }
+
+    private TransactionTemplate readOnlyTransaction(Duration timeout) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+        return transaction;
+    }
+
+    private static String completionRate(long completed, long total) {
+        if (total == 0) {
+            return "0.00%";
+        }
+        return String.format("%.2f%%", (completed * 100.0) / total);
+    }
+
+    private UUID getTenantIdFromContext() {
+        UUID tenantId = TenantContext.getTenant();
+        if (tenantId == null) {
+            throw new ResponseStatusException(
+                    HttpStatus.UNAUTHORIZED, "Tenant context not set");
+        }
+        return tenantId;
+    }
+}
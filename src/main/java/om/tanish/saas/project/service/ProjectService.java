@@ -1,14 +1,16 @@
 package om.tanish.saas.project.service;
 
-import jakarta.transaction.Transactional;
+import om.tanish.saas.common.EntityTags;
+import om.tanish.saas.common.Versioned;
 import om.tanish.saas.project.dto.CreateProjectRequest;
 import om.tanish.saas.project.dto.ProjectResponseDTO;
+import om.tanish.saas.project.dto.ProjectVersion;
 import om.tanish.saas.project.entities.Project;
 import om.tanish.saas.project.enums.ProjectStatus;
 import om.tanish.saas.project.repository.ProjectRepository;
 import om.tanish.saas.tenant.Tenant;
 import om.tanish.saas.tenant.TenantContext;
-import om.tanish.saas.tenant.TenantRepository;
+import om.tanish.saas.tenant.TenantRegistry;
 import om.tanish.saas.user.User;
 import om.tanish.saas.user.UserRepository;
 import org.slf4j.Logger;
@@ -17,6 +19,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
@@ -29,24 +32,27 @@ public class ProjectService {
     private static final Logger logger = LoggerFactory.getLogger(ProjectService.class);
 
     private final ProjectRepository projectRepository;
-    private final TenantRepository tenantRepository;
+    private final TenantRegistry tenantRegistry;
     private final UserRepository userRepository;
+    private final TaskCounterService taskCounterService;
 
     public ProjectService(
             ProjectRepository projectRepository,
-            TenantRepository tenantRepository,
-            UserRepository userRepository
+            TenantRegistry tenantRegistry,
+            UserRepository userRepository,
+            TaskCounterService taskCounterService
     ) {
         this.projectRepository = projectRepository;
-        this.tenantRepository = tenantRepository;
+        this.tenantRegistry = tenantRegistry;
         this.userRepository = userRepository;
+        this.taskCounterService = taskCounterService;
     }
 
     @Transactional
     public ProjectResponseDTO createProject(CreateProjectRequest request) {
         UUID tenantId = getTenantIdFromContext();
 
-        Tenant tenant = tenantRepository.findById(tenantId)
+        Tenant tenant = tenantRegistry.reference(tenantId)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.BAD_REQUEST, "Tenant not found"
                 ));
@@ -62,71 +68,67 @@ public class ProjectService {
         project.setStartDate(request.getStartDate());
         project.setEndDate(request.getEndDate());
 
-        Instant now = Instant.now();
+        Instant now = EntityTags.now();
         project.setCreatedAt(now);
         project.setUpdatedAt(now);
 
         Project saved = projectRepository.save(project);
+        taskCounterService.initializeProject(tenantId, saved.getId());
         logger.info("Project created: {} for tenant: {}", saved.getId(), tenantId);
 
         return mapToDto(saved);
     }
 
+    @Transactional(readOnly = true)
     public Page<ProjectResponseDTO> getAllProjects(Pageable pageable) {
-        return projectRepository
-                .findAllByTenant_Id(getTenantIdFromContext(), pageable)
-                .map(this::mapToDto);
+        return projectRepository.findDtosByTenantId(getTenantIdFromContext(), null, null, pageable);
     }
 
+    @Transactional(readOnly = true)
     public ProjectResponseDTO getProjectById(UUID projectId) {
-        Project project = projectRepository
-                .findByIdAndTenant_Id(projectId, getTenantIdFromContext())
+        return projectRepository
+                .findDtoByIdAndTenantId(projectId, getTenantIdFromContext())
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND, "Project not found"
                 ));
+    }
 
-        return mapToDto(project);
+    /** The project's version, without loading the project. */
+    @Transactional(readOnly = true)
+    public ProjectVersion getProjectVersion(UUID projectId) {
+        return projectRepository
+                .findVersionByIdAndTenantId(projectId, getTenantIdFromContext())
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Project not found"
+                ));
     }
 
+    @Transactional(readOnly = true)
     public List<ProjectResponseDTO> getProjectsByStatus(ProjectStatus status) {
-        return projectRepository
-                .findAllByTenant_IdAndStatus(getTenantIdFromContext(), status)
-                .stream()
-                .map(this::mapToDto)
-                .toList();
+        return projectRepository.findDtosByTenantIdAndStatus(getTenantIdFromContext(), status);
     }
 
+    @Transactional(readOnly = true)
     public Page<ProjectResponseDTO> filterProjects(
             ProjectStatus status,
             UUID ownerId,
             Pageable pageable
     ) {
-        UUID tenantId = getTenantIdFromContext();
-
-        Page<Project> page;
-
-        if (status != null && ownerId != null) {
-            page = projectRepository
-                    .findAllByTenant_IdAndStatusAndOwner_Id(
-                            tenantId, status, ownerId, pageable);
-        } else if (status != null) {
-            page = projectRepository
-                    .findAllByTenant_IdAndStatus(tenantId, status, pageable);
-        } else if (ownerId != null) {
-            page = projectRepository
-                    .findAllByTenant_IdAndOwner_Id(tenantId, ownerId, pageable);
-        } else {
-            page = projectRepository
-                    .findAllByTenant_Id(tenantId, pageable);
-        }
-
-        return page.map(this::mapToDto);
+        return projectRepository.findDtosByTenantId(getTenantIdFromContext(), status, ownerId, pageable);
     }
 
     @Transactional
-    public ProjectResponseDTO updateProject(UUID projectId, CreateProjectRequest request) {
+    public Versioned<ProjectResponseDTO> updateProject(UUID projectId, CreateProjectRequest request, String ifMatch) {
         UUID tenantId = getTenantIdFromContext();
 
+        if (ifMatch != null) {
+            projectRepository.lockUpdatedAtByIdAndTenantId(projectId, tenantId)
+                    .orElseThrow(() -> new ResponseStatusException(
+                            HttpStatus.NOT_FOUND, "Project not found"
+                    ));
+            EntityTags.checkIfMatch(ifMatch, getProjectVersion(projectId).tag());
+        }
+
         Project project = projectRepository
                 .findByIdAndTenant_Id(projectId, tenantId)
                 .orElseThrow(() -> new ResponseStatusException(
@@ -140,12 +142,14 @@ public class ProjectService {
 
         project.setStartDate(request.getStartDate());
         project.setEndDate(request.getEndDate());
-        project.setUpdatedAt(Instant.now());
+        project.setUpdatedAt(EntityTags.now());
 
         Project updated = projectRepository.save(project);
         logger.info("Project updated: {} for tenant: {}", projectId, tenantId);
 
-        return mapToDto(updated);
+        // Read back in this transaction, so the tag is the one the next GET computes
+        ProjectVersion version = getProjectVersion(projectId);
+        return new Versioned<>(mapToDto(updated), version.tag(), version.lastModified());
     }
 
     @Transactional
@@ -159,6 +163,7 @@ public class ProjectService {
                 ));
 
         projectRepository.delete(project);
+        taskCounterService.deleteProject(tenantId, projectId);
         logger.info("Project deleted: {} for tenant: {}", projectId, tenantId);
     }
 
@@ -206,6 +211,7 @@ public class ProjectService {
                 project.getName(),
                 project.getDescription(),
                 project.getCreatedAt(),
+                project.getUpdatedAt(),
                 owner != null ? owner.getId() : null,
                 owner != null ? owner.getEmail() : null
         );
@@ -0,0 +1,176 @@
+package om.tanish.saas.project.service;
+
+import om.tanish.saas.common.SchedulerLock;
+import om.tanish.saas.project.dto.CounterReconciliationReport;
+import om.tanish.saas.project.dto.TaskCountRow;
+import om.tanish.saas.project.entities.TaskCounter;
+import om.tanish.saas.project.enums.TaskPriority;
+import om.tanish.saas.project.enums.TaskStatus;
+import om.tanish.saas.project.repository.ProjectRepository;
+import om.tanish.saas.project.repository.TaskCounterRepository;
+import om.tanish.saas.project.repository.TaskRepository;
+import om.tanish.saas.tenant.TenantContext;
+import om.tanish.saas.tenant.TenantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Rebuilds task_counters from the tasks table and reports how far the counters had drifted.
+ */
+@Component
+public class TaskCounterReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskCounterReconciler.class);
+    private static final String LOCK_NAME = "task-counter-reconcile";
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskCounterRepository taskCounterRepository;
+    private final TenantRepository tenantRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLock schedulerLock;
+
+    @Value("${task-counters.reconcile-on-startup:false}")
+    private boolean reconcileOnStartup;
+
+    @Value("${task-counters.reconcile-lock-at-most:1h}")
+    private Duration lockAtMostFor;
+
+    @Value("${task-counters.reconcile-lock-at-least:1m}")
+    private Duration lockAtLeastFor;
+
+    public TaskCounterReconciler(TaskRepository taskRepository,
+                                 ProjectRepository projectRepository,
+                                 TaskCounterRepository taskCounterRepository,
+                                 TenantRepository tenantRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 SchedulerLock schedulerLock) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.taskCounterRepository = taskCounterRepository;
+        this.tenantRepository = tenantRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.schedulerLock = schedulerLock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup) {
+            reconcileAll();
+        }
+    }
+
+    /** Every node fires the cron; the lock lets only one of them reconcile. */
+    @Scheduled(cron = "${task-counters.reconcile-cron:0 0 3 * * *}")
+    public void scheduledReconcile() {
+        if (!schedulerLock.runIfFree(LOCK_NAME, lockAtMostFor, lockAtLeastFor, this::reconcileAll)) {
+            logger.info("Skipping scheduled task counter reconciliation: another node is running it");
+        }
+    }
+
+    public CounterReconciliationReport reconcileAll() {
+        CounterReconciliationReport report = new CounterReconciliationReport();
+        report.setStartedAt(Instant.now());
+
+        for (UUID tenantId : tenantRepository.findAllIds()) {
+            report.add(reconcileTenant(tenantId));
+        }
+
+        report.setFinishedAt(Instant.now());
+        if (report.getCountersDrifted() > 0) {
+            logger.warn("Task counter drift repaired: {} of {} counters off by {} tasks in total across {} tenants",
+                    report.getCountersDrifted(), report.getCountersChecked(),
+                    report.getAbsoluteDrift(), report.getTenantsChecked());
+        } else {
+            logger.info("Task counters consistent: {} counters across {} tenants",
+                    report.getCountersChecked(), report.getTenantsChecked());
+        }
+        return report;
+    }
+
+    /**
+     * Locks the tenant's counter rows before counting tasks, so writers that are mid-flight
+     * block on their counter update and apply their delta on top of the rebuilt value.
+     * Every project ends up with its full status/priority grid, which is what lets deltas
+     * stay plain UPDATEs.
+     * Runs with the tenant as the current tenant, so its shard and dedicated schema (if any) are used.
+     */
+    public CounterReconciliationReport reconcileTenant(UUID tenantId) {
+        return TenantContext.callAs(tenantId, () -> reconcileInTransaction(tenantId));
+    }
+
+    private CounterReconciliationReport reconcileInTransaction(UUID tenantId) {
+        return transactionTemplate.execute(status -> {
+            // Read before locking: a project created meanwhile seeds its own grid
+            List<UUID> projectIds = projectRepository.findIdsByTenantId(tenantId);
+
+            Map<CounterKey, TaskCounter> counters = new HashMap<>();
+            for (TaskCounter counter : taskCounterRepository.lockAllByTenantId(tenantId)) {
+                counters.put(new CounterKey(counter.getProjectId(), counter.getStatus(), counter.getPriority()), counter);
+            }
+
+            Map<CounterKey, Long> actual = new HashMap<>();
+            for (TaskCountRow row : taskRepository.countByProjectStatusAndPriorityForTenant(tenantId)) {
+                actual.put(new CounterKey(row.getProjectId(), row.getStatus(), row.getPriority()), row.getCount());
+            }
+
+            CounterReconciliationReport report = new CounterReconciliationReport();
+            report.setTenantsChecked(1);
+
+            for (UUID projectId : projectIds) {
+                for (TaskStatus taskStatus : TaskStatus.values()) {
+                    for (TaskPriority priority : TaskPriority.values()) {
+                        CounterKey key = new CounterKey(projectId, taskStatus, priority);
+                        TaskCounter counter = counters.remove(key);
+                        if (counter == null) {
+                            counter = new TaskCounter(tenantId, projectId, taskStatus, priority, 0);
+                        }
+                        repair(counter, actual.getOrDefault(key, 0L), report);
+                    }
+                }
+            }
+
+            // Counters of projects deleted meanwhile must read zero
+            for (TaskCounter counter : counters.values()) {
+                repair(counter, 0, report);
+            }
+
+            if (report.getCountersDrifted() > 0) {
+                logger.warn("Tenant {}: {} task counters drifted by {} in total",
+                        tenantId, report.getCountersDrifted(), report.getAbsoluteDrift());
+            }
+            return report;
+        });
+    }
+
+    private void repair(TaskCounter counter, long expected, CounterReconciliationReport report) {
+        report.setCountersChecked(report.getCountersChecked() + 1);
+        long drift = expected - counter.getTaskCount();
+        if (drift == 0 && counter.getId() != null) {
+            return;
+        }
+        if (drift != 0) {
+            report.setCountersDrifted(report.getCountersDrifted() + 1);
+            report.setAbsoluteDrift(report.getAbsoluteDrift() + Math.abs(drift));
+        }
+        counter.setTaskCount(expected);
+        taskCounterRepository.save(counter);
+    }
+
+    private record CounterKey(UUID projectId, TaskStatus status, TaskPriority priority) {
+    }
+}
@@ -0,0 +1,126 @@
+package om.tanish.saas.project.service;
+
+import om.tanish.saas.project.dto.TaskHistogram;
+import om.tanish.saas.project.dto.TaskStatusRow;
+import om.tanish.saas.project.entities.Task;
+import om.tanish.saas.project.entities.TaskCounter;
+import om.tanish.saas.project.enums.TaskPriority;
+import om.tanish.saas.project.enums.TaskStatus;
+import om.tanish.saas.project.repository.TaskCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the task_counters table in step with the tasks table. Every method joins the
+ * caller's transaction, so a task write and its counter delta commit or roll back together.
+ */
+@Service
+public class TaskCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskCounterService.class);
+
+    private final TaskCounterRepository taskCounterRepository;
+
+    public TaskCounterService(TaskCounterRepository taskCounterRepository) {
+        this.taskCounterRepository = taskCounterRepository;
+    }
+
+    /**
+     * Seeds a zero row for every status/priority pair of a new project, so later deltas
+     * are plain atomic UPDATEs and never race on the insert.
+     */
+    @Transactional
+    public void initializeProject(UUID tenantId, UUID projectId) {
+        List<TaskCounter> counters = new ArrayList<>();
+        for (TaskStatus status : TaskStatus.values()) {
+            for (TaskPriority priority : TaskPriority.values()) {
+                counters.add(new TaskCounter(tenantId, projectId, status, priority, 0));
+            }
+        }
+        taskCounterRepository.saveAll(counters);
+    }
+
+    @Transactional
+    public void taskCreated(UUID tenantId, UUID projectId, TaskStatus status, TaskPriority priority) {
+        applyDelta(tenantId, projectId, status, priority, 1);
+    }
+
+    /** One delta per (project, status, priority) for a batch of new tasks. */
+    @Transactional
+    public void tasksCreated(UUID tenantId, List<Task> tasks) {
+        Map<CounterKey, Long> deltas = new HashMap<>();
+        for (Task task : tasks) {
+            deltas.merge(new CounterKey(task.getProject().getId(), task.getStatus(), task.getPriority()), 1L, Long::sum);
+        }
+        deltas.forEach((key, delta) -> applyDelta(tenantId, key.projectId(), key.status(), key.priority(), delta));
+    }
+
+    /** Moves the counts of the given rows, as they were before the change, to {@code newStatus}. */
+    @Transactional
+    public void statusChanged(UUID tenantId, List<TaskStatusRow> rows, TaskStatus newStatus) {
+        Map<CounterKey, Long> moved = new HashMap<>();
+        for (TaskStatusRow row : rows) {
+            moved.merge(new CounterKey(row.getProjectId(), row.getStatus(), row.getPriority()), 1L, Long::sum);
+        }
+        moved.forEach((key, count) -> {
+            applyDelta(tenantId, key.projectId(), key.status(), key.priority(), -count);
+            applyDelta(tenantId, key.projectId(), newStatus, key.priority(), count);
+        });
+    }
+
+    @Transactional
+    public void taskDeleted(UUID tenantId, UUID projectId, TaskStatus status, TaskPriority priority) {
+        applyDelta(tenantId, projectId, status, priority, -1);
+    }
+
+    @Transactional
+    public void taskChanged(UUID tenantId, UUID projectId,
+                            TaskStatus oldStatus, TaskPriority oldPriority,
+                            TaskStatus newStatus, TaskPriority newPriority) {
+        if (oldStatus == newStatus && oldPriority == newPriority) {
+            return;
+        }
+        applyDelta(tenantId, projectId, oldStatus, oldPriority, -1);
+        applyDelta(tenantId, projectId, newStatus, newPriority, 1);
+    }
+
+    /**
+     * Atomic in-place increment. Every project has its full grid (seeded on creation, by the V4
+     * migration for older projects, and by reconciliation), so the row always exists; a missing
+     * one is left for reconciliation rather than inserted here, where it would race on the key.
+     */
+    @Transactional
+    public void applyDelta(UUID tenantId, UUID projectId, TaskStatus status, TaskPriority priority, long delta) {
+        int updated = taskCounterRepository.applyDelta(tenantId, projectId, status, priority, delta);
+        if (updated == 0) {
+            logger.warn("No task counter for project {} ({}/{}); delta {} left to reconciliation",
+                    projectId, status, priority, delta);
+        }
+    }
+
+    @Transactional
+    public void deleteProject(UUID tenantId, UUID projectId) {
+        taskCounterRepository.deleteAllForProject(tenantId, projectId);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskHistogram histogramForTenant(UUID tenantId) {
+        return TaskHistogram.ofRows(taskCounterRepository.sumByStatusAndPriorityForTenant(tenantId));
+    }
+
+    @Transactional(readOnly = true)
+    public TaskHistogram histogramForProject(UUID tenantId, UUID projectId) {
+        return TaskHistogram.ofCounters(taskCounterRepository.findAllByTenantIdAndProjectId(tenantId, projectId));
+    }
+
+    private record CounterKey(UUID projectId, TaskStatus status, TaskPriority priority) {
+    }
+}
@@ -1,7 +1,23 @@
 package om.tanish.saas.project.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import om.tanish.saas.common.CursorPage;
+import om.tanish.saas.common.EntityTags;
+import om.tanish.saas.common.Versioned;
+import om.tanish.saas.common.KeysetCursor;
+import om.tanish.saas.project.dto.BulkCreateTasksRequest;
+import om.tanish.saas.project.dto.BulkCreateTasksResponse;
+import om.tanish.saas.project.dto.BulkStatusUpdateRequest;
+import om.tanish.saas.project.dto.BulkStatusUpdateResponse;
+import om.tanish.saas.project.dto.BulkTaskResult;
 import om.tanish.saas.project.dto.CreateTaskRequest;
+import om.tanish.saas.project.dto.TaskListVersion;
 import om.tanish.saas.project.dto.TaskResponseDTO;
+import om.tanish.saas.project.dto.TaskStatusRow;
+import om.tanish.saas.project.dto.TaskVersion;
 import om.tanish.saas.project.entities.Project;
 import om.tanish.saas.project.entities.Task;
 import om.tanish.saas.project.enums.TaskPriority;
@@ -10,49 +26,83 @@ import om.tanish.saas.project.repository.ProjectRepository;
 import om.tanish.saas.project.repository.TaskRepository;
 import om.tanish.saas.tenant.Tenant;
 import om.tanish.saas.tenant.TenantContext;
-import om.tanish.saas.tenant.TenantRepository;
+import om.tanish.saas.tenant.TenantRegistry;
 import om.tanish.saas.user.User;
 import om.tanish.saas.user.UserRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_UNPAGED_TASKS = 500;
+    private static final int STREAM_FLUSH_ROWS = 100;
+    private static final int MAX_BULK_STATUS_TASKS = 10_000;
+    private static final int STATUS_UPDATE_CHUNK = 500;
+
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
-    private final TenantRepository tenantRepository;
+    private final TenantRegistry tenantRegistry;
     private final UserRepository userRepository;
+    private final TaskCounterService taskCounterService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate readOnlyTransaction;
 
     public TaskService(TaskRepository taskRepository,
                        ProjectRepository projectRepository,
-                       TenantRepository tenantRepository,
-                       UserRepository userRepository) {
+                       TenantRegistry tenantRegistry,
+                       UserRepository userRepository,
+                       TaskCounterService taskCounterService,
+                       ObjectMapper objectMapper,
+                       Validator validator,
+                       PlatformTransactionManager transactionManager) {
         this.taskRepository = taskRepository;
         this.projectRepository = projectRepository;
-        this.tenantRepository = tenantRepository;
+        this.tenantRegistry = tenantRegistry;
         this.userRepository = userRepository;
+        this.taskCounterService = taskCounterService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
     @Transactional
     public TaskResponseDTO createTask(CreateTaskRequest request){
         UUID tenantId = getTenantIdFromContext();
         UUID userId = getCurrentUserId();
 
-        Tenant tenant = tenantRepository.findById(tenantId)
+        Tenant tenant = tenantRegistry.reference(tenantId)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.BAD_REQUEST, "Tenant not found"
                 ));
-        Project project = projectRepository.findByIdAndTenant_Id(request.getProjectId(), tenantId)
+        Project project = projectRepository.findCachedInTenant(request.getProjectId(), tenantId)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.BAD_REQUEST, "Project not found for the tenant"
                 ));
@@ -99,15 +149,136 @@ public class TaskService {
             task.setAssignee(assignee);
         }
         task.setDueDate(request.getDueDate());
-        Instant now = Instant.now();
+        Instant now = EntityTags.now();
         task.setCreatedAt(now);
         task.setUpdatedAt(now);
 
         Task savedTask = taskRepository.save(task);
+        taskCounterService.taskCreated(tenantId, project.getId(), savedTask.getStatus(), savedTask.getPriority());
 
         return mapToTaskResponseDTO(savedTask);
     }
 
+    /**
+     * Creates a batch of tasks in one transaction. Projects and users (creator and assignees)
+     * are resolved with one IN query each, and the inserts go out as JDBC batches. Items that
+     * fail validation are reported with their index and skipped; the others are created.
+     */
+    @Transactional
+    public BulkCreateTasksResponse createTasks(BulkCreateTasksRequest request) {
+        UUID tenantId = getTenantIdFromContext();
+        UUID userId = getCurrentUserId();
+        List<CreateTaskRequest> items = request.getTasks();
+
+        Tenant tenant = tenantRegistry.reference(tenantId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST, "Tenant not found"
+                ));
+
+        Set<UUID> projectIds = new HashSet<>();
+        Set<UUID> userIds = new HashSet<>();
+        userIds.add(userId);
+        for (CreateTaskRequest item : items) {
+            if (item != null && item.getProjectId() != null) {
+                projectIds.add(item.getProjectId());
+            }
+            if (item != null && item.getAssigneeId() != null) {
+                userIds.add(item.getAssigneeId());
+            }
+        }
+        Map<UUID, Project> projects = projectRepository.findAllByTenant_IdAndIdIn(tenantId, projectIds).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        Map<UUID, User> users = userRepository.findAllByTenant_IdAndIdIn(tenantId, userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        User createdBy = users.get(userId);
+        if (createdBy == null) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Creator user not found"
+            );
+        }
+
+        BulkTaskResult[] results = new BulkTaskResult[items.size()];
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> taskIndexes = new ArrayList<>();
+        Instant now = EntityTags.now();
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                Task task = buildBulkTask(items.get(i), tenant, createdBy, projects, users);
+                task.setCreatedAt(now);
+                task.setUpdatedAt(now);
+                tasks.add(task);
+                taskIndexes.add(i);
+            } catch (ResponseStatusException e) {
+                results[i] = BulkTaskResult.rejected(i, e.getReason());
+            }
+        }
+
+        taskRepository.saveAll(tasks);
+        taskCounterService.tasksCreated(tenantId, tasks);
+        for (int i = 0; i < tasks.size(); i++) {
+            results[taskIndexes.get(i)] = BulkTaskResult.created(taskIndexes.get(i), tasks.get(i).getId());
+        }
+
+        BulkCreateTasksResponse response = new BulkCreateTasksResponse();
+        response.setCreated(tasks.size());
+        response.setRejected(items.size() - tasks.size());
+        response.setResults(Arrays.asList(results));
+        return response;
+    }
+
+    // Missing status and priority fall back to the entity defaults (TODO, MEDIUM)
+    private Task buildBulkTask(CreateTaskRequest item, Tenant tenant, User createdBy,
+                               Map<UUID, Project> projects, Map<UUID, User> users) {
+        if (item == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Task is required");
+        }
+        Set<ConstraintViolation<CreateTaskRequest>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+
+        Project project = projects.get(item.getProjectId());
+        if (project == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Project not found for the tenant");
+        }
+
+        Task task = new Task();
+        task.setTenant(tenant);
+        task.setProject(project);
+        task.setTitle(item.getTitle());
+        task.setDescription(item.getDescription());
+        task.setCreatedBy(createdBy);
+        task.setDueDate(item.getDueDate());
+
+        if (item.getStatus() != null) {
+            try {
+                task.setStatus(TaskStatus.valueOf(item.getStatus().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid status: " + item.getStatus());
+            }
+        }
+        if (item.getPriority() != null) {
+            try {
+                task.setPriority(TaskPriority.valueOf(item.getPriority().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid priority: " + item.getPriority());
+            }
+        }
+        if (item.getAssigneeId() != null) {
+            User assignee = users.get(item.getAssigneeId());
+            if (assignee == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Assignee not found in this tenant");
+            }
+            task.setAssignee(assignee);
+        }
+        return task;
+    }
+
+    @Transactional(readOnly = true)
     public Page<TaskResponseDTO> getTasksByProject(UUID projectId, Pageable pageable) {
         UUID tenantId = getTenantIdFromContext();
 
@@ -115,40 +286,173 @@ public class TaskService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found");
         }
 
-        Page<Task> tasks = taskRepository.findAllByProject_IdAndTenant_Id(
-                projectId, tenantId, pageable);
+        return taskRepository.findDtosByProject(tenantId, projectId, pageable);
+    }
+
+    /** Size and latest writes behind the project's task list, for conditional GETs of its pages. */
+    @Transactional(readOnly = true)
+    public TaskListVersion getTaskListVersion(UUID projectId) {
+        UUID tenantId = getTenantIdFromContext();
+
+        if (!projectRepository.existsByIdAndTenant_Id(projectId, tenantId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found");
+        }
+
+        return taskRepository.findListVersionByProject(tenantId, projectId);
+    }
+
+    /**
+     * Keyset variant of {@link #getTasksByProject}: newest first, resuming strictly after the
+     * cursor. Fetches one extra row to decide whether another page exists.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponseDTO> getTasksByProjectAfter(UUID projectId, String after, int limit) {
+        UUID tenantId = getTenantIdFromContext();
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!projectRepository.existsByIdAndTenant_Id(projectId, tenantId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found");
+        }
+
+        List<TaskResponseDTO> tasks;
+        if (after == null || after.isEmpty()) {
+            tasks = taskRepository.findFirstPageByProject(tenantId, projectId, Limit.of(limit + 1));
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            tasks = taskRepository.findPageByProjectAfter(
+                    tenantId, projectId, cursor.getCreatedAt(), cursor.getId(), Limit.of(limit + 1));
+        }
+
+        String nextCursor = null;
+        if (tasks.size() > limit) {
+            tasks = tasks.subList(0, limit);
+            TaskResponseDTO last = tasks.get(limit - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new CursorPage<>(tasks, nextCursor);
+    }
+
+    /**
+     * The caller's tasks as one list, newest first. Returns at most {@link #MAX_UNPAGED_TASKS}
+     * plus one rows, so the caller can tell a longer listing apart and send the client to
+     * {@link #getMyTasksAfter} or {@link #streamMyTasks} instead.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponseDTO> getMyTasks(String status, Instant dueAfter, Instant dueBefore) {
+        UUID tenantId = getTenantIdFromContext();
+        UUID userId = getCurrentUserId();
 
-        return tasks.map(this::mapToTaskResponseDTO);
+        return taskRepository.findMyTasks(tenantId, userId, parseStatusFilter(status), dueAfter, dueBefore,
+                Limit.of(MAX_UNPAGED_TASKS + 1));
     }
 
-    public List<TaskResponseDTO> getMyTasks() {
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponseDTO> getMyTasksAfter(String status, Instant dueAfter, Instant dueBefore,
+                                                       String after, int limit) {
         UUID tenantId = getTenantIdFromContext();
         UUID userId = getCurrentUserId();
+        TaskStatus statusFilter = parseStatusFilter(status);
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<TaskResponseDTO> tasks;
+        if (after == null || after.isEmpty()) {
+            tasks = taskRepository.findMyTasks(
+                    tenantId, userId, statusFilter, dueAfter, dueBefore, Limit.of(limit + 1));
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            tasks = taskRepository.findMyTasksAfter(tenantId, userId, statusFilter, dueAfter, dueBefore,
+                    cursor.getCreatedAt(), cursor.getId(), Limit.of(limit + 1));
+        }
+
+        String nextCursor = null;
+        if (tasks.size() > limit) {
+            tasks = tasks.subList(0, limit);
+            TaskResponseDTO last = tasks.get(limit - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new CursorPage<>(tasks, nextCursor);
+    }
 
-        List<Task> taskList = taskRepository.findAllByAssignee_IdAndTenant_Id(userId, tenantId);
+    /**
+     * Writes the caller's tasks as newline-delimited JSON straight off the JDBC cursor. The body
+     * runs on an async thread without TenantContext or the security context, so both ids are
+     * resolved here; the body re-establishes the tenant (which picks the session's schema in
+     * schema mode) and opens the read-only transaction itself.
+     */
+    public StreamingResponseBody streamMyTasks(String status, Instant dueAfter, Instant dueBefore) {
+        UUID tenantId = getTenantIdFromContext();
+        UUID userId = getCurrentUserId();
+        TaskStatus statusFilter = parseStatusFilter(status);
+        ObjectWriter writer = objectMapper.writerFor(TaskResponseDTO.class);
+
+        return out -> {
+            TenantContext.setTenant(tenantId);
+            try {
+                writeMyTasks(out, writer, tenantId, userId, statusFilter, dueAfter, dueBefore);
+            } finally {
+                TenantContext.clear();
+            }
+        };
+    }
 
-        return taskList.stream()
-                .map(this::mapToTaskResponseDTO)
-                .toList();
+    private void writeMyTasks(OutputStream out, ObjectWriter writer, UUID tenantId, UUID userId,
+                              TaskStatus statusFilter, Instant dueAfter, Instant dueBefore) {
+        readOnlyTransaction.executeWithoutResult(tx -> {
+            try (Stream<TaskResponseDTO> tasks = taskRepository.streamMyTasks(
+                    tenantId, userId, statusFilter, dueAfter, dueBefore)) {
+                int written = 0;
+                for (TaskResponseDTO task : (Iterable<TaskResponseDTO>) tasks::iterator) {
+                    out.write(writer.writeValueAsBytes(task));
+                    out.write('\n');
+                    if (++written % STREAM_FLUSH_ROWS == 0) {
+                        out.flush();
+                    }
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 
+    @Transactional(readOnly = true)
     public TaskResponseDTO getTaskById(UUID taskId) {
         UUID tenantId = getTenantIdFromContext();
 
-        Task task = taskRepository.findByIdAndTenant_Id(taskId, tenantId)
+        return taskRepository.findDtoByIdAndTenantId(taskId, tenantId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Task not found"
+                ));
+    }
+
+    /** The task's version, without loading the task. */
+    @Transactional(readOnly = true)
+    public TaskVersion getTaskVersion(UUID projectId, UUID taskId) {
+        return taskRepository.findVersionByIdAndProjectId(getTenantIdFromContext(), projectId, taskId)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND, "Task not found"
                 ));
-        return mapToTaskResponseDTO(task);
     }
 
     @Transactional
-    public TaskResponseDTO updateTask(UUID taskId, CreateTaskRequest request){
+    public Versioned<TaskResponseDTO> updateTask(UUID taskId, CreateTaskRequest request, String ifMatch){
         UUID tenantId = getTenantIdFromContext();
+        checkIfMatch(taskId, tenantId, ifMatch);
         Task task = taskRepository.findByIdAndTenant_Id(taskId, tenantId)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND, "Task not found"
                 ));
+        TaskStatus oldStatus = task.getStatus();
+        TaskPriority oldPriority = task.getPriority();
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
         try {
@@ -180,9 +484,11 @@ public class TaskService {
             task.setAssignee(assignee);
         }
         task.setDueDate(request.getDueDate());
-        task.setUpdatedAt(Instant.now());
+        task.setUpdatedAt(EntityTags.now());
         Task savedTask = taskRepository.save(task);
-        return mapToTaskResponseDTO(savedTask);
+        taskCounterService.taskChanged(tenantId, task.getProject().getId(),
+                oldStatus, oldPriority, savedTask.getStatus(), savedTask.getPriority());
+        return withVersion(mapToTaskResponseDTO(savedTask), tenantId);
     }
 
     @Transactional
@@ -193,15 +499,18 @@ public class TaskService {
                         HttpStatus.NOT_FOUND, "Task not found"
                 ));
         taskRepository.delete(task);
+        taskCounterService.taskDeleted(tenantId, task.getProject().getId(), task.getStatus(), task.getPriority());
     }
 
     @Transactional
-    public TaskResponseDTO updateTaskStatus(UUID taskId, CreateTaskRequest request){
+    public Versioned<TaskResponseDTO> updateTaskStatus(UUID taskId, CreateTaskRequest request, String ifMatch){
         UUID tenantId = getTenantIdFromContext();
+        checkIfMatch(taskId, tenantId, ifMatch);
         Task task = taskRepository.findByIdAndTenant_Id(taskId, tenantId)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND, "Task not found"
                 ));
+        TaskStatus oldStatus = task.getStatus();
         try {
             task.setStatus(TaskStatus.valueOf(request.getStatus().toUpperCase()));
         } catch (IllegalArgumentException e) {
@@ -209,8 +518,101 @@ public class TaskService {
                     HttpStatus.BAD_REQUEST, "Invalid status: " + request.getStatus()
             );
         }
+        task.setUpdatedAt(EntityTags.now());
         Task savedTask = taskRepository.save(task);
-        return mapToTaskResponseDTO(savedTask);
+        taskCounterService.taskChanged(tenantId, task.getProject().getId(),
+                oldStatus, task.getPriority(), savedTask.getStatus(), savedTask.getPriority());
+        return withVersion(mapToTaskResponseDTO(savedTask), tenantId);
+    }
+
+    /**
+     * Moves a set of tasks to one status with a set-based UPDATE instead of loading each
+     * task. The affected rows are locked first (SELECT ... FOR UPDATE), so the UPDATE hits
+     * exactly those rows and the counter deltas computed from them stay exact.
+     */
+    @Transactional
+    public BulkStatusUpdateResponse updateTaskStatuses(BulkStatusUpdateRequest request) {
+        UUID tenantId = getTenantIdFromContext();
+        TaskStatus status = parseStatusFilter(request.getStatus());
+        if (status == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Status is required");
+        }
+        List<UUID> taskIds = request.getTaskIds();
+        boolean byIds = taskIds != null && !taskIds.isEmpty();
+        boolean byFilter = request.getProjectId() != null || request.getCurrentStatus() != null
+                || request.getAssigneeId() != null;
+        if (byIds == byFilter) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Provide either taskIds or a filter (projectId, currentStatus, assigneeId)");
+        }
+
+        List<TaskStatusRow> rows;
+        if (byIds) {
+            rows = taskRepository.lockForStatusChange(tenantId, new HashSet<>(taskIds), status);
+        } else {
+            rows = taskRepository.lockForStatusChange(tenantId, request.getProjectId(),
+                    parseStatusFilter(request.getCurrentStatus()), request.getAssigneeId(), status,
+                    Limit.of(MAX_BULK_STATUS_TASKS + 1));
+            if (rows.size() > MAX_BULK_STATUS_TASKS) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Filter matches more than " + MAX_BULK_STATUS_TASKS + " tasks; narrow it down");
+            }
+        }
+
+        Instant now = EntityTags.now();
+        List<UUID> ids = rows.stream().map(TaskStatusRow::getId).toList();
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += STATUS_UPDATE_CHUNK) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + STATUS_UPDATE_CHUNK, ids.size()));
+            updated += taskRepository.updateStatus(tenantId, chunk, status, now);
+        }
+        taskCounterService.statusChanged(tenantId, rows, status);
+
+        BulkStatusUpdateResponse response = new BulkStatusUpdateResponse();
+        response.setUpdated(updated);
+        response.setSkipped(byIds ? new HashSet<>(taskIds).size() - updated : 0);
+        for (TaskStatusRow row : rows) {
+            response.getPreviousStatuses().merge(row.getStatus(), 1L, Long::sum);
+        }
+        return response;
+    }
+
+    /** Enforces an If-Match precondition, locking the task's row so its own version cannot move. */
+    private void checkIfMatch(UUID taskId, UUID tenantId, String ifMatch) {
+        if (ifMatch == null) {
+            return;
+        }
+        taskRepository.lockByIdAndTenantId(taskId, tenantId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Task not found"
+                ));
+        EntityTags.checkIfMatch(ifMatch, currentVersion(taskId, tenantId).tag());
+    }
+
+    /** Read back in the writing transaction, so the tag is the one the next GET computes. */
+    private Versioned<TaskResponseDTO> withVersion(TaskResponseDTO task, UUID tenantId) {
+        TaskVersion version = currentVersion(task.getId(), tenantId);
+        return new Versioned<>(task, version.tag(), version.lastModified());
+    }
+
+    private TaskVersion currentVersion(UUID taskId, UUID tenantId) {
+        return taskRepository.findVersionByIdAndTenantId(taskId, tenantId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Task not found"
+                ));
+    }
+
+    private TaskStatus parseStatusFilter(String status) {
+        if (status == null || status.isEmpty()) {
+            return null;
+        }
+        try {
+            return TaskStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Invalid status: " + status
+            );
+        }
     }
 
     private UUID getTenantIdFromContext(){
@@ -0,0 +1,39 @@
+package om.tanish.saas.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Remembers which users committed a write within the last {@code window}, so their read-only
+ * transactions stay on the primary until the replica has had time to catch up.
+ */
+public class ReadYourWritesGuard {
+
+    private final Cache<UUID, Boolean> recentWriters;
+
+    public ReadYourWritesGuard(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void recordWrite(UUID userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    public boolean requiresPrimary(UUID userId) {
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    /** The authenticated user on this thread, or null for anonymous and background work. */
+    static UUID currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UUID userId ? userId : null;
+    }
+}
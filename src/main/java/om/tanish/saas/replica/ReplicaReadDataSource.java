@@ -0,0 +1,41 @@
+package om.tanish.saas.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Connections for read-only transactions: the replica, unless the current user wrote recently.
+ */
+public class ReplicaReadDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final ReadYourWritesGuard guard;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+
+    public ReplicaReadDataSource(DataSource primary, DataSource replica, ReadYourWritesGuard guard,
+                                 MeterRegistry meterRegistry) {
+        this.guard = guard;
+        this.primaryReads = meterRegistry.counter("datasource.reads", "target", PRIMARY);
+        this.replicaReads = meterRegistry.counter("datasource.reads", "target", REPLICA);
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(replica);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (guard.requiresPrimary(ReadYourWritesGuard.currentUser())) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        return REPLICA;
+    }
+}
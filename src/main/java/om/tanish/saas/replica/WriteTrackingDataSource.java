@@ -0,0 +1,41 @@
+package om.tanish.saas.replica;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * The primary as seen by read-write transactions. When such a transaction commits, its user
+ * is recorded with the {@link ReadYourWritesGuard}.
+ */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+
+    private final ReadYourWritesGuard guard;
+
+    public WriteTrackingDataSource(DataSource primary, ReadYourWritesGuard guard) {
+        super(primary);
+        this.guard = guard;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        UUID userId = ReadYourWritesGuard.currentUser();
+        if (userId != null
+                && TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guard.recordWrite(userId);
+                }
+            });
+        }
+        return connection;
+    }
+}
@@ -0,0 +1,88 @@
+package om.tanish.saas.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the rate-limit key for a request's client address. IPv4 clients are keyed by
+ * address; IPv6 clients by their /64 prefix, since a single host can rotate through the
+ * interface identifiers of its subnet.
+ */
+public final class ClientIpResolver {
+
+    private static final Pattern IPV4 = Pattern.compile(
+            "^((25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}" +
+                    "(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$");
+
+    private static final int MAX_IPV6_LENGTH = 45;
+
+    private ClientIpResolver() {
+    }
+
+    public static String resolveKey(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            int comma = xForwardedFor.indexOf(',');
+            String clientIp = (comma < 0 ? xForwardedFor : xForwardedFor.substring(0, comma)).trim();
+            String key = toKey(clientIp);
+            if (key != null) {
+                return key;
+            }
+        }
+        String remoteAddr = request.getRemoteAddr();
+        String key = toKey(remoteAddr);
+        return key != null ? key : remoteAddr;
+    }
+
+    /**
+     * Returns the rate-limit key for a literal IPv4 or IPv6 address, or null if the value is
+     * not one. Never performs a DNS lookup.
+     */
+    static String toKey(String ip) {
+        if (ip == null || ip.isEmpty()) {
+            return null;
+        }
+        if (IPV4.matcher(ip).matches()) {
+            return ip;
+        }
+        if (!looksLikeIpv6(ip)) {
+            return null;
+        }
+        try {
+            InetAddress address = InetAddress.getByName(ip);
+            if (!(address instanceof Inet6Address)) {
+                // IPv4-mapped IPv6 addresses come back as plain IPv4
+                return address.getHostAddress();
+            }
+            byte[] bytes = address.getAddress();
+            StringBuilder key = new StringBuilder(24);
+            for (int i = 0; i < 8; i += 2) {
+                key.append(Integer.toHexString(((bytes[i] & 0xff) << 8) | (bytes[i + 1] & 0xff))).append(':');
+            }
+            return key.append(":/64").toString();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    // Only hex digits, colons and dots (for embedded IPv4) are let through to InetAddress, so
+    // it always takes the literal-parsing path and never resolves a hostname
+    private static boolean looksLikeIpv6(String ip) {
+        if (ip.length() > MAX_IPV6_LENGTH || ip.indexOf(':') < 0) {
+            return false;
+        }
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            boolean valid = (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')
+                    || c == ':' || c == '.';
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
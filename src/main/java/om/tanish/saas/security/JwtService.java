@@ -2,6 +2,7 @@ package om.tanish.saas.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -11,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.Map;
@@ -26,6 +28,10 @@ public class JwtService {
     @Value("${jwt.secret}")
     private String SECRET;
 
+    // Both are immutable and thread-safe, so they are built once and shared by all requests
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
     @PostConstruct
     public void validateSecret() {
         if (SECRET == null || SECRET.length() < 32) {
@@ -35,10 +41,11 @@ public class JwtService {
             );
         }
         logger.info("JWT secret validated successfully");
-    }
 
-    private byte[] getSecretKey() {
-        return SECRET.getBytes(StandardCharsets.UTF_8);
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     public String generateToken(Map<String, Object> claims, User user) {
@@ -53,16 +60,12 @@ public class JwtService {
                 .setSubject(user.getId().toString())
                 .setIssuedAt(issuedAt)
                 .setExpiration(expiresAt)
-                .signWith(Keys.hmacShaKeyFor(getSecretKey()))
+                .signWith(signingKey)
                 .compact();
     }
 
     public Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSecretKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     public boolean isTokenExpired(String token) {
@@ -83,7 +86,7 @@ public class JwtService {
         try {
             Claims claims = extractClaims(token);
             UUID tokenUserId = UUID.fromString(claims.getSubject());
-            boolean valid = tokenUserId.equals(userId) && !isTokenExpired(token);
+            boolean valid = tokenUserId.equals(userId) && !claims.getExpiration().before(new Date());
 
             if (!valid) {
                 logger.warn("Token validation failed for user: {}", userId);
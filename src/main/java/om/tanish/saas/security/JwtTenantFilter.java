@@ -1,35 +1,38 @@
 package om.tanish.saas.security;
 
-import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import om.tanish.saas.shard.ShardDirectory;
 import om.tanish.saas.tenant.TenantContext;
+import om.tanish.saas.tenant.TenantStatusTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.UUID;
 
 @Component
 public class JwtTenantFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTenantFilter.class);
 
-    private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TenantStatusTable tenantStatusTable;
+    private final ShardDirectory shardDirectory;
 
-    public JwtTenantFilter(JwtService jwtService) {
-        this.jwtService = jwtService;
+    public JwtTenantFilter(VerifiedTokenCache verifiedTokenCache,
+                           TenantStatusTable tenantStatusTable,
+                           ShardDirectory shardDirectory) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tenantStatusTable = tenantStatusTable;
+        this.shardDirectory = shardDirectory;
     }
 
     @Override
@@ -59,25 +62,26 @@ public class JwtTenantFilter extends OncePerRequestFilter {
             }
 
             String token = authHeader.substring(7);
-            Claims claims = jwtService.extractClaims(token);
-
-            // ---------------- USER ID ----------------
-            UUID userId = UUID.fromString(claims.getSubject());
+            VerifiedTokenCache.VerifiedToken verified = verifiedTokenCache.resolve(token);
 
             // ---------------- TENANT CONTEXT (OPTIONAL) ----------------
-            if (claims.containsKey("tenantId")) {
-                UUID tenantId = UUID.fromString(claims.get("tenantId").toString());
-                TenantContext.setTenant(tenantId);
-                logger.debug("Tenant context set: {}", tenantId);
+            if (verified.tenantId() != null) {
+                // Tokens outlive suspensions, so the status is checked on every request
+                if (!tenantStatusTable.isActive(verified.tenantId())) {
+                    logger.warn("Rejected request for inactive tenant: {}", verified.tenantId());
+                    forbidden(response, "Tenant is not active");
+                    return;
+                }
+                if (shardDirectory.isMoving(verified.tenantId())) {
+                    serviceUnavailable(response, "Tenant is being moved, please retry shortly");
+                    return;
+                }
+                TenantContext.setTenant(verified.tenantId());
+                logger.debug("Tenant context set: {}", verified.tenantId());
             }
 
-            // ---------------- ROLE ----------------
-            String role = claims.get("role").toString();
-            List<GrantedAuthority> authorities =
-                    List.of(new SimpleGrantedAuthority("ROLE_" + role));
-
             UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(userId, null, authorities);
+                    new UsernamePasswordAuthenticationToken(verified.userId(), null, verified.authorities());
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -109,4 +113,17 @@ public class JwtTenantFilter extends OncePerRequestFilter {
         response.setContentType("application/json");
         response.getWriter().write("{\"error\":\"" + message + "\"}");
     }
+
+    private void forbidden(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+
+    private void serviceUnavailable(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", "5");
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
 }
@@ -4,76 +4,111 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import om.tanish.saas.config.RateLimitProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Per-IP and global limits, applied before {@link JwtTenantFilter}. The per-IP bucket is checked
+ * first, so one client cannot drain the global quota for everyone. The looser per-IP tier is
+ * only granted once the bearer token has been verified (through the shared
+ * {@link VerifiedTokenCache}), and never on the auth endpoints, so a made-up token buys no extra
+ * login attempts. Tenant, user and route limits are applied by {@link TenantQuotaFilter}.
+ */
 @Component
 public class RateLimitFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
 
+    private static final String GLOBAL_KEY = "*";
+    private static final String AUTH_PATH = "/api/v1/auth/";
 
-    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
-    private final Map<String, Long> resetTimes = new ConcurrentHashMap<>();
-    private static final int MAX_REQUESTS = 100;
-    private static final long TIME_WINDOW = 60000; // 1 minute
+    private final TokenBucketRateLimiter globalLimiter;
+    private final TokenBucketRateLimiter ipLimiter;
+    private final TokenBucketRateLimiter authenticatedIpLimiter;
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public RateLimitFilter(RateLimitProperties properties, VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.globalLimiter = limiter(properties.getGlobal(), properties);
+        this.ipLimiter = limiter(properties.getIp(), properties);
+        this.authenticatedIpLimiter = limiter(properties.getIpAuthenticated(), properties);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        String clientIp = getClientIp(request);
-        long currentTime = System.currentTimeMillis();
-
-        resetTimes.putIfAbsent(clientIp, currentTime + TIME_WINDOW);
-        requestCounts.putIfAbsent(clientIp, new AtomicInteger(0));
+        // Per-IP first: a flooding client is turned away before it can spend the global quota
+        String clientKey = ClientIpResolver.resolveKey(request);
+        TokenBucketRateLimiter limiter = presentsToken(request) ? authenticatedIpLimiter : ipLimiter;
+        long remaining = limiter.tryAcquire(clientKey);
 
-        if (currentTime > resetTimes.get(clientIp)) {
-            requestCounts.get(clientIp).set(0);
-            resetTimes.put(clientIp, currentTime + TIME_WINDOW);
-            logger.debug("Rate limit counter reset for IP: {}", clientIp);
+        // The token is only verified once the cheap bucket check has passed; a token that does
+        // not verify is charged to the strict tier as well
+        if (remaining >= 0 && limiter == authenticatedIpLimiter && !isVerified(request)) {
+            limiter = ipLimiter;
+            remaining = limiter.tryAcquire(clientKey);
         }
 
-        int currentCount = requestCounts.get(clientIp).incrementAndGet();
+        if (remaining < 0) {
+            logger.warn("Rate limit exceeded for client: {}", clientKey);
+            RateLimitResponses.tooManyRequests(response, limiter.getCapacity(), -remaining);
+            return;
+        }
 
-        if (currentCount > MAX_REQUESTS) {
-            logger.warn("Rate limit exceeded for IP: {} (count: {})", clientIp, currentCount);
-            response.setStatus(429);
-            response.setContentType("application/json");
-            response.getWriter().write("{\"error\":\"Too many requests. Please try again later.\"}");
+        long global = globalLimiter.tryAcquire(GLOBAL_KEY);
+        if (global < 0) {
+            logger.warn("Global rate limit exceeded");
+            RateLimitResponses.tooManyRequests(response, globalLimiter.getCapacity(), -global);
             return;
         }
 
-        logger.trace("Request allowed for IP: {} (count: {}/{})", clientIp, currentCount, MAX_REQUESTS);
+        RateLimitResponses.writeHeaders(response, limiter.getCapacity(), remaining, limiter.millisUntilFull(clientKey));
+        logger.trace("Request allowed for client: {} ({} of {} left)", clientKey, remaining, limiter.getCapacity());
         filterChain.doFilter(request, response);
     }
 
+    /** Whether the request carries a bearer token for a route that requires one. */
+    private static boolean presentsToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        return authHeader != null && authHeader.startsWith("Bearer ")
+                && !request.getRequestURI().startsWith(AUTH_PATH);
+    }
+
+    /**
+     * Whether the bearer token verifies. Invalid and expired tokens fall back to the strict tier
+     * here and are rejected by JwtTenantFilter.
+     */
+    private boolean isVerified(HttpServletRequest request) {
+        try {
+            verifiedTokenCache.resolve(request.getHeader("Authorization").substring(7));
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "PT30S")
+    public void evictIdleClients() {
+        int evicted = ipLimiter.sweep() + authenticatedIpLimiter.sweep();
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle rate-limit buckets", evicted);
+        }
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
-        return path.startsWith("/auth/login")
-                || path.startsWith("/auth/refresh")
-                || path.startsWith("/h2-console");
+        return path.startsWith("/h2-console");
     }
 
-    private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            String clientIp = xForwardedFor.split(",")[0].trim();
-            if(isValidIpAddress(clientIp)) return clientIp;
-        }
-        return request.getRemoteAddr();
-    }
-    private boolean isValidIpAddress(String ip) {
-        String ipPattern =
-                "^((25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}" +
-                        "(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$";
-        return ip.matches(ipPattern);
+    private static TokenBucketRateLimiter limiter(RateLimitProperties.Limit limit, RateLimitProperties properties) {
+        return new RateLimitTier(limit.getRefillPeriod(), properties.getIdleTimeout()).forCapacity(limit.getCapacity());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package om.tanish.saas.security;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * RateLimit-Limit / RateLimit-Remaining / RateLimit-Reset headers (IETF RateLimit header
+ * fields draft) and the 429 response shared by the rate-limit filters.
+ */
+final class RateLimitResponses {
+
+    private RateLimitResponses() {
+    }
+
+    static void writeHeaders(HttpServletResponse response, long limit, long remaining, long resetMillis) {
+        response.setHeader("RateLimit-Limit", Long.toString(limit));
+        response.setHeader("RateLimit-Remaining", Long.toString(Math.max(0, remaining)));
+        response.setHeader("RateLimit-Reset", Long.toString(toSeconds(resetMillis)));
+    }
+
+    static void tooManyRequests(HttpServletResponse response, long limit, long retryAfterMillis) throws IOException {
+        long retryAfter = Math.max(1, toSeconds(retryAfterMillis));
+        writeHeaders(response, limit, 0, retryAfterMillis);
+        response.setStatus(429);
+        response.setHeader("Retry-After", Long.toString(retryAfter));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"Too many requests. Please try again later.\"}");
+    }
+
+    private static long toSeconds(long millis) {
+        return (Math.max(0, millis) + 999) / 1000;
+    }
+}
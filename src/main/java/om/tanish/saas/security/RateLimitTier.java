@@ -0,0 +1,33 @@
+package om.tanish.saas.security;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One limiter per distinct capacity within a tier, so keys with different quotas (tenants on
+ * different plans) share a refill period but not a bucket size.
+ */
+class RateLimitTier {
+
+    private final Duration refillPeriod;
+    private final Duration idleTimeout;
+    private final ConcurrentHashMap<Long, TokenBucketRateLimiter> limiters = new ConcurrentHashMap<>();
+
+    RateLimitTier(Duration refillPeriod, Duration idleTimeout) {
+        this.refillPeriod = refillPeriod;
+        this.idleTimeout = idleTimeout.compareTo(refillPeriod) < 0 ? refillPeriod : idleTimeout;
+    }
+
+    TokenBucketRateLimiter forCapacity(long capacity) {
+        return limiters.computeIfAbsent(capacity,
+                c -> new TokenBucketRateLimiter(c, refillPeriod, idleTimeout));
+    }
+
+    int sweep() {
+        int evicted = 0;
+        for (TokenBucketRateLimiter limiter : limiters.values()) {
+            evicted += limiter.sweep();
+        }
+        return evicted;
+    }
+}
@@ -0,0 +1,222 @@
+package om.tanish.saas.security;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import om.tanish.saas.config.RateLimitProperties;
+import om.tanish.saas.tenant.TenantContext;
+import om.tanish.saas.tenant.TenantRegistry;
+import om.tanish.saas.tenant.TenantSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Route, user and tenant limits plus a per-tenant cap on in-flight requests, applied after
+ * {@link JwtTenantFilter} has established the caller. Tenants may override the tenant and user
+ * capacities and the concurrency cap; overrides are read from the {@link TenantRegistry}.
+ */
+@Component
+public class TenantQuotaFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(TenantQuotaFilter.class);
+
+    private final RateLimitProperties properties;
+    private final TenantRegistry tenantRegistry;
+
+    private final RateLimitTier tenantTier;
+    private final RateLimitTier userTier;
+    private final List<Route> routes = new ArrayList<>();
+
+    private final ConcurrentHashMap<UUID, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public TenantQuotaFilter(RateLimitProperties properties, TenantRegistry tenantRegistry) {
+        this.properties = properties;
+        this.tenantRegistry = tenantRegistry;
+        this.tenantTier = new RateLimitTier(properties.getTenant().getRefillPeriod(), properties.getIdleTimeout());
+        this.userTier = new RateLimitTier(properties.getUser().getRefillPeriod(), properties.getIdleTimeout());
+
+        for (RateLimitProperties.RouteLimit route : properties.getRoutes()) {
+            TokenBucketRateLimiter limiter = new RateLimitTier(route.getRefillPeriod(), properties.getIdleTimeout())
+                    .forCapacity(route.getCapacity());
+            routes.add(new Route(route.getMethod() == null ? null : route.getMethod().name(),
+                    PathPatternParser.defaultInstance.parse(route.getPattern()), limiter));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UUID userId)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        UUID tenantId = TenantContext.getTenant();
+        Quota quota = tenantId != null ? loadQuota(tenantId) : defaultQuota();
+        String userKey = userId.toString();
+
+        // Narrowest tier first, so a refused route request does not spend the user's or tenant's tokens
+        Tightest tightest = new Tightest();
+        if (!routes.isEmpty()) {
+            PathContainer path = PathContainer.parsePath(request.getRequestURI());
+            for (int i = 0; i < routes.size(); i++) {
+                Route route = routes.get(i);
+                if (route.matches(request.getMethod(), path)
+                        && !check(response, route.limiter(), i + ":" + userKey, tightest)) {
+                    return;
+                }
+            }
+        }
+        if (!check(response, userTier.forCapacity(quota.userCapacity()), userKey, tightest)) {
+            return;
+        }
+        if (tenantId != null
+                && !check(response, tenantTier.forCapacity(quota.tenantCapacity()), tenantId.toString(), tightest)) {
+            return;
+        }
+        RateLimitResponses.writeHeaders(response, tightest.limit, tightest.remaining, tightest.resetMillis);
+
+        if (tenantId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AtomicInteger running = inFlight.computeIfAbsent(tenantId, id -> new AtomicInteger());
+        if (running.incrementAndGet() > quota.maxConcurrentRequests()) {
+            running.decrementAndGet();
+            logger.warn("Concurrent request limit exceeded for tenant: {}", tenantId);
+            RateLimitResponses.tooManyRequests(response, tightest.limit, 1000);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Async and streaming responses keep working (and hold their connection) after the
+            // chain returns, so their slot is released when the async request completes
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseSlot(running));
+            } else {
+                running.decrementAndGet();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "PT30S")
+    public void evictIdleClients() {
+        int evicted = tenantTier.sweep() + userTier.sweep();
+        for (Route route : routes) {
+            evicted += route.limiter().sweep();
+        }
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle quota buckets", evicted);
+        }
+    }
+
+    private boolean check(HttpServletResponse response, TokenBucketRateLimiter limiter, String key,
+                          Tightest tightest) throws IOException {
+        long remaining = limiter.tryAcquire(key);
+        if (remaining < 0) {
+            logger.warn("Quota exceeded for key: {}", key);
+            RateLimitResponses.tooManyRequests(response, limiter.getCapacity(), -remaining);
+            return false;
+        }
+        if (remaining < tightest.remaining) {
+            tightest.limit = limiter.getCapacity();
+            tightest.remaining = remaining;
+            tightest.resetMillis = limiter.millisUntilFull(key);
+        }
+        return true;
+    }
+
+    private Quota loadQuota(UUID tenantId) {
+        return tenantRegistry.get(tenantId)
+                .map(this::toQuota)
+                .orElseGet(this::defaultQuota);
+    }
+
+    private Quota toQuota(TenantSnapshot tenant) {
+        Quota defaults = defaultQuota();
+        return new Quota(
+                tenant.rateLimitCapacity() != null ? tenant.rateLimitCapacity() : defaults.tenantCapacity(),
+                tenant.userRateLimitCapacity() != null ? tenant.userRateLimitCapacity() : defaults.userCapacity(),
+                tenant.maxConcurrentRequests() != null ? tenant.maxConcurrentRequests() : defaults.maxConcurrentRequests());
+    }
+
+    private Quota defaultQuota() {
+        return new Quota(properties.getTenant().getCapacity(), properties.getUser().getCapacity(),
+                properties.getTenantMaxConcurrentRequests());
+    }
+
+    private record Quota(long tenantCapacity, long userCapacity, int maxConcurrentRequests) {
+    }
+
+    private record Route(String method, PathPattern pattern, TokenBucketRateLimiter limiter) {
+
+        boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.equals(requestMethod)) && pattern.matches(path);
+        }
+    }
+
+    /** Gives back an in-flight slot once, however the async request ends. */
+    private static final class ReleaseSlot implements AsyncListener {
+        private final AtomicInteger running;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseSlot(AtomicInteger running) {
+            this.running = running;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when async processing restarts
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                running.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class Tightest {
+        long limit;
+        long remaining = Long.MAX_VALUE;
+        long resetMillis;
+    }
+}
@@ -0,0 +1,216 @@
+package om.tanish.saas.security;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token buckets. Each bucket is a single AtomicLong updated by CAS, packing the last
+ * refill time (upper 40 bits, milliseconds since the limiter was created) and the token balance
+ * (lower 24 bits, fixed point with 8 fractional bits, so capacity is capped at 65535).
+ *
+ * <p>Idle buckets are dropped by {@link #sweep()}. Every access files the key under the
+ * current time slot of a small timing wheel; sweeping a slot that is older than the idle
+ * timeout removes the keys that were not touched since and have refilled to capacity, which
+ * makes them indistinguishable from a fresh bucket.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final int TOKEN_BITS = 24;
+    private static final int FRACTION_BITS = 8;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE_TOKEN = 1L << FRACTION_BITS;
+    private static final long MAX_CAPACITY = TOKEN_MASK >>> FRACTION_BITS;
+    private static final int IDLE_SLOTS = 8;
+
+    private final long capacity;
+    private final long capacityUnits;
+    private final long refillPeriodMillis;
+
+    private final LongSupplier clock;
+    private final long epochMillis;
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private final long slotMillis;
+    private final Queue<String>[] wheel;
+    private long lastSweptSlot;
+
+    public TokenBucketRateLimiter(long capacity, Duration refillPeriod, Duration idleTimeout) {
+        this(capacity, refillPeriod, idleTimeout, System::currentTimeMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    public TokenBucketRateLimiter(long capacity, Duration refillPeriod, Duration idleTimeout, LongSupplier clock) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        if (refillPeriod.toMillis() < 1) {
+            throw new IllegalArgumentException("refillPeriod must be at least 1ms");
+        }
+        if (idleTimeout.compareTo(refillPeriod) < 0) {
+            throw new IllegalArgumentException("idleTimeout must not be shorter than refillPeriod");
+        }
+        this.capacity = capacity;
+        this.capacityUnits = capacity << FRACTION_BITS;
+        this.refillPeriodMillis = refillPeriod.toMillis();
+        this.clock = clock;
+        this.epochMillis = clock.getAsLong();
+
+        this.slotMillis = Math.max(1, idleTimeout.toMillis() / IDLE_SLOTS);
+        this.wheel = new Queue[IDLE_SLOTS + 1];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.lastSweptSlot = -1;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     *
+     * @return the whole tokens left (zero or more) when allowed, or minus the number of
+     *         milliseconds until a token becomes available when refused
+     */
+    public long tryAcquire(String key) {
+        long now = now();
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(pack(now, capacityUnits)));
+        touch(key, bucket, now);
+
+        while (true) {
+            long state = bucket.get();
+            long last = state >>> TOKEN_BITS;
+            long units = state & TOKEN_MASK;
+
+            long refill = refillUnits(now - last);
+            long newUnits = units + refill;
+            long newLast;
+            if (newUnits >= capacityUnits) {
+                newUnits = capacityUnits;
+                newLast = now;
+            } else {
+                // Only advance the clock by the time actually converted into tokens, so that
+                // frequent callers do not lose the fractional remainder
+                newLast = last + refill * refillPeriodMillis / capacityUnits;
+            }
+
+            if (newUnits < ONE_TOKEN) {
+                long missing = ONE_TOKEN - newUnits;
+                return -Math.max(1, ceilDiv(missing * refillPeriodMillis, capacityUnits));
+            }
+
+            newUnits -= ONE_TOKEN;
+            if (bucket.compareAndSet(state, pack(newLast, newUnits))) {
+                return newUnits >>> FRACTION_BITS;
+            }
+        }
+    }
+
+    /**
+     * Milliseconds until the key's bucket is full again; zero for unknown keys.
+     */
+    public long millisUntilFull(String key) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            return 0;
+        }
+        long state = bucket.get();
+        long units = Math.min(capacityUnits, (state & TOKEN_MASK) + refillUnits(now() - (state >>> TOKEN_BITS)));
+        return ceilDiv((capacityUnits - units) * refillPeriodMillis, capacityUnits);
+    }
+
+    /**
+     * Drops buckets that have been idle for the idle timeout. Safe to call concurrently with
+     * {@link #tryAcquire}; a request racing with the removal of its bucket may be granted one
+     * extra token, which is the same as if the bucket had been full.
+     */
+    public synchronized int sweep() {
+        long now = now();
+        long sweepUpTo = now / slotMillis - IDLE_SLOTS;
+        int evicted = 0;
+
+        for (long slot = Math.max(lastSweptSlot + 1, sweepUpTo - IDLE_SLOTS); slot <= sweepUpTo; slot++) {
+            Queue<String> queue = wheel[(int) (slot % wheel.length)];
+            List<String> keys = new ArrayList<>();
+            for (String key; (key = queue.poll()) != null; ) {
+                keys.add(key);
+            }
+            for (String key : keys) {
+                Bucket bucket = buckets.get(key);
+                if (bucket == null) {
+                    continue;
+                }
+                long touched = bucket.slot;
+                if (touched > slot) {
+                    // Accessed since; the newer slot holds it, unless that slot shares this queue
+                    if (touched % wheel.length == slot % wheel.length) {
+                        queue.add(key);
+                    }
+                    continue;
+                }
+                if (isFull(bucket.get(), now)) {
+                    if (buckets.remove(key, bucket)) {
+                        evicted++;
+                    }
+                } else {
+                    touch(key, bucket, now);
+                }
+            }
+        }
+        lastSweptSlot = Math.max(lastSweptSlot, sweepUpTo);
+        return evicted;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void touch(String key, Bucket bucket, long now) {
+        long slot = now / slotMillis;
+        if (bucket.slot != slot) {
+            bucket.slot = slot;
+            wheel[(int) (slot % wheel.length)].add(key);
+        }
+    }
+
+    private boolean isFull(long state, long now) {
+        return (state & TOKEN_MASK) + refillUnits(now - (state >>> TOKEN_BITS)) >= capacityUnits;
+    }
+
+    // Elapsed time is capped at one refill period, past which the bucket is full anyway; this
+    // also keeps the multiplication far from overflow
+    private long refillUnits(long elapsedMillis) {
+        long elapsed = Math.min(Math.max(0, elapsedMillis), refillPeriodMillis);
+        return elapsed * capacityUnits / refillPeriodMillis;
+    }
+
+    private long now() {
+        return clock.getAsLong() - epochMillis;
+    }
+
+    private static long pack(long timeMillis, long units) {
+        return (timeMillis << TOKEN_BITS) | units;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    private static final class Bucket extends AtomicLong {
+
+        // Last timing-wheel slot the key was filed under; only a hint for the sweeper
+        volatile long slot = -1;
+
+        Bucket(long state) {
+            super(state);
+        }
+    }
+}
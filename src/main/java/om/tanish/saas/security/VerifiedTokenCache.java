@@ -0,0 +1,106 @@
+package om.tanish.saas.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Remembers tokens whose signature has already been verified, keyed by the SHA-256 of the
+ * token so raw tokens are never held in memory. Entries expire at the token's own exp claim,
+ * so a cached token is never accepted for longer than the token itself is valid.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtService jwtService;
+    private final boolean enabled;
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(JwtService jwtService,
+                              MeterRegistry meterRegistry,
+                              @Value("${jwt.verified-token-cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.verified-token-cache.max-size:10000}") long maxSize) {
+        this.jwtService = jwtService;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    /**
+     * Returns the verified principal for a token, verifying and caching it on a miss.
+     * Verification failures propagate as the usual JwtException subtypes and are not cached.
+     */
+    public VerifiedToken resolve(String token) {
+        if (!enabled) {
+            return VerifiedToken.from(jwtService.extractClaims(token));
+        }
+        return cache.get(hash(token), key -> VerifiedToken.from(jwtService.extractClaims(token)));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record VerifiedToken(UUID userId, UUID tenantId, List<GrantedAuthority> authorities, Instant expiresAt) {
+
+        static VerifiedToken from(Claims claims) {
+            UUID userId = UUID.fromString(claims.getSubject());
+            UUID tenantId = claims.containsKey("tenantId")
+                    ? UUID.fromString(claims.get("tenantId").toString())
+                    : null;
+            String role = claims.get("role").toString();
+            Date expiration = claims.getExpiration();
+            return new VerifiedToken(
+                    userId,
+                    tenantId,
+                    List.of(new SimpleGrantedAuthority("ROLE_" + role)),
+                    expiration != null ? expiration.toInstant() : Instant.now()
+            );
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
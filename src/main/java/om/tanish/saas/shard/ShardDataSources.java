@@ -0,0 +1,61 @@
+package om.tanish.saas.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One connection pool per shard, the catalog first. The pools are not DataSource beans of their
+ * own; the application sees them through the {@link TenantRoutingDataSource}.
+ */
+public class ShardDataSources implements AutoCloseable {
+
+    private final String catalogShard;
+    private final Map<String, HikariDataSource> pools;
+
+    public ShardDataSources(String catalogShard, Map<String, HikariDataSource> pools) {
+        if (!pools.containsKey(catalogShard)) {
+            throw new IllegalArgumentException("No pool for catalog shard " + catalogShard);
+        }
+        this.catalogShard = catalogShard;
+        this.pools = Collections.unmodifiableMap(new LinkedHashMap<>(pools));
+    }
+
+    public String catalogShard() {
+        return catalogShard;
+    }
+
+    public HikariDataSource catalog() {
+        return pools.get(catalogShard);
+    }
+
+    public Set<String> ids() {
+        return pools.keySet();
+    }
+
+    public boolean contains(String shardId) {
+        return pools.containsKey(shardId);
+    }
+
+    public HikariDataSource get(String shardId) {
+        HikariDataSource pool = pools.get(shardId);
+        if (pool == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown shard: " + shardId);
+        }
+        return pool;
+    }
+
+    Map<String, HikariDataSource> pools() {
+        return pools;
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,213 @@
+package om.tanish.saas.shard;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import om.tanish.saas.config.ShardingProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maps tenants to shards. The map lives in the catalog's {@code tenant_shards} table and is
+ * cached for {@code saas.sharding.directory-ttl}, which bounds how long another node keeps
+ * routing a tenant to its old shard after a move. With sharding disabled every tenant is on
+ * the catalog shard and no lookups are made.
+ */
+@Component
+public class ShardDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardDirectory.class);
+
+    private final ShardingProperties properties;
+    private final ShardDataSources dataSources;
+    private final JdbcTemplate catalog;
+    private final LoadingCache<UUID, Placement> placements;
+
+    public ShardDirectory(ShardingProperties properties, ObjectProvider<ShardDataSources> dataSources) {
+        this.properties = properties;
+        this.dataSources = properties.isEnabled() ? dataSources.getObject() : null;
+        // Talks to the catalog pool directly: going through the routing DataSource would route
+        // back into this directory
+        this.catalog = this.dataSources != null ? new JdbcTemplate(this.dataSources.catalog()) : null;
+        this.placements = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(properties.getDirectoryTtl())
+                .build(this::load);
+    }
+
+    public boolean isEnabled() {
+        return dataSources != null;
+    }
+
+    public String catalogShard() {
+        return properties.getCatalogShard();
+    }
+
+    public String shardFor(UUID tenantId) {
+        return isEnabled() ? placements.get(tenantId).shardId() : catalogShard();
+    }
+
+    public boolean isMoving(UUID tenantId) {
+        return isEnabled() && placements.get(tenantId).moving();
+    }
+
+    /**
+     * Places a new tenant on the shard with the fewest tenants and, once the tenant's row is
+     * committed to the catalog, copies it to that shard so tenant-owned rows can reference it.
+     */
+    public String assign(UUID tenantId) {
+        if (!isEnabled()) {
+            return catalogShard();
+        }
+        String shardId = leastLoadedShard();
+        catalog.update("INSERT INTO tenant_shards (tenant_id, shard_id, moving) VALUES (?, ?, FALSE)",
+                tenantId, shardId);
+        placements.invalidate(tenantId);
+
+        if (!shardId.equals(catalogShard())) {
+            afterCommit(() -> copyTenantRow(tenantId, shardId));
+        }
+        logger.info("Tenant {} placed on shard {}", tenantId, shardId);
+        return shardId;
+    }
+
+    /**
+     * Removes a deleted tenant's placement and its row on the shard, once the catalog delete
+     * has committed. Refuses while the shard still holds users of the tenant, as the foreign
+     * key would in the single-database setup.
+     */
+    public void release(UUID tenantId) {
+        if (!isEnabled()) {
+            return;
+        }
+        String shardId = shardFor(tenantId);
+        if (!shardId.equals(catalogShard())) {
+            Integer users = new JdbcTemplate(dataSources.get(shardId))
+                    .queryForObject("SELECT COUNT(*) FROM users WHERE tenant_id = ?", Integer.class, tenantId);
+            if (users != null && users > 0) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Tenant still has users on shard " + shardId);
+            }
+        }
+        afterCommit(() -> {
+            if (!shardId.equals(catalogShard())) {
+                new JdbcTemplate(dataSources.get(shardId)).update("DELETE FROM tenants WHERE id = ?", tenantId);
+            }
+            catalog.update("DELETE FROM tenant_shards WHERE tenant_id = ?", tenantId);
+            placements.invalidate(tenantId);
+        });
+    }
+
+    public void evict(UUID tenantId) {
+        placements.invalidate(tenantId);
+    }
+
+    /**
+     * Flags the tenant as moving; false if another move already holds the flag. Tenants that
+     * predate sharding get their catalog placement written out here.
+     */
+    boolean beginMove(UUID tenantId) {
+        placements.invalidate(tenantId);
+        int updated = catalog.update(
+                "UPDATE tenant_shards SET moving = TRUE WHERE tenant_id = ? AND moving = FALSE", tenantId);
+        if (updated == 0) {
+            try {
+                catalog.update("INSERT INTO tenant_shards (tenant_id, shard_id, moving) VALUES (?, ?, TRUE)",
+                        tenantId, catalogShard());
+            } catch (DuplicateKeyException e) {
+                return false;
+            }
+        }
+        placements.invalidate(tenantId);
+        return true;
+    }
+
+    void endMove(UUID tenantId) {
+        catalog.update("UPDATE tenant_shards SET moving = FALSE WHERE tenant_id = ?", tenantId);
+        placements.invalidate(tenantId);
+    }
+
+    void switchTo(UUID tenantId, String shardId) {
+        catalog.update("UPDATE tenant_shards SET shard_id = ?, moving = FALSE WHERE tenant_id = ?",
+                shardId, tenantId);
+        placements.invalidate(tenantId);
+    }
+
+    ShardDataSources dataSources() {
+        return dataSources;
+    }
+
+    ShardingProperties properties() {
+        return properties;
+    }
+
+    private Placement load(UUID tenantId) {
+        List<Placement> rows = catalog.query(
+                "SELECT shard_id, moving FROM tenant_shards WHERE tenant_id = ?",
+                (rs, rowNum) -> new Placement(rs.getString(1), rs.getBoolean(2)),
+                tenantId);
+        // Tenants that predate sharding have no row and stay on the catalog
+        return rows.isEmpty() ? new Placement(catalogShard(), false) : rows.get(0);
+    }
+
+    private String leastLoadedShard() {
+        Map<String, Integer> tenants = new HashMap<>();
+        catalog.query("SELECT shard_id, COUNT(*) FROM tenant_shards GROUP BY shard_id",
+                (RowCallbackHandler) rs -> tenants.put(rs.getString(1), rs.getInt(2)));
+        Integer unassigned = catalog.queryForObject(
+                "SELECT COUNT(*) FROM tenants t WHERE NOT EXISTS " +
+                        "(SELECT 1 FROM tenant_shards s WHERE s.tenant_id = t.id)", Integer.class);
+        tenants.merge(catalogShard(), unassigned != null ? unassigned : 0, Integer::sum);
+
+        List<String> candidates = properties.getPlacement().isEmpty()
+                ? List.copyOf(dataSources.ids())
+                : properties.getPlacement();
+        // min() keeps the first of equally loaded shards, so ties go to the configured order
+        return candidates.stream()
+                .min(Comparator.comparingInt(id -> tenants.getOrDefault(id, 0)))
+                .orElseThrow();
+    }
+
+    private void copyTenantRow(UUID tenantId, String shardId) {
+        try (Connection source = dataSources.catalog().getConnection();
+             Connection target = dataSources.get(shardId).getConnection()) {
+            if (ShardRows.count(target, "tenants", "id", tenantId) == 0) {
+                ShardRows.copy(source, target, "tenants", "id", tenantId);
+            }
+        } catch (SQLException e) {
+            logger.error("Could not copy tenant {} to shard {}", tenantId, shardId, e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    record Placement(String shardId, boolean moving) {
+    }
+}
@@ -0,0 +1,67 @@
+package om.tanish.saas.shard;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class ShardMoveReport {
+
+    private UUID tenantId;
+    private String sourceShard;
+    private String targetShard;
+    private Map<String, Integer> rowsMoved = new LinkedHashMap<>();
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    public ShardMoveReport() {
+    }
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(UUID tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getSourceShard() {
+        return sourceShard;
+    }
+
+    public void setSourceShard(String sourceShard) {
+        this.sourceShard = sourceShard;
+    }
+
+    public String getTargetShard() {
+        return targetShard;
+    }
+
+    public void setTargetShard(String targetShard) {
+        this.targetShard = targetShard;
+    }
+
+    public Map<String, Integer> getRowsMoved() {
+        return rowsMoved;
+    }
+
+    public void setRowsMoved(Map<String, Integer> rowsMoved) {
+        this.rowsMoved = rowsMoved;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
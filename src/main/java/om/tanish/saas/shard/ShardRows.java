@@ -0,0 +1,77 @@
+package om.tanish.saas.shard;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Copies and deletes one tenant's rows between shards with plain JDBC. Table and column names
+ * come from the fixed lists in {@link TenantShardMover} and {@link ShardDirectory}, never from
+ * request input.
+ */
+final class ShardRows {
+
+    private static final int BATCH_SIZE = 500;
+
+    private ShardRows() {
+    }
+
+    static int copy(Connection source, Connection target, String table, String column, UUID tenantId)
+            throws SQLException {
+        try (PreparedStatement select = source.prepareStatement(
+                "SELECT * FROM " + table + " WHERE " + column + " = ?")) {
+            select.setObject(1, tenantId);
+            try (ResultSet rows = select.executeQuery()) {
+                ResultSetMetaData meta = rows.getMetaData();
+                int columns = meta.getColumnCount();
+                StringJoiner names = new StringJoiner(", ", "(", ")");
+                StringJoiner params = new StringJoiner(", ", "(", ")");
+                for (int i = 1; i <= columns; i++) {
+                    names.add(meta.getColumnName(i));
+                    params.add("?");
+                }
+
+                int copied = 0;
+                try (PreparedStatement insert = target.prepareStatement(
+                        "INSERT INTO " + table + " " + names + " VALUES " + params)) {
+                    while (rows.next()) {
+                        for (int i = 1; i <= columns; i++) {
+                            insert.setObject(i, rows.getObject(i));
+                        }
+                        insert.addBatch();
+                        if (++copied % BATCH_SIZE == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                    if (copied % BATCH_SIZE != 0) {
+                        insert.executeBatch();
+                    }
+                }
+                return copied;
+            }
+        }
+    }
+
+    static int count(Connection connection, String table, String column, UUID tenantId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?")) {
+            statement.setObject(1, tenantId);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return result.getInt(1);
+            }
+        }
+    }
+
+    static int delete(Connection connection, String table, String column, UUID tenantId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "DELETE FROM " + table + " WHERE " + column + " = ?")) {
+            statement.setObject(1, tenantId);
+            return statement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package om.tanish.saas.shard;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies the schema to every shard besides the catalog, which Boot's Flyway and Hibernate's
+ * own {@code ddl-auto} already cover: the Flyway migrations first, if enabled, then the entity
+ * schema when {@code ddl-auto} manages it. Registered with Hibernate as an {@link Integrator}
+ * to get hold of the mapping metadata; runs once all singletons, the EntityManagerFactory
+ * included, exist. Shards are only ever migrated or updated, never dropped.
+ */
+public class ShardSchemaInitializer implements Integrator, SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    private static final Set<String> MANAGED_DDL = Set.of("create", "create-drop", "update");
+
+    private static final Map<String, Object> UPDATE = Map.of(
+            AvailableSettings.HBM2DDL_AUTO, "update",
+            AvailableSettings.HBM2DDL_HALT_ON_ERROR, true);
+
+    private final ShardDataSources dataSources;
+    private final boolean enabled;
+    private final String[] migrationLocations;
+
+    private Metadata metadata;
+    private ServiceRegistry serviceRegistry;
+
+    /** @param migrationLocations Flyway locations, or null when Flyway is disabled */
+    public ShardSchemaInitializer(ShardDataSources dataSources, String ddlAuto, String[] migrationLocations) {
+        this.dataSources = dataSources;
+        this.enabled = ddlAuto != null && MANAGED_DDL.contains(ddlAuto.toLowerCase());
+        this.migrationLocations = migrationLocations;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                          SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.serviceRegistry = sessionFactory.getServiceRegistry();
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory,
+                             SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String shardId : dataSources.ids()) {
+            if (shardId.equals(dataSources.catalogShard())) {
+                continue;
+            }
+            if (migrationLocations != null) {
+                Flyway.configure()
+                        .dataSource(dataSources.get(shardId))
+                        .locations(migrationLocations)
+                        .load()
+                        .migrate();
+                logger.info("Migrations applied to shard {}", shardId);
+            }
+            if (enabled && metadata != null) {
+                TenantRoutingDataSource.onShard(shardId, () -> {
+                    SchemaManagementToolCoordinator.process(metadata, serviceRegistry, UPDATE, action -> {
+                    });
+                    return null;
+                });
+                logger.info("Schema applied to shard {}", shardId);
+            }
+        }
+    }
+}
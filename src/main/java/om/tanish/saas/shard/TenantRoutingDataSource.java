@@ -0,0 +1,59 @@
+package om.tanish.saas.shard;
+
+import om.tanish.saas.tenant.TenantContext;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Hands out connections from the current tenant's shard, or from the catalog when no tenant is
+ * set. The shard is chosen when a connection is acquired, i.e. when a transaction begins, so
+ * TenantContext has to be set before then.
+ */
+public class TenantRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<String> PINNED_SHARD = new ThreadLocal<>();
+
+    private final ShardDirectory directory;
+
+    public TenantRoutingDataSource(ShardDataSources dataSources, ShardDirectory directory) {
+        this.directory = directory;
+        Map<Object, Object> targets = new HashMap<>(dataSources.pools());
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(dataSources.catalog());
+        // An unknown shard id is a broken shard map, not a reason to write to the catalog
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs the action with every connection taken from the given shard, whatever the current
+     * tenant. For work that targets a shard rather than a tenant, such as schema management.
+     */
+    static <T> T onShard(String shardId, Supplier<T> action) {
+        String previous = PINNED_SHARD.get();
+        PINNED_SHARD.set(shardId);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                PINNED_SHARD.set(previous);
+            } else {
+                PINNED_SHARD.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String pinned = PINNED_SHARD.get();
+        if (pinned != null) {
+            return pinned;
+        }
+        UUID tenantId = TenantContext.getTenant();
+        return tenantId != null ? directory.shardFor(tenantId) : directory.catalogShard();
+    }
+}
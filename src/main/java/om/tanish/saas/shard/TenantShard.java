@@ -0,0 +1,53 @@
+package om.tanish.saas.shard;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.util.UUID;
+
+/**
+ * Shard map row, kept in the catalog database. Mapped so the table is part of the schema;
+ * {@link ShardDirectory} reads and writes it over JDBC because it is consulted while a
+ * connection is being routed. Tenants without a row live on the catalog shard.
+ */
+@Entity
+@Table(name = "tenant_shards")
+public class TenantShard {
+
+    @Id
+    @Column(name = "tenant_id")
+    private UUID tenantId;
+
+    @Column(name = "shard_id", nullable = false, length = 64)
+    private String shardId;
+
+    // Set while the tenant is being copied to another shard; requests for it are refused
+    @Column(nullable = false)
+    private boolean moving;
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(UUID tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getShardId() {
+        return shardId;
+    }
+
+    public void setShardId(String shardId) {
+        this.shardId = shardId;
+    }
+
+    public boolean isMoving() {
+        return moving;
+    }
+
+    public void setMoving(boolean moving) {
+        this.moving = moving;
+    }
+}
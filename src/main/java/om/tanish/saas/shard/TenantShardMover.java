@@ -0,0 +1,147 @@
+package om.tanish.saas.shard;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves a tenant's rows to another shard:
+ * <ol>
+ *     <li>flag the tenant as moving, which makes every node refuse its requests once their
+ *     directory entry expires, then wait out the directory TTL plus the drain period;</li>
+ *     <li>copy the rows in one transaction on the target and compare row counts;</li>
+ *     <li>switch the shard map, which also clears the flag;</li>
+ *     <li>delete the rows from the source.</li>
+ * </ol>
+ * A failure before the switch rolls back the target and leaves the tenant where it was.
+ */
+@Service
+public class TenantShardMover {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantShardMover.class);
+
+    // Referenced tables first; deletes run in reverse. Refresh tokens stay in the catalog.
+    private static final List<String> TENANT_TABLES = List.of("users", "projects", "tasks", "task_counters");
+
+    private final ShardDirectory directory;
+
+    public TenantShardMover(ShardDirectory directory) {
+        this.directory = directory;
+    }
+
+    public ShardMoveReport move(UUID tenantId, String targetShard) {
+        if (!directory.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sharding is not enabled");
+        }
+        ShardDataSources dataSources = directory.dataSources();
+        dataSources.get(targetShard);
+
+        String sourceShard = directory.shardFor(tenantId);
+        if (sourceShard.equals(targetShard)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tenant is already on shard " + targetShard);
+        }
+        if (!directory.beginMove(tenantId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Tenant is already being moved");
+        }
+
+        ShardMoveReport report = new ShardMoveReport();
+        report.setTenantId(tenantId);
+        report.setSourceShard(sourceShard);
+        report.setTargetShard(targetShard);
+        report.setStartedAt(Instant.now());
+        logger.info("Moving tenant {} from shard {} to {}", tenantId, sourceShard, targetShard);
+
+        boolean switched = false;
+        try {
+            drain();
+            copy(tenantId, sourceShard, targetShard, report);
+            directory.switchTo(tenantId, targetShard);
+            switched = true;
+        } finally {
+            if (!switched) {
+                directory.endMove(tenantId);
+            }
+        }
+
+        try {
+            deleteSource(tenantId, sourceShard);
+        } catch (SQLException e) {
+            // The tenant already lives on the target; the leftovers only take up space
+            logger.error("Tenant {} moved to {} but its rows could not be removed from {}",
+                    tenantId, targetShard, sourceShard, e);
+        }
+        report.setFinishedAt(Instant.now());
+        logger.info("Moved tenant {} to shard {}: {}", tenantId, targetShard, report.getRowsMoved());
+        return report;
+    }
+
+    private void drain() {
+        Duration wait = directory.properties().getDirectoryTtl().plus(directory.properties().getMoveDrain());
+        try {
+            Thread.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while draining requests", e);
+        }
+    }
+
+    private void copy(UUID tenantId, String sourceShard, String targetShard, ShardMoveReport report) {
+        ShardDataSources dataSources = directory.dataSources();
+        try (Connection source = dataSources.get(sourceShard).getConnection();
+             Connection target = dataSources.get(targetShard).getConnection()) {
+            target.setAutoCommit(false);
+            try {
+                if (ShardRows.count(target, "tenants", "id", tenantId) == 0) {
+                    ShardRows.copy(source, target, "tenants", "id", tenantId);
+                }
+                for (String table : TENANT_TABLES) {
+                    int copied = ShardRows.copy(source, target, table, "tenant_id", tenantId);
+                    int expected = ShardRows.count(source, table, "tenant_id", tenantId);
+                    if (copied != expected || ShardRows.count(target, table, "tenant_id", tenantId) != expected) {
+                        throw new IllegalStateException("Row count mismatch for " + table + " while moving tenant " + tenantId);
+                    }
+                    report.getRowsMoved().put(table, copied);
+                }
+                target.commit();
+            } catch (SQLException | RuntimeException e) {
+                target.rollback();
+                throw e;
+            } finally {
+                target.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Moving tenant " + tenantId + " to shard " + targetShard + " failed", e);
+        }
+    }
+
+    private void deleteSource(UUID tenantId, String sourceShard) throws SQLException {
+        ShardDataSources dataSources = directory.dataSources();
+        try (Connection source = dataSources.get(sourceShard).getConnection()) {
+            source.setAutoCommit(false);
+            try {
+                for (int i = TENANT_TABLES.size() - 1; i >= 0; i--) {
+                    ShardRows.delete(source, TENANT_TABLES.get(i), "tenant_id", tenantId);
+                }
+                // The catalog keeps its tenant row for good; other shards only held a copy
+                if (!sourceShard.equals(dataSources.catalogShard())) {
+                    ShardRows.delete(source, "tenants", "id", tenantId);
+                }
+                source.commit();
+            } catch (SQLException | RuntimeException e) {
+                source.rollback();
+                throw e;
+            } finally {
+                source.setAutoCommit(true);
+            }
+        }
+    }
+}
@@ -12,6 +12,9 @@ public class CreateTenantRequest {
     @Size(min = 3, max = 100)
     private String name;
 
+    // Only honoured when saas.tenancy.mode=schema
+    private boolean dedicatedSchema;
+
 
     public @NotBlank(message = "Tenant key is required") @Size(min = 3, max = 50) String getTenantKey() {
         return tenantKey;
@@ -28,4 +31,12 @@ public class CreateTenantRequest {
     public void setName(@NotBlank(message = "Name is required") @Size(min = 3, max = 100) String name) {
         this.name = name;
     }
-}   
\ No newline at end of file
+
+    public boolean isDedicatedSchema() {
+        return dedicatedSchema;
+    }
+
+    public void setDedicatedSchema(boolean dedicatedSchema) {
+        this.dedicatedSchema = dedicatedSchema;
+    }
+}
@@ -0,0 +1,17 @@
+package om.tanish.saas.tenant;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class MoveTenantShardRequest {
+
+    @NotBlank(message = "Shard id is required")
+    private String shardId;
+
+    public String getShardId() {
+        return shardId;
+    }
+
+    public void setShardId(String shardId) {
+        this.shardId = shardId;
+    }
+}
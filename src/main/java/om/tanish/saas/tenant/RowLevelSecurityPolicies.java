@@ -0,0 +1,44 @@
+package om.tanish.saas.tenant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Installs the PostgreSQL row-level security policies from {@code db/rls-policies.sql} once
+ * the tables exist. The script is idempotent, so it runs on every start.
+ */
+public class RowLevelSecurityPolicies implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(RowLevelSecurityPolicies.class);
+
+    private static final String SCRIPT = "db/rls-policies.sql";
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+
+    public RowLevelSecurityPolicies(DataSource dataSource, boolean enabled) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // Only PostgreSQL has the policies; other databases rely on the Hibernate filter
+        if (!enabled) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource(SCRIPT));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot install row-level security policies", e);
+        }
+        logger.info("Installed row-level security policies from {}", SCRIPT);
+    }
+}
@@ -0,0 +1,154 @@
+package om.tanish.saas.tenant;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.pool.ProxyConnection;
+import om.tanish.saas.common.BoundedDataSource;
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Hands Hibernate pooled connections whose name resolution starts at the tenant's schema and
+ * falls back to the shared one, so tenant tables (projects, tasks, task_counters) resolve to
+ * the tenant's copies while tenants, users and refresh_tokens stay shared. The search path is
+ * reset before a connection goes back to the pool.
+ */
+public class SchemaMultiTenantConnectionProvider implements MultiTenantConnectionProvider<String> {
+
+    private final DataSource dataSource;
+    private final String sharedSchema;
+    private volatile SearchPath searchPath;
+
+    public SchemaMultiTenantConnectionProvider(DataSource dataSource, String sharedSchema) {
+        this.dataSource = dataSource;
+        this.sharedSchema = TenantSchemaProvisioner.requireValid(sharedSchema);
+    }
+
+    @Override
+    public Connection getAnyConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    @Override
+    public void releaseAnyConnection(Connection connection) throws SQLException {
+        connection.close();
+    }
+
+    @Override
+    public Connection getConnection(String schema) throws SQLException {
+        Connection connection = getAnyConnection();
+        if (!sharedSchema.equals(schema)) {
+            try {
+                searchPath(connection).enter(connection, TenantSchemaProvisioner.requireValid(schema), sharedSchema);
+            } catch (SQLException | RuntimeException e) {
+                discard(connection);
+                throw e;
+            }
+        }
+        return connection;
+    }
+
+    @Override
+    public void releaseConnection(String schema, Connection connection) throws SQLException {
+        if (sharedSchema.equals(schema)) {
+            connection.close();
+            return;
+        }
+        try {
+            searchPath(connection).reset(connection, sharedSchema);
+        } catch (SQLException e) {
+            // Never return a connection to the pool that may still point at a tenant's schema
+            discard(connection);
+            throw e;
+        }
+        connection.close();
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isInstance(this);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (isUnwrappableAs(unwrapType)) {
+            return unwrapType.cast(this);
+        }
+        throw new IllegalArgumentException("Cannot unwrap to " + unwrapType);
+    }
+
+    private void discard(Connection connection) throws SQLException {
+        if (dataSource instanceof HikariDataSource hikari) {
+            hikari.evictConnection(connection);
+        } else if (dataSource instanceof BoundedDataSource bounded
+                && bounded.isWrapperFor(HikariDataSource.class) && connection.isWrapperFor(ProxyConnection.class)) {
+            bounded.unwrap(HikariDataSource.class).evictConnection(connection.unwrap(ProxyConnection.class));
+            BoundedDataSource.release(connection);
+        } else {
+            connection.close();
+        }
+    }
+
+    private SearchPath searchPath(Connection connection) throws SQLException {
+        SearchPath current = searchPath;
+        if (current == null) {
+            current = SearchPath.of(connection.getMetaData().getDatabaseProductName());
+            searchPath = current;
+        }
+        return current;
+    }
+
+    private enum SearchPath {
+        POSTGRESQL {
+            @Override
+            void enter(Connection connection, String schema, String shared) throws SQLException {
+                execute(connection, "SET search_path TO " + schema + ", " + shared);
+            }
+
+            @Override
+            void reset(Connection connection, String shared) throws SQLException {
+                execute(connection, "SET search_path TO " + shared);
+            }
+        },
+        // H2 looks in the current schema before the search path
+        H2 {
+            @Override
+            void enter(Connection connection, String schema, String shared) throws SQLException {
+                execute(connection, "SET SCHEMA " + schema);
+                execute(connection, "SET SCHEMA_SEARCH_PATH " + shared);
+            }
+
+            @Override
+            void reset(Connection connection, String shared) throws SQLException {
+                execute(connection, "SET SCHEMA " + shared);
+            }
+        };
+
+        abstract void enter(Connection connection, String schema, String shared) throws SQLException;
+
+        abstract void reset(Connection connection, String shared) throws SQLException;
+
+        static SearchPath of(String databaseProductName) {
+            return switch (databaseProductName) {
+                case "PostgreSQL" -> POSTGRESQL;
+                case "H2" -> H2;
+                default -> throw new IllegalStateException(
+                        "Schema-per-tenant mode does not support " + databaseProductName);
+            };
+        }
+
+        private static void execute(Connection connection, String sql) throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
@@ -3,6 +3,9 @@ package om.tanish.saas.tenant;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import om.tanish.saas.common.UuidV7;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -10,10 +13,17 @@ import java.util.UUID;
 @Entity
 @Table(name = "tenants",
         uniqueConstraints = {@UniqueConstraint(columnNames = "tenant_key")})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tenants")
 public class Tenant{
 
+    // Row filter on tenant-owned entities (defined in package-info), enabled per transaction in
+    // row-level security mode
+    public static final String FILTER = "tenantFilter";
+    public static final String FILTER_PARAM = "tenantId";
+
     @Id
-    @GeneratedValue
+    @UuidV7
     private UUID id;
 
     @Column(name = "tenant_key", nullable = false, updatable = false)
@@ -32,6 +42,20 @@ public class Tenant{
 
     private Instant createdAt;
 
+    // Dedicated schema holding the tenant's projects and tasks; null for tenants in the shared schema
+    @Column(name = "schema_name", unique = true, updatable = false, length = 63)
+    private String schemaName;
+
+    // Rate-limit overrides; null falls back to the rate-limit.* defaults
+    @Column(name = "rate_limit_capacity")
+    private Integer rateLimitCapacity;
+
+    @Column(name = "user_rate_limit_capacity")
+    private Integer userRateLimitCapacity;
+
+    @Column(name = "max_concurrent_requests")
+    private Integer maxConcurrentRequests;
+
     public UUID getId() {
         return id;
     }
@@ -72,4 +96,36 @@ public class Tenant{
         this.createdAt = createdAt;
     }
 
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    public void setSchemaName(String schemaName) {
+        this.schemaName = schemaName;
+    }
+
+    public Integer getRateLimitCapacity() {
+        return rateLimitCapacity;
+    }
+
+    public void setRateLimitCapacity(Integer rateLimitCapacity) {
+        this.rateLimitCapacity = rateLimitCapacity;
+    }
+
+    public Integer getUserRateLimitCapacity() {
+        return userRateLimitCapacity;
+    }
+
+    public void setUserRateLimitCapacity(Integer userRateLimitCapacity) {
+        this.userRateLimitCapacity = userRateLimitCapacity;
+    }
+
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
 }
\ No newline at end of file
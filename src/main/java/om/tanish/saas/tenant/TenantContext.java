@@ -4,7 +4,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.UUID;
+import java.util.function.Supplier;
 
+/**
+ * The tenant of the current request, held in a ThreadLocal. This is safe on virtual threads:
+ * each virtual thread has its own ThreadLocal values, and JwtTenantFilter clears the tenant in
+ * a finally block, so nothing leaks from one request to the next whether Tomcat reuses platform
+ * threads or starts a virtual thread per request. The tenant is not inherited: work handed to
+ * another thread runs under a ContextSnapshot captured by the submitting thread.
+ */
 public final class TenantContext {
 
     private static final Logger logger = LoggerFactory.getLogger(TenantContext.class);
@@ -27,4 +35,31 @@ public final class TenantContext {
         TENANT_ID.remove();
         logger.debug("TenantContext cleared");
     }
+
+    /**
+     * Runs the action as the given tenant (none if null) and restores the previous tenant
+     * afterwards. Transactions started inside pick their shard or schema from that tenant.
+     */
+    public static <T> T callAs(UUID tenantId, Supplier<T> action) {
+        UUID previous = TENANT_ID.get();
+        if (tenantId != null) {
+            TENANT_ID.set(tenantId);
+        } else {
+            TENANT_ID.remove();
+        }
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                TENANT_ID.set(previous);
+            } else {
+                TENANT_ID.remove();
+            }
+        }
+    }
+
+    /** Runs the action against the catalog and shared schema, outside any tenant. */
+    public static <T> T callWithoutTenant(Supplier<T> action) {
+        return callAs(null, action);
+    }
 }
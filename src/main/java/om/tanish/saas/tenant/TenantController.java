@@ -1,6 +1,7 @@
 package om.tanish.saas.tenant;
 
 import jakarta.validation.Valid;
+import om.tanish.saas.shard.ShardMoveReport;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -55,6 +56,22 @@ public class TenantController {
         return new TenantDTO(tenantService.updateTenantStatus(key, request));
     }
 
+    @PutMapping("/{key}/rate-limits")
+    public TenantDTO updateTenantRateLimits(
+            @PathVariable String key,
+            @Valid @RequestBody UpdateTenantRateLimitsRequest request
+    ) {
+        return new TenantDTO(tenantService.updateTenantRateLimits(key, request));
+    }
+
+    @PutMapping("/{key}/shard")
+    public ShardMoveReport moveTenantToShard(
+            @PathVariable String key,
+            @Valid @RequestBody MoveTenantShardRequest request
+    ) {
+        return tenantService.moveTenantToShard(key, request);
+    }
+
     @DeleteMapping("/{key}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteTenant(@PathVariable String key) {
@@ -9,12 +9,20 @@ public class TenantDTO {
     private String name;
     private TenantStatus status;
     private Instant createdAt;
+    private String schemaName;
+    private Integer rateLimitCapacity;
+    private Integer userRateLimitCapacity;
+    private Integer maxConcurrentRequests;
 
     public TenantDTO(Tenant tenant) {
         this.name = tenant.getName();
         this.status = tenant.getStatus();
         this.tenantKey = tenant.getTenantKey();
         this.createdAt = tenant.getCreatedAt();
+        this.schemaName = tenant.getSchemaName();
+        this.rateLimitCapacity = tenant.getRateLimitCapacity();
+        this.userRateLimitCapacity = tenant.getUserRateLimitCapacity();
+        this.maxConcurrentRequests = tenant.getMaxConcurrentRequests();
     }
 
     public String getTenantKey() {
@@ -48,4 +56,36 @@ public class TenantDTO {
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
+
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    public void setSchemaName(String schemaName) {
+        this.schemaName = schemaName;
+    }
+
+    public Integer getRateLimitCapacity() {
+        return rateLimitCapacity;
+    }
+
+    public void setRateLimitCapacity(Integer rateLimitCapacity) {
+        this.rateLimitCapacity = rateLimitCapacity;
+    }
+
+    public Integer getUserRateLimitCapacity() {
+        return userRateLimitCapacity;
+    }
+
+    public void setUserRateLimitCapacity(Integer userRateLimitCapacity) {
+        this.userRateLimitCapacity = userRateLimitCapacity;
+    }
+
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
 }
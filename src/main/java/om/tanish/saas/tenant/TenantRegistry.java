@@ -0,0 +1,138 @@
+package om.tanish.saas.tenant;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import om.tanish.saas.config.ShardingProperties;
+import om.tanish.saas.shard.ShardDataSources;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-process cache of tenant metadata, keyed by id and by tenant key. Writes that attach a
+ * tenant take a {@link #reference} proxy instead of loading the row; TenantService evicts
+ * entries whenever it changes a tenant.
+ *
+ * <p>Without sharding, a miss is read in the caller's transaction, on the connection it already
+ * holds; taking a second one from a full pool could wait forever. With sharding, the caller's
+ * transaction may be bound to a shard whose copy of the tenant row is not kept current, so rows
+ * are read with plain JDBC straight from the catalog pool.
+ */
+@Component
+public class TenantRegistry {
+
+    private static final String SNAPSHOT_SELECT = "SELECT id, tenant_key, name, status, rate_limit_capacity, " +
+            "user_rate_limit_capacity, max_concurrent_requests FROM tenants ";
+
+    private static final RowMapper<TenantSnapshot> SNAPSHOT_ROW = (rs, rowNum) -> new TenantSnapshot(
+            rs.getObject("id", UUID.class),
+            rs.getString("tenant_key"),
+            rs.getString("name"),
+            TenantStatus.valueOf(rs.getString("status")),
+            rs.getObject("rate_limit_capacity", Integer.class),
+            rs.getObject("user_rate_limit_capacity", Integer.class),
+            rs.getObject("max_concurrent_requests", Integer.class));
+
+    private final TenantRepository tenantRepository;
+    private final JdbcTemplate catalog;
+    private final Cache<UUID, TenantSnapshot> byId;
+    private final Cache<String, UUID> idsByKey;
+
+    public TenantRegistry(TenantRepository tenantRepository,
+                          ShardingProperties shardingProperties,
+                          ObjectProvider<ShardDataSources> shardDataSources,
+                          MeterRegistry meterRegistry,
+                          @Value("${tenant-registry.max-size:10000}") long maxSize,
+                          @Value("${tenant-registry.ttl:PT10M}") Duration ttl) {
+        this.tenantRepository = tenantRepository;
+        this.catalog = shardingProperties.isEnabled()
+                ? new JdbcTemplate(shardDataSources.getObject().catalog())
+                : null;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idsByKey = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "tenant.registry");
+    }
+
+    public Optional<TenantSnapshot> get(UUID tenantId) {
+        return Optional.ofNullable(byId.get(tenantId, id -> {
+            Optional<TenantSnapshot> snapshot = catalog != null
+                    ? first(catalog.query(SNAPSHOT_SELECT + "WHERE id = ?", SNAPSHOT_ROW, id))
+                    : tenantRepository.findById(id).map(TenantSnapshot::of);
+            return snapshot.map(this::remember).orElse(null);
+        }));
+    }
+
+    public Optional<TenantSnapshot> getByKey(String tenantKey) {
+        UUID tenantId = idsByKey.getIfPresent(tenantKey);
+        if (tenantId != null) {
+            TenantSnapshot snapshot = byId.getIfPresent(tenantId);
+            if (snapshot != null) {
+                return Optional.of(snapshot);
+            }
+        }
+        Optional<TenantSnapshot> loaded = catalog != null
+                ? first(catalog.query(SNAPSHOT_SELECT + "WHERE tenant_key = ?", SNAPSHOT_ROW, tenantKey))
+                : tenantRepository.findByTenantKey(tenantKey).map(TenantSnapshot::of);
+        return loaded.map(snapshot -> {
+            remember(snapshot);
+            byId.put(snapshot.id(), snapshot);
+            return snapshot;
+        });
+    }
+
+    /**
+     * Returns an uninitialized proxy for a known tenant, for use as a foreign key inside a
+     * transaction; empty if the tenant does not exist.
+     */
+    public Optional<Tenant> reference(UUID tenantId) {
+        return get(tenantId).map(snapshot -> tenantRepository.getReferenceById(snapshot.id()));
+    }
+
+    /**
+     * Evicts the tenant now and again once the current transaction completes, so a concurrent
+     * reader cannot re-cache the row as it was before the change.
+     */
+    public void invalidate(UUID tenantId, String tenantKey) {
+        evict(tenantId, tenantKey);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(tenantId, tenantKey);
+                }
+            });
+        }
+    }
+
+    private void evict(UUID tenantId, String tenantKey) {
+        byId.invalidate(tenantId);
+        idsByKey.invalidate(tenantKey);
+    }
+
+    private TenantSnapshot remember(TenantSnapshot snapshot) {
+        idsByKey.put(snapshot.tenantKey(), snapshot.id());
+        return snapshot;
+    }
+
+    private static Optional<TenantSnapshot> first(List<TenantSnapshot> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+}
@@ -2,8 +2,10 @@
 package om.tanish.saas.tenant;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,7 +15,17 @@ public interface TenantRepository extends JpaRepository<Tenant, UUID> {
     Optional<Tenant> findById(UUID id);
     boolean existsByTenantKey(String tenantKey);
 
+    boolean existsBySchemaName(String schemaName);
+
     Optional<Tenant> findByTenantKey(String tenantKey);
     void deleteByTenantKey(String tenantKey);
 
+    @Query("SELECT t.status FROM Tenant t WHERE t.id = :id")
+    Optional<TenantStatus> findStatusById(UUID id);
+
+    List<TenantStatusView> findAllProjectedBy();
+
+    @Query("SELECT t.id FROM Tenant t")
+    List<UUID> findAllIds();
+
 }
@@ -0,0 +1,55 @@
+package om.tanish.saas.tenant;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Maps tenant ids to their dedicated schema. Read with plain JDBC rather than JPA because it
+ * is consulted while Hibernate is opening a session. A tenant's schema is fixed at creation,
+ * so answers for existing tenants are kept until the tenant is deleted.
+ */
+@Component
+public class TenantSchemaDirectory {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<UUID, Optional<String>> schemas = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .build();
+
+    public TenantSchemaDirectory(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The tenant's dedicated schema, or empty if it lives in the shared schema or does not exist.
+     */
+    public Optional<String> schemaFor(UUID tenantId) {
+        Optional<String> cached = schemas.getIfPresent(tenantId);
+        if (cached != null) {
+            return cached;
+        }
+        List<String> rows = jdbcTemplate.queryForList(
+                "SELECT schema_name FROM tenants WHERE id = ?", String.class, tenantId);
+        if (rows.isEmpty()) {
+            // Unknown tenants are not remembered; the row may not be committed yet
+            return Optional.empty();
+        }
+        Optional<String> schema = Optional.ofNullable(rows.get(0));
+        schemas.put(tenantId, schema);
+        return schema;
+    }
+
+    @EventListener
+    public void onStatusChanged(TenantStatusChangedEvent event) {
+        if (event.status() == null) {
+            schemas.invalidate(event.tenantId());
+        }
+    }
+}
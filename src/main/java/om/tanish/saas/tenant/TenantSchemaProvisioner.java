@@ -0,0 +1,83 @@
+package om.tanish.saas.tenant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Creates a dedicated schema for a tenant from {@code db/tenant-schema.sql}. Runs on the
+ * caller's transaction connection, so on PostgreSQL a failed tenant insert also rolls back
+ * the schema.
+ */
+@Component
+public class TenantSchemaProvisioner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantSchemaProvisioner.class);
+
+    private static final Pattern SCHEMA_NAME = Pattern.compile("[a-z][a-z0-9_]{0,62}");
+    private static final String SCRIPT = "db/tenant-schema.sql";
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final String sharedSchema;
+
+    public TenantSchemaProvisioner(DataSource dataSource,
+                                   @Value("${saas.tenancy.mode:shared}") String mode,
+                                   @Value("${saas.tenancy.shared-schema:public}") String sharedSchema) {
+        this.dataSource = dataSource;
+        this.enabled = "schema".equalsIgnoreCase(mode);
+        this.sharedSchema = requireValid(sharedSchema);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static String schemaNameFor(String tenantKey) {
+        return requireValid("tenant_" + tenantKey.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "_"));
+    }
+
+    public void provision(String schemaName) {
+        String script = loadScript()
+                .replace("${schema}", requireValid(schemaName))
+                .replace("${shared}", sharedSchema);
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            ScriptUtils.executeSqlScript(connection, new ByteArrayResource(script.getBytes(StandardCharsets.UTF_8)));
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        logger.info("Provisioned tenant schema {}", schemaName);
+    }
+
+    // Schema names are spliced into DDL, so only plain lower-case identifiers are accepted
+    static String requireValid(String schemaName) {
+        if (schemaName == null || !SCHEMA_NAME.matcher(schemaName).matches()) {
+            throw new IllegalArgumentException("Invalid schema name: " + schemaName);
+        }
+        return schemaName;
+    }
+
+    private static String loadScript() {
+        try {
+            return StreamUtils.copyToString(new ClassPathResource(SCRIPT).getInputStream(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + SCRIPT, e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package om.tanish.saas.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+import java.util.UUID;
+
+/**
+ * Resolves the Hibernate tenant identifier, which in schema mode is the schema name, from
+ * {@link TenantContext}. Requests without a tenant, and tenants without a dedicated schema,
+ * use the shared schema.
+ */
+public class TenantSchemaResolver implements CurrentTenantIdentifierResolver<String> {
+
+    private final TenantSchemaDirectory directory;
+    private final String sharedSchema;
+
+    public TenantSchemaResolver(TenantSchemaDirectory directory, String sharedSchema) {
+        this.directory = directory;
+        this.sharedSchema = sharedSchema;
+    }
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        UUID tenantId = TenantContext.getTenant();
+        if (tenantId == null) {
+            return sharedSchema;
+        }
+        return directory.schemaFor(tenantId).orElse(sharedSchema);
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+}
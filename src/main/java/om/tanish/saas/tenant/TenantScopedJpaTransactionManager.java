@@ -0,0 +1,52 @@
+package om.tanish.saas.tenant;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.UUID;
+
+/**
+ * Scopes every transaction to the current tenant (row-level security mode). On PostgreSQL it
+ * sets {@code app.tenant_id} for the transaction, which the policies in
+ * {@code db/rls-policies.sql} compare against; elsewhere it enables the {@link Tenant#FILTER}
+ * Hibernate filter instead. Without a tenant the transaction sees every row, as before.
+ */
+public class TenantScopedJpaTransactionManager extends JpaTransactionManager {
+
+    private final boolean databasePolicies;
+
+    public TenantScopedJpaTransactionManager(EntityManagerFactory entityManagerFactory, boolean databasePolicies) {
+        super(entityManagerFactory);
+        this.databasePolicies = databasePolicies;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        EntityManagerHolder holder =
+                (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        Session session = holder.getEntityManager().unwrap(Session.class);
+        UUID tenantId = TenantContext.getTenant();
+
+        if (databasePolicies) {
+            // Local to the transaction, so a pooled connection never carries a tenant over
+            session.doWork(connection -> {
+                try (PreparedStatement statement =
+                             connection.prepareStatement("SELECT set_config('app.tenant_id', ?, true)")) {
+                    statement.setString(1, tenantId != null ? tenantId.toString() : "");
+                    statement.execute();
+                }
+            });
+        } else if (tenantId != null) {
+            session.enableFilter(Tenant.FILTER).setParameter(Tenant.FILTER_PARAM, tenantId);
+        } else {
+            // An open-in-view session is reused by later transactions of the request
+            session.disableFilter(Tenant.FILTER);
+        }
+    }
+}
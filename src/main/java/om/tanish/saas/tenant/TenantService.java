@@ -1,6 +1,10 @@
 package om.tanish.saas.tenant;
 
 import jakarta.transaction.Transactional;
+import om.tanish.saas.shard.ShardDirectory;
+import om.tanish.saas.shard.ShardMoveReport;
+import om.tanish.saas.shard.TenantShardMover;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -12,9 +16,24 @@ import java.util.List;
 @Service
 public class TenantService {
     private final TenantRepository tenantRepository;
+    private final TenantRegistry tenantRegistry;
+    private final TenantSchemaProvisioner schemaProvisioner;
+    private final ShardDirectory shardDirectory;
+    private final TenantShardMover shardMover;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TenantService(TenantRepository tenantRepository) {
+    public TenantService(TenantRepository tenantRepository,
+                         TenantRegistry tenantRegistry,
+                         TenantSchemaProvisioner schemaProvisioner,
+                         ShardDirectory shardDirectory,
+                         TenantShardMover shardMover,
+                         ApplicationEventPublisher eventPublisher) {
         this.tenantRepository = tenantRepository;
+        this.tenantRegistry = tenantRegistry;
+        this.schemaProvisioner = schemaProvisioner;
+        this.shardDirectory = shardDirectory;
+        this.shardMover = shardMover;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -29,7 +48,27 @@ public class TenantService {
         tenant.setName(request.getName());
         tenant.setStatus(TenantStatus.PENDING);
         tenant.setCreatedAt(Instant.now());
-        return tenantRepository.save(tenant);
+
+        if (request.isDedicatedSchema()) {
+            if (!schemaProvisioner.isEnabled()) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST, "Dedicated schemas require saas.tenancy.mode=schema");
+            }
+            String schemaName = TenantSchemaProvisioner.schemaNameFor(request.getTenantKey());
+            if (tenantRepository.existsBySchemaName(schemaName)) {
+                throw new ResponseStatusException(
+                        HttpStatus.CONFLICT, "Schema " + schemaName + " is already in use");
+            }
+            tenant.setSchemaName(schemaName);
+        }
+
+        Tenant saved = tenantRepository.save(tenant);
+        if (saved.getSchemaName() != null) {
+            schemaProvisioner.provision(saved.getSchemaName());
+        }
+        shardDirectory.assign(saved.getId());
+        eventPublisher.publishEvent(new TenantStatusChangedEvent(saved.getId(), saved.getStatus()));
+        return saved;
     }
 
     public Tenant getTenantByKey(String tenantKey){
@@ -49,6 +88,7 @@ public class TenantService {
 
         tenant.setName(request.getName());
         tenant.setTenantKey(request.getTenantKey());
+        tenantRegistry.invalidate(tenant.getId(), tenantKey);
         return tenant;
     }
 
@@ -67,7 +107,10 @@ public class TenantService {
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.BAD_REQUEST, "Tenant not found"
                 ));
+        shardDirectory.release(tenant.getId());
         tenantRepository.deleteByTenantKey(tenantKey);
+        tenantRegistry.invalidate(tenant.getId(), tenantKey);
+        eventPublisher.publishEvent(new TenantStatusChangedEvent(tenant.getId(), null));
     }
 
 
@@ -78,6 +121,34 @@ public class TenantService {
                         HttpStatus.BAD_REQUEST, "Tenant not found"
                 ));
         tenant.setStatus(request.getTenantStatus());
+        tenantRegistry.invalidate(tenant.getId(), tenantKey);
+        eventPublisher.publishEvent(new TenantStatusChangedEvent(tenant.getId(), tenant.getStatus()));
         return tenant;
     }
+
+    @Transactional
+    public Tenant updateTenantRateLimits(String tenantKey, UpdateTenantRateLimitsRequest request) {
+        Tenant tenant = tenantRepository.findByTenantKey(tenantKey)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST, "Tenant not found"
+                ));
+        tenant.setRateLimitCapacity(request.getRateLimitCapacity());
+        tenant.setUserRateLimitCapacity(request.getUserRateLimitCapacity());
+        tenant.setMaxConcurrentRequests(request.getMaxConcurrentRequests());
+        tenantRegistry.invalidate(tenant.getId(), tenantKey);
+        return tenant;
+    }
+
+    // Not transactional: the move copies between databases and waits for requests to drain
+    public ShardMoveReport moveTenantToShard(String tenantKey, MoveTenantShardRequest request) {
+        Tenant tenant = tenantRepository.findByTenantKey(tenantKey)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST, "Tenant not found"
+                ));
+        if (tenant.getSchemaName() != null) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Tenants with a dedicated schema cannot be moved between shards");
+        }
+        return shardMover.move(tenant.getId(), request.getShardId());
+    }
 }
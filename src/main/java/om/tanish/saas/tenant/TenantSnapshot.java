@@ -0,0 +1,31 @@
+package om.tanish.saas.tenant;
+
+import java.util.UUID;
+
+/**
+ * Immutable copy of the tenant columns that request handling needs, held by {@link TenantRegistry}.
+ */
+public record TenantSnapshot(UUID id,
+                             String tenantKey,
+                             String name,
+                             TenantStatus status,
+                             Integer rateLimitCapacity,
+                             Integer userRateLimitCapacity,
+                             Integer maxConcurrentRequests) {
+
+    static TenantSnapshot of(Tenant tenant) {
+        return new TenantSnapshot(
+                tenant.getId(),
+                tenant.getTenantKey(),
+                tenant.getName(),
+                tenant.getStatus(),
+                tenant.getRateLimitCapacity(),
+                tenant.getUserRateLimitCapacity(),
+                tenant.getMaxConcurrentRequests()
+        );
+    }
+
+    public boolean isActive() {
+        return status == TenantStatus.ACTIVE;
+    }
+}
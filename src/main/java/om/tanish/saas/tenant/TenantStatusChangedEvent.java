@@ -0,0 +1,10 @@
+package om.tanish.saas.tenant;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link TenantService} when a tenant is created, changes status or is deleted;
+ * {@code status} is null for a deleted tenant.
+ */
+public record TenantStatusChangedEvent(UUID tenantId, TenantStatus status) {
+}
@@ -0,0 +1,123 @@
+package om.tanish.saas.tenant;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory status of every tenant, read on each authenticated request. The table is an
+ * immutable map swapped atomically: status changes committed on this node are applied from
+ * {@link TenantStatusChangedEvent}s, and a periodic full reload picks up changes made elsewhere.
+ *
+ * <p>Each swap bumps a version. A reload only installs its result if no change was applied
+ * while it was reading, so a slow reload never resurrects a status that was just changed.
+ * Tenants missing from the table are looked up once and the answer, including "no such
+ * tenant", is cached briefly.
+ */
+@Component
+public class TenantStatusTable {
+    private static final Logger logger = LoggerFactory.getLogger(TenantStatusTable.class);
+
+    private static final int RELOAD_ATTEMPTS = 3;
+
+    private final TenantRepository tenantRepository;
+    private final AtomicReference<Table> table = new AtomicReference<>(new Table(0, Map.of()));
+    private final Cache<UUID, Optional<TenantStatus>> lookups;
+
+    public TenantStatusTable(TenantRepository tenantRepository,
+                             @Value("${tenant-status.lookup-ttl:PT1M}") Duration lookupTtl) {
+        this.tenantRepository = tenantRepository;
+        this.lookups = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(lookupTtl)
+                .build();
+    }
+
+    public boolean isActive(UUID tenantId) {
+        return status(tenantId).orElse(null) == TenantStatus.ACTIVE;
+    }
+
+    public Optional<TenantStatus> status(UUID tenantId) {
+        TenantStatus status = table.get().statuses().get(tenantId);
+        if (status != null) {
+            return Optional.of(status);
+        }
+        return lookups.get(tenantId, this::lookup);
+    }
+
+    public long version() {
+        return table.get().version();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(TenantStatusChangedEvent event) {
+        apply(event.tenantId(), event.status());
+        lookups.invalidate(event.tenantId());
+        logger.debug("Tenant {} status is now {} (table version {})", event.tenantId(), event.status(), version());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${tenant-status.reload-interval:PT1M}",
+            initialDelayString = "${tenant-status.reload-interval:PT1M}")
+    public void reload() {
+        for (int attempt = 0; attempt < RELOAD_ATTEMPTS; attempt++) {
+            Table before = table.get();
+            List<TenantStatusView> rows = tenantRepository.findAllProjectedBy();
+
+            Map<UUID, TenantStatus> statuses = new HashMap<>(rows.size() * 2);
+            for (TenantStatusView row : rows) {
+                statuses.put(row.getId(), row.getStatus());
+            }
+            if (table.compareAndSet(before, new Table(before.version() + 1, Map.copyOf(statuses)))) {
+                lookups.invalidateAll();
+                return;
+            }
+        }
+        logger.warn("Tenant status reload kept racing with status changes; will retry on the next run");
+    }
+
+    private Optional<TenantStatus> lookup(UUID tenantId) {
+        Optional<TenantStatus> status = tenantRepository.findStatusById(tenantId);
+        status.ifPresent(s -> {
+            // Only fill a gap; a concurrent change notification wins
+            Table current = table.get();
+            if (!current.statuses().containsKey(tenantId)) {
+                Map<UUID, TenantStatus> statuses = new HashMap<>(current.statuses());
+                statuses.put(tenantId, s);
+                table.compareAndSet(current, new Table(current.version() + 1, Map.copyOf(statuses)));
+            }
+        });
+        return status;
+    }
+
+    private void apply(UUID tenantId, TenantStatus status) {
+        table.updateAndGet(current -> {
+            Map<UUID, TenantStatus> statuses = new HashMap<>(current.statuses());
+            if (status == null) {
+                statuses.remove(tenantId);
+            } else {
+                statuses.put(tenantId, status);
+            }
+            return new Table(current.version() + 1, Map.copyOf(statuses));
+        });
+    }
+
+    private record Table(long version, Map<UUID, TenantStatus> statuses) {
+    }
+}
@@ -0,0 +1,13 @@
+package om.tanish.saas.tenant;
+
+import java.util.UUID;
+
+/**
+ * Id and status of a tenant, for loading the {@link TenantStatusTable}.
+ */
+public interface TenantStatusView {
+
+    UUID getId();
+
+    TenantStatus getStatus();
+}
@@ -0,0 +1,47 @@
+package om.tanish.saas.tenant;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Per-tenant rate-limit overrides. Capacities are requests per the refill period configured for
+ * the tier; a null field clears the override.
+ */
+public class UpdateTenantRateLimitsRequest {
+
+    @Min(1)
+    @Max(65535)
+    private Integer rateLimitCapacity;
+
+    @Min(1)
+    @Max(65535)
+    private Integer userRateLimitCapacity;
+
+    @Min(1)
+    @Max(1000)
+    private Integer maxConcurrentRequests;
+
+    public Integer getRateLimitCapacity() {
+        return rateLimitCapacity;
+    }
+
+    public void setRateLimitCapacity(Integer rateLimitCapacity) {
+        this.rateLimitCapacity = rateLimitCapacity;
+    }
+
+    public Integer getUserRateLimitCapacity() {
+        return userRateLimitCapacity;
+    }
+
+    public void setUserRateLimitCapacity(Integer userRateLimitCapacity) {
+        this.userRateLimitCapacity = userRateLimitCapacity;
+    }
+
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+}
@@ -0,0 +1,9 @@
+@FilterDef(name = Tenant.FILTER,
+        parameters = @ParamDef(name = Tenant.FILTER_PARAM, type = UUID.class),
+        defaultCondition = "tenant_id = :" + Tenant.FILTER_PARAM)
+package om.tanish.saas.tenant;
+
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
+
+import java.util.UUID;
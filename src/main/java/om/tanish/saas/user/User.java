@@ -3,7 +3,11 @@ package om.tanish.saas.user;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import om.tanish.saas.common.UuidV7;
 import om.tanish.saas.tenant.Tenant;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Filter;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -16,9 +20,12 @@ import java.util.UUID;
                 @UniqueConstraint(columnNames = {"tenant_id", "username"})
         }
 )
+@Filter(name = Tenant.FILTER)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User {
     @Id
-    @GeneratedValue
+    @UuidV7
     private UUID id;
 
     @JsonIgnore
@@ -43,6 +50,9 @@ public class User {
     @Column(nullable = false,name = "created_at")
     private Instant createdAt;
 
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     public UUID getId() {
         return id;
     }
@@ -102,4 +112,12 @@ public class User {
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +23,8 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByIdAndTenant_Id(UUID userId, UUID tenantId);
 
+    List<User> findAllByTenant_IdAndIdIn(UUID tenantId, Collection<UUID> ids);
+
     void deleteByIdAndTenant_Id(UUID userId, UUID tenantId);
 
     @Query("SELECT u FROM User u WHERE u.tenant.id = :tenantId AND u.role = :role")
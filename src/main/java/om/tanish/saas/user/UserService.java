@@ -1,13 +1,17 @@
 package om.tanish.saas.user;
 
 import jakarta.transaction.Transactional;
+import om.tanish.saas.common.EntityTags;
 import om.tanish.saas.tenant.Tenant;
 import om.tanish.saas.tenant.TenantContext;
-import om.tanish.saas.tenant.TenantRepository;
+import om.tanish.saas.tenant.TenantRegistry;
+import om.tanish.saas.tenant.TenantSnapshot;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.nio.file.AccessDeniedException;
@@ -18,23 +22,25 @@ import java.util.UUID;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final TenantRepository tenantRepository;
+    private final TenantRegistry tenantRegistry;
     private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
 
     public UserService(
             UserRepository userRepository,
-            TenantRepository tenantRepository,
-            PasswordEncoder passwordEncoder
+            TenantRegistry tenantRegistry,
+            PasswordEncoder passwordEncoder,
+            PlatformTransactionManager transactionManager
     ) {
         this.userRepository = userRepository;
-        this.tenantRepository = tenantRepository;
+        this.tenantRegistry = tenantRegistry;
         this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     // =====================================================
     // SUPER_ADMIN → REGISTER TENANT ADMIN
     // =====================================================
-    @Transactional
     public User registerTenantAdmin(String tenantKey, CreateUserRequest request) {
 
         if (!UserRole.TENANT_ADMIN.name().equalsIgnoreCase(request.getRole())) {
@@ -44,12 +50,16 @@ public class UserService {
             );
         }
 
-        Tenant tenant = tenantRepository.findByTenantKey(tenantKey)
+        TenantSnapshot tenant = tenantRegistry.getByKey(tenantKey)
                 .orElseThrow(() ->
                         new ResponseStatusException(
                                 HttpStatus.BAD_REQUEST, "Tenant not found"));
 
-        return createUserInternal(tenant, request, UserRole.TENANT_ADMIN);
+        // The caller is a super admin without a tenant; the transaction has to start as the
+        // tenant so the admin is written to the tenant's shard
+        return TenantContext.callAs(tenant.id(), () -> transactionTemplate.execute(status ->
+                createUserInternal(tenantRegistry.reference(tenant.id()).orElseThrow(),
+                        request, UserRole.TENANT_ADMIN)));
     }
 
     // =====================================================
@@ -59,6 +69,7 @@ public class UserService {
 
         UserRole role = getCurrentRole();
 
+        // With sharding enabled this lists the catalog shard's users only
         if (role == UserRole.SUPER_ADMIN) {
             return userRepository.findAll();
         }
@@ -113,7 +124,7 @@ public class UserService {
 
         UUID tenantId = requireTenant();
 
-        Tenant tenant = tenantRepository.findById(tenantId)
+        Tenant tenant = tenantRegistry.reference(tenantId)
                 .orElseThrow(() ->
                         new ResponseStatusException(
                                 HttpStatus.BAD_REQUEST, "Tenant not found"));
@@ -142,6 +153,8 @@ public class UserService {
                     HttpStatus.UNAUTHORIZED, "Role change is not allowed");
         }
 
+        // Moves the ETags of the projects and tasks that show this user's email
+        user.setUpdatedAt(EntityTags.now());
         return userRepository.save(user);
     }
 
@@ -0,0 +1,106 @@
+-- Baseline schema, matching the JPA mappings (spring.jpa.hibernate.ddl-auto=validate).
+-- Written to run unchanged on PostgreSQL and H2. Every index leads with tenant_id and follows
+-- the access path of a repository query; see QueryPlanRegressionTest.
+
+CREATE TABLE tenants (
+    id                       UUID                        NOT NULL PRIMARY KEY,
+    tenant_key               VARCHAR(50)                 NOT NULL,
+    name                     VARCHAR(100)                NOT NULL,
+    status                   VARCHAR(255)                NOT NULL,
+    created_at               TIMESTAMP(6) WITH TIME ZONE,
+    schema_name              VARCHAR(63),
+    rate_limit_capacity      INTEGER,
+    user_rate_limit_capacity INTEGER,
+    max_concurrent_requests  INTEGER,
+    CONSTRAINT uk_tenants_tenant_key UNIQUE (tenant_key),
+    CONSTRAINT uk_tenants_schema_name UNIQUE (schema_name)
+);
+
+CREATE TABLE users (
+    id         UUID                        NOT NULL PRIMARY KEY,
+    tenant_id  UUID REFERENCES tenants (id),
+    email      VARCHAR(255)                NOT NULL,
+    username   VARCHAR(255)                NOT NULL,
+    password   VARCHAR(255)                NOT NULL,
+    role       VARCHAR(255)                NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_users_tenant_email UNIQUE (tenant_id, email),
+    CONSTRAINT uk_users_tenant_username UNIQUE (tenant_id, username)
+);
+
+-- UserRepository.findByEmail: super admin login, which has no tenant
+CREATE INDEX idx_users_email ON users (email);
+
+CREATE TABLE refresh_tokens (
+    id          UUID                        NOT NULL PRIMARY KEY,
+    token       VARCHAR(255)                NOT NULL,
+    user_id     UUID                        NOT NULL,
+    tenant_id   UUID                        NOT NULL REFERENCES tenants (id),
+    expiry_date TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_refresh_tokens_token UNIQUE (token)
+);
+
+-- RefreshTokenRepository.deleteByUserId
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id);
+
+CREATE TABLE projects (
+    id          UUID                        NOT NULL PRIMARY KEY,
+    tenant_id   UUID                        NOT NULL REFERENCES tenants (id),
+    name        VARCHAR(255)                NOT NULL,
+    description VARCHAR(1000),
+    status      VARCHAR(255)                NOT NULL,
+    owner_id    UUID REFERENCES users (id),
+    start_date  TIMESTAMP(6) WITH TIME ZONE,
+    end_date    TIMESTAMP(6) WITH TIME ZONE,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- ProjectRepository status filters and countByStatusForTenant
+CREATE INDEX idx_projects_tenant_status ON projects (tenant_id, status);
+-- ProjectRepository owner filters
+CREATE INDEX idx_projects_tenant_owner ON projects (tenant_id, owner_id);
+
+CREATE TABLE tasks (
+    id          UUID                        NOT NULL PRIMARY KEY,
+    tenant_id   UUID                        NOT NULL REFERENCES tenants (id),
+    project_id  UUID                        NOT NULL REFERENCES projects (id),
+    title       VARCHAR(255)                NOT NULL,
+    description VARCHAR(2000),
+    status      VARCHAR(255)                NOT NULL,
+    priority    VARCHAR(255)                NOT NULL,
+    assignee_id UUID REFERENCES users (id),
+    created_by  UUID REFERENCES users (id),
+    due_date    TIMESTAMP(6) WITH TIME ZONE,
+    created_at  TIMESTAMP(6) WITH TIME ZONE,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- Tasks of a project, newest first (keyset pages seek on created_at, id)
+CREATE INDEX idx_tasks_tenant_project_created ON tasks (tenant_id, project_id, created_at, id);
+-- My tasks, newest first
+CREATE INDEX idx_tasks_tenant_assignee_created ON tasks (tenant_id, assignee_id, created_at, id);
+-- Dashboard counts per status
+CREATE INDEX idx_tasks_tenant_status ON tasks (tenant_id, status);
+-- Counter reconciliation (GROUP BY project, status, priority) and countByProjectIdAndStatus
+CREATE INDEX idx_tasks_tenant_project_status ON tasks (tenant_id, project_id, status, priority);
+
+CREATE TABLE task_counters (
+    id         UUID         NOT NULL PRIMARY KEY,
+    tenant_id  UUID         NOT NULL,
+    project_id UUID         NOT NULL,
+    status     VARCHAR(255) NOT NULL,
+    priority   VARCHAR(255) NOT NULL,
+    task_count BIGINT       NOT NULL,
+    CONSTRAINT uk_task_counters_key UNIQUE (tenant_id, project_id, status, priority)
+);
+
+CREATE TABLE tenant_shards (
+    tenant_id UUID        NOT NULL PRIMARY KEY,
+    shard_id  VARCHAR(64) NOT NULL,
+    moving    BOOLEAN     NOT NULL
+);
+
+-- ShardDirectory: tenants per shard when placing a new tenant
+CREATE INDEX idx_tenant_shards_shard ON tenant_shards (shard_id);
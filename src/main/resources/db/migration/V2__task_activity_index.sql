@@ -0,0 +1,2 @@
+-- Recently updated tasks (dashboard activity widget)
+CREATE INDEX idx_tasks_tenant_updated ON tasks (tenant_id, updated_at);
@@ -0,0 +1,2 @@
+-- Version of a project's task list (COUNT and MAX(updated_at)) for conditional GETs
+CREATE INDEX idx_tasks_tenant_project_updated ON tasks (tenant_id, project_id, updated_at);
@@ -0,0 +1,7 @@
+-- One row per scheduled job that must run on a single node at a time; see SchedulerLock
+CREATE TABLE scheduler_locks (
+    name         VARCHAR(64)                 NOT NULL PRIMARY KEY,
+    locked_until TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    locked_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    locked_by    VARCHAR(255)                NOT NULL
+);
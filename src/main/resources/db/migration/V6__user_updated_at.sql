@@ -0,0 +1,3 @@
+-- A user's email is shown on the projects and tasks it owns or is assigned, so their ETags
+-- include the user's version; NULL (never updated) falls back to created_at
+ALTER TABLE users ADD COLUMN updated_at TIMESTAMP(6) WITH TIME ZONE;
@@ -0,0 +1,53 @@
+-- Tables of a tenant with a dedicated schema. Must match the shared-schema mappings of
+-- Project, Task and TaskCounter, indexes included (see the db/migration scripts); ${schema} and
+-- ${shared} are substituted before execution.
+
+CREATE SCHEMA ${schema};
+
+CREATE TABLE ${schema}.projects (
+    id          UUID                        NOT NULL PRIMARY KEY,
+    tenant_id   UUID                        NOT NULL REFERENCES ${shared}.tenants (id),
+    name        VARCHAR(255)                NOT NULL,
+    description VARCHAR(1000),
+    status      VARCHAR(255)                NOT NULL,
+    owner_id    UUID REFERENCES ${shared}.users (id),
+    start_date  TIMESTAMP(6) WITH TIME ZONE,
+    end_date    TIMESTAMP(6) WITH TIME ZONE,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_projects_tenant_status ON ${schema}.projects (tenant_id, status);
+CREATE INDEX idx_projects_tenant_owner ON ${schema}.projects (tenant_id, owner_id);
+
+CREATE TABLE ${schema}.tasks (
+    id          UUID                        NOT NULL PRIMARY KEY,
+    tenant_id   UUID                        NOT NULL REFERENCES ${shared}.tenants (id),
+    project_id  UUID                        NOT NULL REFERENCES ${schema}.projects (id),
+    title       VARCHAR(255)                NOT NULL,
+    description VARCHAR(2000),
+    status      VARCHAR(255)                NOT NULL,
+    priority    VARCHAR(255)                NOT NULL,
+    assignee_id UUID REFERENCES ${shared}.users (id),
+    created_by  UUID REFERENCES ${shared}.users (id),
+    due_date    TIMESTAMP(6) WITH TIME ZONE,
+    created_at  TIMESTAMP(6) WITH TIME ZONE,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX idx_tasks_tenant_project_created ON ${schema}.tasks (tenant_id, project_id, created_at, id);
+CREATE INDEX idx_tasks_tenant_assignee_created ON ${schema}.tasks (tenant_id, assignee_id, created_at, id);
+CREATE INDEX idx_tasks_tenant_status ON ${schema}.tasks (tenant_id, status);
+CREATE INDEX idx_tasks_tenant_project_status ON ${schema}.tasks (tenant_id, project_id, status, priority);
+CREATE INDEX idx_tasks_tenant_updated ON ${schema}.tasks (tenant_id, updated_at);
+CREATE INDEX idx_tasks_tenant_project_updated ON ${schema}.tasks (tenant_id, project_id, updated_at);
+
+CREATE TABLE ${schema}.task_counters (
+    id          UUID         NOT NULL PRIMARY KEY,
+    tenant_id   UUID         NOT NULL,
+    project_id  UUID         NOT NULL,
+    status      VARCHAR(255) NOT NULL,
+    priority    VARCHAR(255) NOT NULL,
+    task_count  BIGINT       NOT NULL,
+    UNIQUE (tenant_id, project_id, status, priority)
+);
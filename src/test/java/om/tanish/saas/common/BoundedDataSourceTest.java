@@ -0,0 +1,82 @@
+package om.tanish.saas.common;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BoundedDataSourceTest {
+
+    @Test
+    void waitersBeyondTheCapGetAConnectionOnceOneIsClosed() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        BoundedDataSource bounded = new BoundedDataSource(pool, 2, Duration.ofSeconds(5));
+
+        Connection first = bounded.getConnection();
+        bounded.getConnection();
+        assertEquals(0, bounded.getAvailablePermits());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Connection> third = executor.submit(() -> bounded.getConnection());
+            while (bounded.getWaitingThreads() == 0) {
+                Thread.onSpinWait();
+            }
+            verify(pool, times(2)).getConnection();
+
+            first.close();
+            first.close();
+            assertNotNull(third.get(5, TimeUnit.SECONDS));
+        }
+        verify(pool, times(3)).getConnection();
+        assertEquals(0, bounded.getAvailablePermits());
+    }
+
+    @Test
+    void timesOutWhenNoPermitFreesUp() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        BoundedDataSource bounded = new BoundedDataSource(pool, 1, Duration.ofMillis(50));
+        bounded.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, bounded::getConnection);
+        verify(pool, times(1)).getConnection();
+    }
+
+    @Test
+    void aFailedCheckoutReturnsItsPermit() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+        BoundedDataSource bounded = new BoundedDataSource(pool, 1, Duration.ofSeconds(1));
+
+        assertThrows(SQLTransientConnectionException.class, bounded::getConnection);
+        assertEquals(1, bounded.getAvailablePermits());
+    }
+
+    @Test
+    void unwrapsToThePooledConnection() throws Exception {
+        Connection pooled = mock(Connection.class);
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        BoundedDataSource bounded = new BoundedDataSource(pool, 1, Duration.ofSeconds(1));
+
+        Connection connection = bounded.getConnection();
+        assertTrue(connection.isWrapperFor(Connection.class));
+        assertSame(pooled, connection.unwrap(Connection.class));
+
+        BoundedDataSource.release(connection);
+        assertEquals(1, bounded.getAvailablePermits());
+        connection.close();
+        assertEquals(1, bounded.getAvailablePermits());
+        verify(pooled).close();
+    }
+}
@@ -0,0 +1,136 @@
+package om.tanish.saas.common;
+
+import om.tanish.saas.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContextSnapshotTest {
+
+    private static final int TENANTS = 16;
+    private static final int TASKS_PER_TENANT = 200;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void pooledTasksRunAsTheirSubmitterUnderConcurrentLoad() throws Exception {
+        TaskDecorator decorator = new ContextPropagatingTaskDecorator();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> mismatches = new ArrayList<>();
+            for (int t = 0; t < TENANTS; t++) {
+                mismatches.add(requests.submit(() -> {
+                    UUID tenantId = UUID.randomUUID();
+                    UUID userId = UUID.randomUUID();
+                    actAs(tenantId, userId);
+                    List<Future<Boolean>> tasks = new ArrayList<>();
+                    for (int i = 0; i < TASKS_PER_TENANT; i++) {
+                        FutureTask<Boolean> task = new FutureTask<>(() -> {
+                            Thread.sleep(ThreadLocalRandom.current().nextInt(2));
+                            return tenantId.equals(TenantContext.getTenant()) && userId.equals(currentUser());
+                        });
+                        pool.execute(decorator.decorate(task));
+                        tasks.add(task);
+                    }
+                    int wrong = 0;
+                    for (Future<Boolean> task : tasks) {
+                        wrong += task.get(30, TimeUnit.SECONDS) ? 0 : 1;
+                    }
+                    return wrong;
+                }));
+            }
+            for (Future<Integer> perTenant : mismatches) {
+                assertEquals(0, perTenant.get(60, TimeUnit.SECONDS));
+            }
+        }
+
+        // The pool threads are left without a tenant or caller once the tasks are done
+        List<Future<Boolean>> leftovers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            leftovers.add(pool.submit(() -> TenantContext.getTenant() == null && currentUser() == null));
+        }
+        for (Future<Boolean> leftover : leftovers) {
+            assertTrue(leftover.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdownNow();
+    }
+
+    @Test
+    void virtualThreadExecutorForksRunAsTheCaller() throws Exception {
+        UUID tenantId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        actAs(tenantId, userId);
+
+        List<Future<UUID>> forks = new ArrayList<>();
+        try (ExecutorService scope = ContextSnapshot.capture().newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 100; i++) {
+                forks.add(scope.submit(() -> {
+                    assertEquals(userId, currentUser());
+                    UUID seen = TenantContext.getTenant();
+                    TenantContext.setTenant(UUID.randomUUID());
+                    return seen;
+                }));
+            }
+        }
+        for (Future<UUID> fork : forks) {
+            assertEquals(tenantId, fork.get());
+        }
+        assertEquals(tenantId, TenantContext.getTenant());
+    }
+
+    @Test
+    void runningUnderASnapshotRestoresTheThreadsOwnContext() {
+        UUID outerTenant = UUID.randomUUID();
+        UUID outerUser = UUID.randomUUID();
+        actAs(outerTenant, outerUser);
+        ContextSnapshot outer = ContextSnapshot.capture();
+
+        actAs(UUID.randomUUID(), UUID.randomUUID());
+        ContextSnapshot inner = ContextSnapshot.capture();
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+        ContextSnapshot empty = ContextSnapshot.capture();
+
+        outer.run(() -> {
+            assertEquals(inner.getTenantId(), inner.call(TenantContext::getTenant));
+            empty.run(() -> {
+                assertNull(TenantContext.getTenant());
+                assertNull(currentUser());
+            });
+            assertEquals(outerTenant, TenantContext.getTenant());
+            assertEquals(outerUser, currentUser());
+        });
+        assertNull(TenantContext.getTenant());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static void actAs(UUID tenantId, UUID userId) {
+        TenantContext.setTenant(tenantId);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+
+    private static UUID currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? (UUID) authentication.getPrincipal() : null;
+    }
+}
@@ -0,0 +1,50 @@
+package om.tanish.saas.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void decodingAnEncodedCursorGivesBackTheSamePosition() {
+        for (Instant createdAt : List.of(Instant.parse("2024-02-29T23:59:59.999999999Z"), Instant.EPOCH,
+                Instant.parse("1969-07-20T20:17:40.5Z"))) {
+            UUID id = UUID.randomUUID();
+            KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor(createdAt, id).encode());
+
+            assertEquals(createdAt, cursor.getCreatedAt());
+            assertEquals(id, cursor.getId());
+        }
+    }
+
+    @Test
+    void tokensAreUrlSafe() {
+        String token = new KeysetCursor(Instant.now(), new UUID(-1, -1)).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void garbageAndTamperedTokensAreRejectedAsBadRequests() {
+        String valid = new KeysetCursor(Instant.now(), UUID.randomUUID()).encode();
+        byte[] farFuture = ByteBuffer.allocate(28).putLong(Long.MAX_VALUE).putInt(0)
+                .putLong(1).putLong(1).array();
+
+        for (String token : List.of("", "not-a-cursor!", "%%%", valid.substring(1), valid + "AA",
+                valid.replace(valid.charAt(3), valid.charAt(3) == '+' ? '-' : '+'),
+                Base64.getUrlEncoder().withoutPadding().encodeToString(farFuture))) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                    () -> KeysetCursor.decode(token), token);
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        }
+    }
+}
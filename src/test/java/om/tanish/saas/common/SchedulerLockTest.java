@@ -0,0 +1,58 @@
+package om.tanish.saas.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:scheduler-lock",
+        "task-counters.reconcile-on-startup=false"
+})
+@ActiveProfiles("test")
+class SchedulerLockTest {
+
+    @Autowired
+    private SchedulerLock schedulerLock;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void onlyOneRunHoldsTheLockAtATime() {
+        AtomicInteger runs = new AtomicInteger();
+        AtomicBoolean nestedRan = new AtomicBoolean(true);
+
+        assertTrue(schedulerLock.runIfFree("job", Duration.ofHours(1), Duration.ZERO, () -> {
+            runs.incrementAndGet();
+            nestedRan.set(schedulerLock.runIfFree("job", Duration.ofHours(1), Duration.ZERO, runs::incrementAndGet));
+        }));
+        assertFalse(nestedRan.get());
+        assertEquals(1, runs.get());
+
+        // Released at the end of the run, so the next one goes ahead
+        assertTrue(schedulerLock.runIfFree("job", Duration.ofHours(1), Duration.ZERO, runs::incrementAndGet));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void lockAtLeastForHoldsTheLockAfterAQuickRun() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertTrue(schedulerLock.runIfFree("nightly", Duration.ofHours(1), Duration.ofMinutes(5), runs::incrementAndGet));
+        assertFalse(schedulerLock.runIfFree("nightly", Duration.ofHours(1), Duration.ofMinutes(5), runs::incrementAndGet));
+        assertEquals(1, runs.get());
+
+        // A lock whose holder died is taken over once lockAtMostFor has run out
+        jdbcTemplate.update("UPDATE scheduler_locks SET locked_until = locked_at, locked_by = 'dead-node' WHERE name = 'nightly'");
+        assertTrue(schedulerLock.runIfFree("nightly", Duration.ofHours(1), Duration.ZERO, runs::incrementAndGet));
+        assertEquals(2, runs.get());
+    }
+}
@@ -0,0 +1,114 @@
+package om.tanish.saas.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Bulk task inserts keyed by random (v4) versus time-ordered (v7) UUIDs, into a file-backed
+ * H2 table shaped like {@code tasks}. The table keeps growing across iterations, as it would
+ * in production; the table's disk footprint, primary key index included, is printed at the
+ * end of each trial. Run with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    @Param({"v4", "v7"})
+    private String idVersion;
+
+    @Param({"1000"})
+    private int batchSize;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> ids;
+    private long rows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("uuid-bench");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("bench"), "sa", "");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE tasks (" +
+                    "id UUID NOT NULL PRIMARY KEY, tenant_id UUID NOT NULL, title VARCHAR(255) NOT NULL, " +
+                    "status VARCHAR(255) NOT NULL, created_at TIMESTAMP(6) WITH TIME ZONE)");
+        }
+        connection.commit();
+        insert = connection.prepareStatement(
+                "INSERT INTO tasks (id, tenant_id, title, status, created_at) VALUES (?, ?, ?, 'TODO', ?)");
+        ids = "v7".equals(idVersion) ? UuidV7Generator::next : UUID::randomUUID;
+    }
+
+    /** One committed batch of {@code batchSize} rows per operation. */
+    @Benchmark
+    public long insertBatch() throws SQLException {
+        UUID tenantId = UUID.randomUUID();
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int i = 0; i < batchSize; i++) {
+            insert.setObject(1, ids.get());
+            insert.setObject(2, tenantId);
+            insert.setString(3, "Task " + i);
+            insert.setTimestamp(4, now);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+        rows += batchSize;
+        return rows;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet size = statement.executeQuery("CALL DISK_SPACE_USED('TASKS')")) {
+            size.next();
+            System.out.printf("%n%s: %,d rows, %,d KiB on disk%n", idVersion, rows, size.getLong(1) / 1024);
+        }
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UuidInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,170 @@
+package om.tanish.saas.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import om.tanish.saas.project.dto.CreateProjectRequest;
+import om.tanish.saas.project.entities.Project;
+import om.tanish.saas.project.repository.ProjectRepository;
+import om.tanish.saas.project.service.ProjectService;
+import om.tanish.saas.tenant.CreateTenantRequest;
+import om.tanish.saas.tenant.Tenant;
+import om.tanish.saas.tenant.TenantContext;
+import om.tanish.saas.tenant.TenantRepository;
+import om.tanish.saas.tenant.TenantService;
+import om.tanish.saas.user.User;
+import om.tanish.saas.user.UserRepository;
+import om.tanish.saas.user.UserRole;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:entity-cache",
+        "task-counters.reconcile-on-startup=false",
+        "saas.entity-cache.regions.projects.max-size=500"
+})
+@ActiveProfiles("test")
+class EntityCacheTest {
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager entityCacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromTheCacheWithoutLeavingTheTenant() {
+        Tenant tenant = createTenant("cache-co");
+        User user = actAsNewUser(tenant, "owner@cache.io");
+        UUID projectId = createProject("Cached", "first");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Each lookup runs in its own transaction, so only the first one reaches the database
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        for (int i = 0; i < 3; i++) {
+            Project project = readOnly.execute(status ->
+                    projectRepository.findCachedInTenant(projectId, tenant.getId()).orElseThrow());
+            assertEquals("first", project.getDescription());
+            readOnly.executeWithoutResult(status -> userRepository.findById(user.getId()).orElseThrow());
+        }
+        assertEquals(0, statistics.getPrepareStatementCount());
+        CacheRegionStatistics projects = statistics.getDomainDataRegionStatistics("projects");
+        assertEquals(3, projects.getHitCount());
+        assertEquals(3, statistics.getDomainDataRegionStatistics("users").getHitCount());
+
+        // A cached project is still checked against the caller's tenant
+        Tenant other = createTenant("other-co");
+        assertTrue(readOnly.execute(status ->
+                projectRepository.findCachedInTenant(projectId, other.getId())).isEmpty());
+
+        // Updates go through the cache, so the next read sees them without a query
+        CreateProjectRequest update = new CreateProjectRequest();
+        update.setName("Cached");
+        update.setDescription("second");
+        update.setStatus("COMPLETED");
+        projectService.updateProject(projectId, update, null);
+        statistics.clear();
+        Project updated = readOnly.execute(status ->
+                projectRepository.findCachedInTenant(projectId, tenant.getId()).orElseThrow());
+        assertEquals("second", updated.getDescription());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        FunctionCounter hits = meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", "projects", "result", "hit").functionCounter();
+        assertNotNull(hits);
+        assertTrue(hits.count() > 0);
+    }
+
+    @Test
+    void regionsTakeTheirSizeAndTtlFromProperties() {
+        // getConfiguration only takes the raw class literal
+        @SuppressWarnings("unchecked")
+        CaffeineConfiguration<Object, Object> projects = entityCacheManager.getCache("projects")
+                .getConfiguration(CaffeineConfiguration.class);
+        assertEquals(500, projects.getMaximumSize().orElseThrow());
+        @SuppressWarnings("unchecked")
+        CaffeineConfiguration<Object, Object> tenants = entityCacheManager.getCache("tenants")
+                .getConfiguration(CaffeineConfiguration.class);
+        assertEquals(10_000, tenants.getMaximumSize().orElseThrow());
+        assertEquals(Duration.ofMinutes(10).toNanos(), tenants.getExpireAfterWrite().orElseThrow());
+    }
+
+    private Tenant createTenant(String key) {
+        CreateTenantRequest request = new CreateTenantRequest();
+        request.setTenantKey(key);
+        request.setName(key + " Inc");
+        return tenantService.createTenant(request);
+    }
+
+    private User actAsNewUser(Tenant tenant, String email) {
+        TenantContext.setTenant(tenant.getId());
+        User user = new User();
+        user.setTenant(tenantRepository.getReferenceById(tenant.getId()));
+        user.setEmail(email);
+        user.setUsername(email);
+        user.setPassword("x");
+        user.setRole(UserRole.TENANT_ADMIN.name());
+        user.setCreatedAt(Instant.now());
+        user = userRepository.save(user);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                user.getId(), null, List.of(new SimpleGrantedAuthority("ROLE_TENANT_ADMIN"))));
+        return user;
+    }
+
+    private UUID createProject(String name, String description) {
+        CreateProjectRequest project = new CreateProjectRequest();
+        project.setName(name);
+        project.setDescription(description);
+        project.setStatus("IN_PROGRESS");
+        return projectService.createProject(project).getId();
+    }
+}
@@ -0,0 +1,233 @@
+package om.tanish.saas.config;
+
+import om.tanish.saas.SaasApplication;
+import om.tanish.saas.project.dto.CreateProjectRequest;
+import om.tanish.saas.project.dto.CreateTaskRequest;
+import om.tanish.saas.project.service.ProjectService;
+import om.tanish.saas.project.service.TaskService;
+import om.tanish.saas.security.JwtService;
+import om.tanish.saas.tenant.CreateTenantRequest;
+import om.tanish.saas.tenant.Tenant;
+import om.tanish.saas.tenant.TenantContext;
+import om.tanish.saas.tenant.TenantRepository;
+import om.tanish.saas.tenant.TenantService;
+import om.tanish.saas.tenant.TenantStatus;
+import om.tanish.saas.tenant.UpdateTenantStatusRequest;
+import om.tanish.saas.user.User;
+import om.tanish.saas.user.UserRepository;
+import om.tanish.saas.user.UserRole;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency of {@code GET /api/v1/tasks/my-tasks} under a closed-loop load, served from Tomcat's
+ * platform thread pool and then from virtual threads, each against a 20-connection pool. Every
+ * JDBC statement is delayed by {@code -DdbLatencyMs} to stand in for a network round trip to
+ * the database. Not a JMH benchmark: it boots the application and drives it over HTTP. Run with
+ * the main method from the test classpath, e.g. {@code -Dclients=1000 -Drequests=20}.
+ */
+public class VirtualThreadLatencyBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("clients", 500);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("requests", 10);
+    private static final long DB_LATENCY_MS = Long.getLong("dbLatencyMs", 2);
+
+    public static void main(String[] args) throws Exception {
+        List<String> results = new ArrayList<>();
+        for (String mode : List.of("platform", "virtual")) {
+            results.add(run(mode));
+        }
+        System.out.printf("%n%d clients x %d requests, %d ms per statement%n",
+                CLIENTS, REQUESTS_PER_CLIENT, DB_LATENCY_MS);
+        results.forEach(System.out::println);
+    }
+
+    private static String run(String mode) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SaasApplication.class)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new DatabaseLatency()))
+                .run("--spring.profiles.active=test",
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + "virtual".equals(mode),
+                        "--spring.datasource.url=jdbc:h2:mem:latency-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.om.tanish.saas=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--task-counters.reconcile-on-startup=false",
+                        "--rate-limit.global.capacity=65535",
+                        "--rate-limit.ip-authenticated.capacity=65535",
+                        "--rate-limit.ip-authenticated.refill-period=1s",
+                        "--rate-limit.tenant.capacity=65535",
+                        "--rate-limit.tenant.refill-period=1s",
+                        "--rate-limit.user.capacity=65535",
+                        "--rate-limit.user.refill-period=1s",
+                        "--rate-limit.tenant-max-concurrent-requests=100000");
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/v1/tasks/my-tasks");
+            String token = seed(context);
+
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient http = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(clients)
+                        .build();
+                HttpRequest request = HttpRequest.newBuilder(uri).header("Authorization", "Bearer " + token).build();
+
+                load(clients, http, request, Math.min(CLIENTS, 100), 10);
+                long started = System.nanoTime();
+                Load load = load(clients, http, request, CLIENTS, REQUESTS_PER_CLIENT);
+                double seconds = (System.nanoTime() - started) / 1e9;
+
+                long[] latencies = load.latencies();
+                Arrays.sort(latencies);
+                return String.format("%-8s %,8.0f req/s  p50 %7.1f ms  p99 %7.1f ms  max %7.1f ms  errors %d",
+                        mode, latencies.length / seconds, millis(latencies, 0.50), millis(latencies, 0.99),
+                        latencies[latencies.length - 1] / 1e6, load.errors());
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Load load(ExecutorService executor, HttpClient http, HttpRequest request,
+                             int clients, int requestsPerClient) throws Exception {
+        long[] latencies = new long[clients * requestsPerClient];
+        AtomicInteger errors = new AtomicInteger();
+        List<Future<?>> running = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            int offset = c * requestsPerClient;
+            running.add(executor.submit(() -> {
+                for (int i = 0; i < requestsPerClient; i++) {
+                    long start = System.nanoTime();
+                    try {
+                        if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[offset + i] = System.nanoTime() - start;
+                }
+                return null;
+            }));
+        }
+        for (Future<?> client : running) {
+            client.get(10, TimeUnit.MINUTES);
+        }
+        return new Load(latencies, errors.get());
+    }
+
+    /** One tenant user with 50 tasks; returns the user's access token. */
+    private static String seed(ConfigurableApplicationContext context) {
+        CreateTenantRequest tenantRequest = new CreateTenantRequest();
+        tenantRequest.setTenantKey("load");
+        tenantRequest.setName("Load Inc");
+        TenantService tenantService = context.getBean(TenantService.class);
+        Tenant tenant = tenantService.createTenant(tenantRequest);
+        UpdateTenantStatusRequest active = new UpdateTenantStatusRequest();
+        active.setTenantStatus(TenantStatus.ACTIVE);
+        tenantService.updateTenantStatus("load", active);
+        TenantContext.setTenant(tenant.getId());
+        try {
+            User user = new User();
+            user.setTenant(context.getBean(TenantRepository.class).getReferenceById(tenant.getId()));
+            user.setEmail("load@load.io");
+            user.setUsername("load");
+            user.setPassword("x");
+            user.setRole(UserRole.TENANT_ADMIN.name());
+            user.setCreatedAt(Instant.now());
+            user = context.getBean(UserRepository.class).save(user);
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    user.getId(), null, List.of(new SimpleGrantedAuthority("ROLE_TENANT_ADMIN"))));
+
+            CreateProjectRequest project = new CreateProjectRequest();
+            project.setName("Load");
+            project.setStatus("IN_PROGRESS");
+            CreateTaskRequest task = new CreateTaskRequest();
+            task.setProjectId(context.getBean(ProjectService.class).createProject(project).getId());
+            task.setStatus("TODO");
+            task.setPriority("MEDIUM");
+            task.setAssigneeId(user.getId());
+            for (int i = 0; i < 50; i++) {
+                task.setTitle("Task " + i);
+                context.getBean(TaskService.class).createTask(task);
+            }
+            return context.getBean(JwtService.class).generateToken(
+                    Map.of("tenantId", tenant.getId().toString(), "role", user.getRole()), user);
+        } finally {
+            TenantContext.clear();
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1e6;
+    }
+
+    private record Load(long[] latencies, int errors) {
+    }
+
+    /** Delays every statement execution on the primary DataSource by {@link #DB_LATENCY_MS}. */
+    private static final class DatabaseLatency implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return (Connection) slowed(Connection.class, super.getConnection());
+                }
+            };
+        }
+
+        private static Object slowed(Class<?> type, Object target) {
+            return Proxy.newProxyInstance(VirtualThreadLatencyBenchmark.class.getClassLoader(),
+                    new Class<?>[]{type}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute")) {
+                            Thread.sleep(DB_LATENCY_MS);
+                        }
+                        try {
+                            Object result = method.invoke(target, args);
+                            if (result instanceof Statement) {
+                                return slowed(method.getReturnType(), result);
+                            }
+                            return result;
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
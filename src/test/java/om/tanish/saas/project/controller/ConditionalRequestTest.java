@@ -0,0 +1,284 @@
+package om.tanish.saas.project.controller;
+
+import om.tanish.saas.project.dto.CreateProjectRequest;
+import om.tanish.saas.project.dto.CreateTaskRequest;
+import om.tanish.saas.project.service.ProjectService;
+import om.tanish.saas.project.service.TaskService;
+import om.tanish.saas.security.JwtService;
+import om.tanish.saas.tenant.CreateTenantRequest;
+import om.tanish.saas.tenant.Tenant;
+import om.tanish.saas.tenant.TenantContext;
+import om.tanish.saas.tenant.TenantRepository;
+import om.tanish.saas.tenant.TenantService;
+import om.tanish.saas.tenant.TenantStatus;
+import om.tanish.saas.tenant.UpdateTenantStatusRequest;
+import om.tanish.saas.user.CreateUserRequest;
+import om.tanish.saas.user.User;
+import om.tanish.saas.user.UserRepository;
+import om.tanish.saas.user.UserRole;
+import om.tanish.saas.user.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional-requests",
+        "task-counters.reconcile-on-startup=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String token;
+    private UUID tenantId;
+    private UUID userId;
+    private UUID projectId;
+    private UUID taskId;
+
+    @BeforeEach
+    void setUp() {
+        String key = "etag-" + UUID.randomUUID().toString().substring(0, 8);
+        CreateTenantRequest request = new CreateTenantRequest();
+        request.setTenantKey(key);
+        request.setName("ETag Inc");
+        Tenant tenant = tenantService.createTenant(request);
+        UpdateTenantStatusRequest active = new UpdateTenantStatusRequest();
+        active.setTenantStatus(TenantStatus.ACTIVE);
+        tenantService.updateTenantStatus(key, active);
+
+        TenantContext.setTenant(tenant.getId());
+        User user = new User();
+        user.setTenant(tenantRepository.getReferenceById(tenant.getId()));
+        user.setEmail(key + "@etag.io");
+        user.setUsername(key);
+        user.setPassword("x");
+        user.setRole(UserRole.TENANT_ADMIN.name());
+        user.setCreatedAt(Instant.now());
+        user = userRepository.save(user);
+        tenantId = tenant.getId();
+        userId = user.getId();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                user.getId(), null, List.of(new SimpleGrantedAuthority("ROLE_TENANT_ADMIN"))));
+
+        CreateProjectRequest project = new CreateProjectRequest();
+        project.setName("Polled");
+        project.setStatus("IN_PROGRESS");
+        project.setOwnerId(user.getId());
+        projectId = projectService.createProject(project).getId();
+        CreateTaskRequest task = new CreateTaskRequest();
+        task.setProjectId(projectId);
+        task.setTitle("Polled task");
+        task.setStatus("TODO");
+        task.setPriority("MEDIUM");
+        task.setAssigneeId(user.getId());
+        taskId = taskService.createTask(task).getId();
+
+        token = jwtService.generateToken(Map.of("tenantId", tenant.getId().toString(), "role", user.getRole()), user);
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void projectIsNotResentWhileUnchangedAndStaleWritesAreRejected() throws Exception {
+        String path = "/api/v1/projects/" + projectId;
+        MvcResult first = mockMvc.perform(authorized(get(path)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.name").value("Polled"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertFalse(etag.startsWith("W/"));
+
+        mockMvc.perform(authorized(get(path)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        String update = "{\"name\":\"Renamed\",\"status\":\"ON_HOLD\"}";
+        mockMvc.perform(authorized(put(path)).header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(update))
+                .andExpect(status().isPreconditionFailed());
+
+        MvcResult updated = mockMvc.perform(authorized(put(path)).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(update))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Renamed"))
+                .andReturn();
+        String newEtag = updated.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+
+        // The tag handed out by the write is the one the stored row produces
+        mockMvc.perform(authorized(get(path)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, newEtag));
+        mockMvc.perform(authorized(get(path)).header(HttpHeaders.IF_NONE_MATCH, newEtag))
+                .andExpect(status().isNotModified());
+
+        // A second writer still holding the old tag loses
+        mockMvc.perform(authorized(put(path)).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(update))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void taskListAndTaskTagsMoveWithEveryTaskWrite() throws Exception {
+        String list = "/api/v1/tasks/" + projectId;
+        String listEtag = mockMvc.perform(authorized(get(list)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Polled task"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(listEtag);
+        assertTrue(listEtag.startsWith("W/"));
+        mockMvc.perform(authorized(get(list)).header(HttpHeaders.IF_NONE_MATCH, listEtag))
+                .andExpect(status().isNotModified());
+
+        String taskPath = list + "/" + taskId;
+        String taskEtag = mockMvc.perform(authorized(get(taskPath)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(taskId.toString()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(authorized(get("/api/v1/tasks/" + UUID.randomUUID() + "/" + taskId)))
+                .andExpect(status().isNotFound());
+
+        // A status change is a write like any other: it moves both tags
+        String statusChange = "{\"projectId\":\"" + projectId + "\",\"title\":\"Polled task\"," +
+                "\"status\":\"IN_PROGRESS\",\"priority\":\"MEDIUM\"}";
+        String newTaskEtag = mockMvc.perform(authorized(put("/api/v1/tasks/" + taskId + "/status"))
+                        .header(HttpHeaders.IF_MATCH, taskEtag)
+                        .contentType(MediaType.APPLICATION_JSON).content(statusChange))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(taskEtag, newTaskEtag);
+        mockMvc.perform(authorized(put("/api/v1/tasks/" + taskId + "/status"))
+                        .header(HttpHeaders.IF_MATCH, taskEtag)
+                        .contentType(MediaType.APPLICATION_JSON).content(statusChange))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(authorized(get(taskPath)).header(HttpHeaders.IF_NONE_MATCH, newTaskEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(authorized(get(list)).header(HttpHeaders.IF_NONE_MATCH, listEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].status").value("IN_PROGRESS"));
+    }
+
+    @Test
+    void joinedProjectAndUserWritesMoveTheTagsThatShowThem() throws Exception {
+        String projectPath = "/api/v1/projects/" + projectId;
+        String list = "/api/v1/tasks/" + projectId;
+        String taskPath = list + "/" + taskId;
+        String projectEtag = etagOf(projectPath);
+        String listEtag = etagOf(list);
+        String taskEtag = etagOf(taskPath);
+
+        // The owner and assignee changes their email: nothing in the project or task row moves
+        TenantContext.setTenant(tenantId);
+        CreateUserRequest rename = new CreateUserRequest();
+        rename.setEmail("renamed@etag.io");
+        userService.updateUser(userId, rename);
+        TenantContext.clear();
+
+        mockMvc.perform(authorized(get(projectPath)).header(HttpHeaders.IF_NONE_MATCH, projectEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ownerEmail").value("renamed@etag.io"));
+        mockMvc.perform(authorized(get(taskPath)).header(HttpHeaders.IF_NONE_MATCH, taskEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assigneeEmail").value("renamed@etag.io"));
+        mockMvc.perform(authorized(get(list)).header(HttpHeaders.IF_NONE_MATCH, listEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].assigneeEmail").value("renamed@etag.io"));
+
+        // Renaming the project moves the tags of its tasks, and a write held against the old one loses
+        taskEtag = etagOf(taskPath);
+        listEtag = etagOf(list);
+        mockMvc.perform(authorized(put(projectPath)).header(HttpHeaders.IF_MATCH, etagOf(projectPath))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Renamed\",\"status\":\"ON_HOLD\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(authorized(get(taskPath)).header(HttpHeaders.IF_NONE_MATCH, taskEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projectName").value("Renamed"));
+        mockMvc.perform(authorized(get(list)).header(HttpHeaders.IF_NONE_MATCH, listEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].projectName").value("Renamed"));
+        String statusChange = "{\"projectId\":\"" + projectId + "\",\"title\":\"Polled task\"," +
+                "\"status\":\"DONE\",\"priority\":\"MEDIUM\"}";
+        mockMvc.perform(authorized(put("/api/v1/tasks/" + taskId + "/status"))
+                        .header(HttpHeaders.IF_MATCH, taskEtag)
+                        .contentType(MediaType.APPLICATION_JSON).content(statusChange))
+                .andExpect(status().isPreconditionFailed());
+
+        // The tag a write hands out is the one the next GET computes
+        String written = mockMvc.perform(authorized(put("/api/v1/tasks/" + taskId + "/status"))
+                        .header(HttpHeaders.IF_MATCH, etagOf(taskPath))
+                        .contentType(MediaType.APPLICATION_JSON).content(statusChange))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(authorized(get(taskPath)).header(HttpHeaders.IF_NONE_MATCH, written))
+                .andExpect(status().isNotModified());
+    }
+
+    private String etagOf(String path) throws Exception {
+        return mockMvc.perform(authorized(get(path)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+}
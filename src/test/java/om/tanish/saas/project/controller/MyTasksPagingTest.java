@@ -0,0 +1,275 @@
+package om.tanish.saas.project.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import om.tanish.saas.project.dto.CreateProjectRequest;
+import om.tanish.saas.project.entities.Task;
+import om.tanish.saas.project.enums.TaskStatus;
+import om.tanish.saas.project.repository.ProjectRepository;
+import om.tanish.saas.project.repository.TaskRepository;
+import om.tanish.saas.project.service.ProjectService;
+import om.tanish.saas.project.service.TaskService;
+import om.tanish.saas.security.JwtService;
+import om.tanish.saas.tenant.CreateTenantRequest;
+import om.tanish.saas.tenant.Tenant;
+import om.tanish.saas.tenant.TenantContext;
+import om.tanish.saas.tenant.TenantRepository;
+import om.tanish.saas.tenant.TenantService;
+import om.tanish.saas.tenant.TenantStatus;
+import om.tanish.saas.tenant.UpdateTenantStatusRequest;
+import om.tanish.saas.user.User;
+import om.tanish.saas.user.UserRepository;
+import om.tanish.saas.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:my-tasks-paging",
+        "task-counters.reconcile-on-startup=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MyTasksPagingTest {
+
+    private static final String MY_TASKS = "/api/v1/tasks/my-tasks";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @SpyBean
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String token;
+    private UUID tenantId;
+    private User user;
+    private UUID projectId;
+
+    @BeforeEach
+    void setUp() {
+        String key = "mine-" + UUID.randomUUID().toString().substring(0, 8);
+        CreateTenantRequest request = new CreateTenantRequest();
+        request.setTenantKey(key);
+        request.setName("Mine Inc");
+        Tenant tenant = tenantService.createTenant(request);
+        UpdateTenantStatusRequest active = new UpdateTenantStatusRequest();
+        active.setTenantStatus(TenantStatus.ACTIVE);
+        tenantService.updateTenantStatus(key, active);
+        tenantId = tenant.getId();
+
+        TenantContext.setTenant(tenantId);
+        user = new User();
+        user.setTenant(tenantRepository.getReferenceById(tenantId));
+        user.setEmail(key + "@mine.io");
+        user.setUsername(key);
+        user.setPassword("x");
+        user.setRole(UserRole.USER.name());
+        user.setCreatedAt(Instant.now());
+        user = userRepository.save(user);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                user.getId(), null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        CreateProjectRequest project = new CreateProjectRequest();
+        project.setName("Paged");
+        project.setStatus("IN_PROGRESS");
+        project.setOwnerId(user.getId());
+        projectId = projectService.createProject(project).getId();
+
+        token = jwtService.generateToken(Map.of("tenantId", tenantId.toString(), "role", user.getRole()), user);
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cursorPagesWalkEveryTaskOnceNewestFirst() throws Exception {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        List<Task> tasks = new ArrayList<>(seed(3, now.minusSeconds(60)));
+        tasks.addAll(seed(4, now));
+        tasks.addAll(seed(2, now.minusSeconds(30)));
+
+        assertEquals(newestFirst(tasks), walk(MY_TASKS + "?limit=2"));
+    }
+
+    @Test
+    void tasksCreatedAtTheSameInstantAreOrderedByIdAcrossPages() throws Exception {
+        List<Task> tasks = seed(7, Instant.now().truncatedTo(ChronoUnit.MICROS));
+
+        for (int limit = 1; limit <= 7; limit++) {
+            assertEquals(newestFirst(tasks), walk(MY_TASKS + "?limit=" + limit), "limit " + limit);
+        }
+    }
+
+    @Test
+    void aCursorTheServerDidNotIssueIsABadRequest() throws Exception {
+        for (String cursor : List.of("not-a-cursor!", "AAAA", "%%%", "////////////////////////////////////")) {
+            mockMvc.perform(authorized(get(MY_TASKS).param("limit", "10").param("after", cursor)))
+                    .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(authorized(get(MY_TASKS).param("limit", "0")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(authorized(get(MY_TASKS).param("limit", "101")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void aListTooLongForOneResponseRedirectsToTheCursorVariant() throws Exception {
+        seed(TaskService.MAX_UNPAGED_TASKS, Instant.now().truncatedTo(ChronoUnit.MICROS));
+        mockMvc.perform(authorized(get(MY_TASKS + "?status=TODO")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(TaskService.MAX_UNPAGED_TASKS));
+
+        seed(1, Instant.now().truncatedTo(ChronoUnit.MICROS));
+        String location = mockMvc.perform(authorized(get(MY_TASKS + "?status=TODO")))
+                .andExpect(status().isSeeOther())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        assertNotNull(location);
+        assertTrue(location.contains("status=TODO"), location);
+        assertTrue(location.contains("limit=50"), location);
+
+        mockMvc.perform(authorized(get(location)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(50))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void theStreamEmitsEveryRowUnderTheCallersTenant() throws Exception {
+        List<Task> tasks = seed(3, Instant.now().minusSeconds(10).truncatedTo(ChronoUnit.MICROS));
+        tasks.addAll(seed(250, Instant.now().truncatedTo(ChronoUnit.MICROS)));
+
+        // The body runs on an async thread; record the tenant it queries under
+        Answer<?> repository = Mockito.mockingDetails(taskRepository).getMockCreationSettings().getDefaultAnswer();
+        AtomicReference<UUID> streamedUnder = new AtomicReference<>();
+        AtomicReference<Thread> streamedOn = new AtomicReference<>();
+        doAnswer(invocation -> {
+            streamedUnder.set(TenantContext.getTenant());
+            streamedOn.set(Thread.currentThread());
+            return repository.answer(invocation);
+        }).when(taskRepository).streamMyTasks(any(), any(), any(), any(), any());
+
+        MvcResult started = mockMvc.perform(authorized(get(MY_TASKS)).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString();
+
+        List<UUID> streamed = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            streamed.add(UUID.fromString(objectMapper.readTree(line).get("id").asText()));
+        }
+        assertEquals(newestFirst(tasks), streamed);
+        assertEquals(tenantId, streamedUnder.get());
+        assertNotEquals(Thread.currentThread(), streamedOn.get());
+    }
+
+    /** Follows nextCursor from the first page to the last and returns the ids in order. */
+    private List<UUID> walk(String firstPage) throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        String path = firstPage;
+        for (int pages = 0; pages < 100; pages++) {
+            JsonNode page = objectMapper.readTree(mockMvc.perform(authorized(get(path)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("items").forEach(item -> ids.add(UUID.fromString(item.get("id").asText())));
+            if (page.get("nextCursor").isNull()) {
+                assertFalse(page.get("hasNext").asBoolean());
+                return ids;
+            }
+            path = firstPage + "&after=" + page.get("nextCursor").asText();
+        }
+        return fail("Paging did not end");
+    }
+
+    private List<Task> seed(int count, Instant createdAt) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setTenant(tenantRepository.getReferenceById(tenantId));
+            task.setProject(projectRepository.getReferenceById(projectId));
+            task.setTitle("Task " + i);
+            task.setStatus(TaskStatus.TODO);
+            task.setAssignee(user);
+            task.setCreatedBy(user);
+            task.setCreatedAt(createdAt);
+            tasks.add(task);
+        }
+        return new ArrayList<>(taskRepository.saveAll(tasks));
+    }
+
+    /** The listing order: createdAt descending, ties broken by the id in the database's byte order. */
+    private static List<UUID> newestFirst(List<Task> tasks) {
+        return tasks.stream()
+                .sorted(Comparator.comparing(Task::getCreatedAt)
+                        .thenComparing(task -> task.getId().toString())
+                        .reversed())
+                .map(Task::getId)
+                .toList();
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+}
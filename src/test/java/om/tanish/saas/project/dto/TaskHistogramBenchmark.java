@@ -0,0 +1,102 @@
+package om.tanish.saas.project.dto;
+
+import om.tanish.saas.project.entities.Task;
+import om.tanish.saas.project.enums.TaskPriority;
+import om.tanish.saas.project.enums.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single-pass histogram with the per-status/per-priority stream filters that
+ * project statistics used before. Run with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskHistogramBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int taskCount;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+
+        tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task();
+            task.setStatus(statuses[random.nextInt(statuses.length)]);
+            task.setPriority(priorities[random.nextInt(priorities.length)]);
+            tasks.add(task);
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> multiStream() {
+        long totalTasks = tasks.size();
+        long completedTasks = tasks.stream().filter(t -> t.getStatus() == TaskStatus.DONE).count();
+
+        Map<String, Long> tasksByStatus = new HashMap<>();
+        tasksByStatus.put("TODO", tasks.stream().filter(t -> t.getStatus() == TaskStatus.TODO).count());
+        tasksByStatus.put("IN_PROGRESS", tasks.stream().filter(t -> t.getStatus() == TaskStatus.IN_PROGRESS).count());
+        tasksByStatus.put("IN_REVIEW", tasks.stream().filter(t -> t.getStatus() == TaskStatus.IN_REVIEW).count());
+        tasksByStatus.put("DONE", completedTasks);
+        tasksByStatus.put("BLOCKED", tasks.stream().filter(t -> t.getStatus() == TaskStatus.BLOCKED).count());
+
+        Map<String, Long> tasksByPriority = new HashMap<>();
+        tasksByPriority.put("LOW", tasks.stream().filter(t -> t.getPriority() == TaskPriority.LOW).count());
+        tasksByPriority.put("MEDIUM", tasks.stream().filter(t -> t.getPriority() == TaskPriority.MEDIUM).count());
+        tasksByPriority.put("HIGH", tasks.stream().filter(t -> t.getPriority() == TaskPriority.HIGH).count());
+        tasksByPriority.put("URGENT", tasks.stream().filter(t -> t.getPriority() == TaskPriority.URGENT).count());
+
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("totalTasks", totalTasks);
+        statistics.put("completedTasks", completedTasks);
+        statistics.put("tasksByStatus", tasksByStatus);
+        statistics.put("tasksByPriority", tasksByPriority);
+        return statistics;
+    }
+
+    @Benchmark
+    public ProjectStatistics histogram() {
+        TaskHistogram histogram = TaskHistogram.ofTasks(tasks);
+
+        ProjectStatistics statistics = new ProjectStatistics();
+        statistics.setTotalTasks(histogram.total());
+        statistics.setCompletedTasks(histogram.countByStatus(TaskStatus.DONE));
+        statistics.setHistogram(histogram);
+        return statistics;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskHistogramBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
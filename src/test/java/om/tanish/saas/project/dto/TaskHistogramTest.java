@@ -0,0 +1,58 @@
+package om.tanish.saas.project.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import om.tanish.saas.project.entities.Task;
+import om.tanish.saas.project.enums.TaskPriority;
+import om.tanish.saas.project.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskHistogramTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void ofTasks_CountsByStatusAndPriority() {
+        TaskHistogram histogram = TaskHistogram.ofTasks(List.of(
+                task(TaskStatus.TODO, TaskPriority.HIGH),
+                task(TaskStatus.TODO, TaskPriority.LOW),
+                task(TaskStatus.DONE, TaskPriority.HIGH)
+        ));
+
+        assertEquals(3, histogram.total());
+        assertEquals(2, histogram.countByStatus(TaskStatus.TODO));
+        assertEquals(0, histogram.countByStatus(TaskStatus.BLOCKED));
+        assertEquals(2, histogram.countByPriority(TaskPriority.HIGH));
+        assertEquals(1, histogram.count(TaskStatus.DONE, TaskPriority.HIGH));
+    }
+
+    @Test
+    void serialize_UnwrapsIntoProjectStatistics() throws Exception {
+        TaskHistogram histogram = new TaskHistogram();
+        histogram.add(TaskStatus.IN_PROGRESS, TaskPriority.URGENT, 4);
+
+        ProjectStatistics statistics = new ProjectStatistics();
+        statistics.setTotalTasks(histogram.total());
+        statistics.setHistogram(histogram);
+
+        JsonNode json = objectMapper.valueToTree(statistics);
+
+        assertFalse(json.has("histogram"));
+        assertEquals(4, json.get("totalTasks").asLong());
+        assertEquals(4, json.get("tasksByStatus").get("IN_PROGRESS").asLong());
+        assertEquals(0, json.get("tasksByStatus").get("DONE").asLong());
+        assertEquals(4, json.get("tasksByPriority").get("URGENT").asLong());
+        assertEquals(4, json.get("tasksByStatusAndPriority").get("IN_PROGRESS").get("URGENT").asLong());
+    }
+
+    private static Task task(TaskStatus status, TaskPriority priority) {
+        Task task = new Task();
+        task.setStatus(status);
+        task.setPriority(priority);
+        return task;
+    }
+}
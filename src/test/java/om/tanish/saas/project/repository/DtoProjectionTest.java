@@ -0,0 +1,179 @@
+package om.tanish.saas.project.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import om.tanish.saas.project.dto.CreateProjectRequest;
+import om.tanish.saas.project.dto.CreateTaskRequest;
+import om.tanish.saas.project.dto.ProjectResponseDTO;
+import om.tanish.saas.project.dto.TaskResponseDTO;
+import om.tanish.saas.project.enums.ProjectStatus;
+import om.tanish.saas.project.service.ProjectService;
+import om.tanish.saas.project.service.TaskService;
+import om.tanish.saas.tenant.CreateTenantRequest;
+import om.tanish.saas.tenant.Tenant;
+import om.tanish.saas.tenant.TenantContext;
+import om.tanish.saas.tenant.TenantRepository;
+import om.tanish.saas.tenant.TenantService;
+import om.tanish.saas.user.User;
+import om.tanish.saas.user.UserRepository;
+import om.tanish.saas.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The read endpoints build their DTOs in JPQL constructor expressions while the write endpoints
+ * map the saved entity. Both must describe a row the same way, joined fields included.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dto-projections",
+        "task-counters.reconcile-on-startup=false"
+})
+@ActiveProfiles("test")
+class DtoProjectionTest {
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UUID tenantId;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        String key = "dto-" + UUID.randomUUID().toString().substring(0, 8);
+        CreateTenantRequest request = new CreateTenantRequest();
+        request.setTenantKey(key);
+        request.setName("Dto Inc");
+        Tenant tenant = tenantService.createTenant(request);
+        tenantId = tenant.getId();
+
+        TenantContext.setTenant(tenantId);
+        user = new User();
+        user.setTenant(tenantRepository.getReferenceById(tenantId));
+        user.setEmail(key + "@dto.io");
+        user.setUsername(key);
+        user.setPassword("x");
+        user.setRole(UserRole.TENANT_ADMIN.name());
+        user.setCreatedAt(Instant.now());
+        user = userRepository.save(user);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                user.getId(), null, List.of(new SimpleGrantedAuthority("ROLE_TENANT_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void projectedProjectsMatchTheMappedEntity() {
+        ProjectResponseDTO created = projectService.createProject(project("Projected", "Described"));
+        assertEquals(user.getEmail(), created.getOwnerEmail());
+
+        assertSameFields(created, projectRepository.findDtoByIdAndTenantId(created.getId(), tenantId).orElseThrow());
+        assertSameFields(created, single(projectRepository.findDtosByTenantIdAndStatus(tenantId, ProjectStatus.IN_PROGRESS)));
+
+        ProjectResponseDTO updated = projectService.updateProject(created.getId(), project("Renamed", null), null).body();
+        assertNotEquals(created.getUpdatedAt(), updated.getUpdatedAt());
+        assertSameFields(updated, projectRepository.findDtoByIdAndTenantId(created.getId(), tenantId).orElseThrow());
+    }
+
+    @Test
+    void projectedTasksMatchTheMappedEntity() {
+        UUID projectId = projectService.createProject(project("Tasks", null)).getId();
+
+        TaskResponseDTO assigned = taskService.createTask(task(projectId, "Assigned", user.getId()));
+        assertEquals("Tasks", assigned.getProjectName());
+        assertEquals(user.getEmail(), assigned.getAssigneeEmail());
+        assertSameFields(assigned, taskRepository.findDtoByIdAndTenantId(assigned.getId(), tenantId).orElseThrow());
+
+        // The assignee is a LEFT JOIN: an unassigned task is still listed, with empty assignee fields
+        TaskResponseDTO unassigned = taskService.createTask(task(projectId, "Unassigned", null));
+        assertNull(unassigned.getAssigneeEmail());
+        assertSameFields(unassigned, taskRepository.findDtoByIdAndTenantId(unassigned.getId(), tenantId).orElseThrow());
+
+        List<TaskResponseDTO> page = taskRepository.findFirstPageByProject(tenantId, projectId, Limit.of(10));
+        assertEquals(2, page.size());
+        for (TaskResponseDTO projected : page) {
+            assertSameFields(projected.getId().equals(assigned.getId()) ? assigned : unassigned, projected);
+        }
+        assertSameFields(assigned, single(taskRepository.findMyTasks(tenantId, user.getId(), null, null, null, Limit.of(10))));
+
+        CreateTaskRequest change = task(projectId, "Assigned and moved on", user.getId());
+        change.setStatus("IN_REVIEW");
+        change.setPriority("URGENT");
+        TaskResponseDTO updated = taskService.updateTask(assigned.getId(), change, null).body();
+        assertSameFields(updated, taskRepository.findDtoByIdAndTenantId(assigned.getId(), tenantId).orElseThrow());
+    }
+
+    /** Compares every serialized field, so a field added to the DTO is covered without touching this test. */
+    private void assertSameFields(Object mapped, Object projected) {
+        JsonNode expected = objectMapper.valueToTree(mapped);
+        JsonNode actual = objectMapper.valueToTree(projected);
+        assertEquals(expected, actual);
+        expected.fieldNames().forEachRemaining(field ->
+                assertTrue(actual.has(field), "projection lacks " + field));
+    }
+
+    private static <T> T single(List<T> items) {
+        assertEquals(1, items.size(), String.valueOf(items));
+        return items.get(0);
+    }
+
+    private CreateProjectRequest project(String name, String description) {
+        CreateProjectRequest request = new CreateProjectRequest();
+        request.setName(name);
+        request.setDescription(description);
+        request.setStatus("IN_PROGRESS");
+        request.setOwnerId(user.getId());
+        return request;
+    }
+
+    private static CreateTaskRequest task(UUID projectId, String title, UUID assigneeId) {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setProjectId(projectId);
+        request.setTitle(title);
+        request.setDescription(title + " in detail");
+        request.setStatus("TODO");
+        request.setPriority("HIGH");
+        request.setAssigneeId(assigneeId);
+        request.setDueDate(Instant.now().plus(3, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS));
+        return request;
+    }
+}
@@ -0,0 +1,184 @@
+package om.tanish.saas.project.repository;
+
+import om.tanish.saas.tenant.TenantSchemaProvisioner;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs EXPLAIN on the SQL behind the hot repository queries against a seeded, Flyway-built
+ * schema, and against a dedicated tenant schema built from db/tenant-schema.sql, and fails when
+ * one of them scans a whole table instead of using its index.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plans",
+        "task-counters.reconcile-on-startup=false"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanRegressionTest {
+
+    private static final int TENANTS = 20;
+    private static final int PROJECTS_PER_TENANT = 5;
+    private static final int TASKS_PER_PROJECT = 40;
+
+    private static final String[] TASK_STATUSES = {"TODO", "IN_PROGRESS", "IN_REVIEW", "DONE", "BLOCKED"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "URGENT"};
+    private static final String DEDICATED_SCHEMA = "tenant_plans";
+    private static final Pattern TENANT_TABLE = Pattern.compile("\\b(projects|tasks)\\b");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TenantSchemaProvisioner tenantSchemaProvisioner;
+
+    private UUID tenantId;
+    private UUID projectId;
+    private UUID userId;
+
+    @BeforeAll
+    void seed() {
+        tenantSchemaProvisioner.provision(DEDICATED_SCHEMA);
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> tasks = new ArrayList<>();
+        for (int t = 0; t < TENANTS; t++) {
+            UUID tenant = UUID.randomUUID();
+            UUID user = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO tenants (id, tenant_key, name, status, created_at) VALUES (?, ?, ?, 'ACTIVE', ?)",
+                    tenant, "plan-" + t, "Plan " + t, now);
+            jdbcTemplate.update("INSERT INTO users (id, tenant_id, email, username, password, role, created_at) " +
+                    "VALUES (?, ?, ?, ?, 'x', 'USER', ?)", user, tenant, "u" + t + "@plan.io", "u" + t, now);
+            for (int p = 0; p < PROJECTS_PER_TENANT; p++) {
+                UUID project = UUID.randomUUID();
+                for (String projects : List.of("projects", DEDICATED_SCHEMA + ".projects")) {
+                    jdbcTemplate.update("INSERT INTO " + projects + " (id, tenant_id, name, status, owner_id, created_at, updated_at) " +
+                            "VALUES (?, ?, ?, 'ACTIVE', ?, ?, ?)", project, tenant, "P" + p, user, now, now);
+                }
+                for (int i = 0; i < TASKS_PER_PROJECT; i++) {
+                    tasks.add(new Object[]{UUID.randomUUID(), tenant, project, "T" + i,
+                            TASK_STATUSES[i % TASK_STATUSES.length], PRIORITIES[i % PRIORITIES.length],
+                            i % 2 == 0 ? user : null, Timestamp.from(now.toInstant().minusSeconds(i))});
+                }
+                projectId = project;
+            }
+            tenantId = tenant;
+            userId = user;
+        }
+        for (String table : List.of("tasks", DEDICATED_SCHEMA + ".tasks")) {
+            jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id, tenant_id, project_id, title, status, priority, assignee_id, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", tasks);
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    // SQL equivalents of the repository queries, keyed by the method they stand for
+    Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("TaskRepository.findFirstPageByProject",
+                        "SELECT id FROM tasks WHERE tenant_id = ? AND project_id = ? " +
+                                "ORDER BY created_at DESC, id DESC LIMIT 20",
+                        new Object[]{tenantId, projectId}),
+                Arguments.of("TaskRepository.findMyTasks",
+                        "SELECT id FROM tasks WHERE tenant_id = ? AND assignee_id = ? " +
+                                "ORDER BY created_at DESC, id DESC LIMIT 20",
+                        new Object[]{tenantId, userId}),
+                Arguments.of("TaskRepository.countByStatusForTenant",
+                        "SELECT status, COUNT(*) FROM tasks WHERE tenant_id = ? GROUP BY status",
+                        new Object[]{tenantId}),
+                Arguments.of("TaskRepository.countByProjectStatusAndPriorityForTenant",
+                        "SELECT project_id, status, priority, COUNT(*) FROM tasks WHERE tenant_id = ? " +
+                                "GROUP BY project_id, status, priority",
+                        new Object[]{tenantId}),
+                Arguments.of("TaskRepository.countByProjectIdAndStatus",
+                        "SELECT COUNT(*) FROM tasks WHERE tenant_id = ? AND project_id = ? AND status = ?",
+                        new Object[]{tenantId, projectId, "TODO"}),
+                Arguments.of("TaskRepository.countOverdueForTenant",
+                        "SELECT COUNT(*) FROM tasks WHERE tenant_id = ? AND due_date < ? AND status <> 'DONE'",
+                        new Object[]{tenantId, Timestamp.from(Instant.now())}),
+                Arguments.of("TaskRepository.countOpenByAssigneeForTenant",
+                        "SELECT assignee_id, COUNT(*) FROM tasks WHERE tenant_id = ? AND assignee_id IS NOT NULL " +
+                                "AND status <> 'DONE' GROUP BY assignee_id ORDER BY COUNT(*) DESC LIMIT 10",
+                        new Object[]{tenantId}),
+                Arguments.of("TaskRepository.findRecentlyUpdated",
+                        "SELECT id FROM tasks WHERE tenant_id = ? AND updated_at IS NOT NULL " +
+                                "ORDER BY updated_at DESC LIMIT 10",
+                        new Object[]{tenantId}),
+                Arguments.of("TaskRepository.findListVersionByProject",
+                        "SELECT COUNT(*), MAX(t.updated_at), MAX(p.updated_at), MAX(COALESCE(u.updated_at, u.created_at)) " +
+                                "FROM tasks t JOIN projects p ON p.id = t.project_id LEFT JOIN users u ON u.id = t.assignee_id " +
+                                "WHERE t.tenant_id = ? AND t.project_id = ?",
+                        new Object[]{tenantId, projectId}),
+                Arguments.of("ProjectRepository.countByTenantIdAndStatus",
+                        "SELECT COUNT(*) FROM projects WHERE tenant_id = ? AND status = ?",
+                        new Object[]{tenantId, "ACTIVE"}),
+                Arguments.of("ProjectRepository.findAllByTenantIdAndOwnerId",
+                        "SELECT id FROM projects WHERE tenant_id = ? AND owner_id = ?",
+                        new Object[]{tenantId, userId}),
+                Arguments.of("UserRepository.findByEmail",
+                        "SELECT id FROM users WHERE email = ?",
+                        new Object[]{"u0@plan.io"})
+        );
+    }
+
+    // The same queries against the tenant tables of a dedicated schema (users stay shared)
+    Stream<Arguments> hotQueriesInDedicatedSchema() {
+        return hotQueries().map(arguments -> {
+            Object[] values = arguments.get();
+            String sql = TENANT_TABLE.matcher((String) values[1]).replaceAll(DEDICATED_SCHEMA + ".$1");
+            return Arguments.of(values[0], sql, values[2]);
+        });
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryUsesAnIndex(String query, String sql, Object[] args) {
+        assertUsesAnIndex(query, sql, args);
+    }
+
+    @ParameterizedTest(name = "{0} in a dedicated schema")
+    @MethodSource("hotQueriesInDedicatedSchema")
+    void hotQueryUsesAnIndexInADedicatedSchema(String query, String sql, Object[] args) {
+        assertUsesAnIndex(query, sql, args);
+    }
+
+    // H2 falls back on its foreign key indexes, so plans alone would not notice a missing index
+    @Test
+    void dedicatedSchemaHasEveryIndexOfTheSharedTenantTables() {
+        Set<String> shared = indexNames("PUBLIC");
+        assertFalse(shared.isEmpty());
+        assertEquals(shared, indexNames(DEDICATED_SCHEMA.toUpperCase()));
+    }
+
+    private Set<String> indexNames(String schema) {
+        return new TreeSet<>(jdbcTemplate.queryForList("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES " +
+                "WHERE TABLE_SCHEMA = ? AND TABLE_NAME IN ('PROJECTS', 'TASKS') AND INDEX_NAME LIKE 'IDX\\_%'",
+                String.class, schema));
+    }
+
+    private void assertUsesAnIndex(String query, String sql, Object[] args) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+        // H2 reports a full scan as "tableScan", PostgreSQL as "Seq Scan"
+        assertFalse(plan.contains("tableScan") || plan.contains("Seq Scan"), query + " scans a table:\n" + plan);
+    }
+}
@@ -0,0 +1,198 @@
+package om.tanish.saas.project.repository;
+
+import om.tanish.saas.common.CursorPage;
+import om.tanish.saas.common.KeysetCursor;
+import om.tanish.saas.project.dto.TaskResponseDTO;
+import om.tanish.saas.project.service.TaskService;
+import om.tanish.saas.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pages the project task listing through the keyset queries the way clients do, on tasks whose
+ * created_at collide so only the id tiebreak keeps the order total.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-keyset",
+        "task-counters.reconcile-on-startup=false"
+})
+@ActiveProfiles("test")
+class TaskKeysetQueryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+    private UUID tenantId;
+    private UUID userId;
+    private UUID projectId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+        projectId = UUID.randomUUID();
+        Timestamp created = Timestamp.from(now);
+        jdbcTemplate.update("INSERT INTO tenants (id, tenant_key, name, status, created_at) VALUES (?, ?, ?, 'ACTIVE', ?)",
+                tenantId, "keyset-" + tenantId.toString().substring(0, 8), "Keyset", created);
+        jdbcTemplate.update("INSERT INTO users (id, tenant_id, email, username, password, role, created_at) " +
+                "VALUES (?, ?, ?, ?, 'x', 'USER', ?)", userId, tenantId, userId + "@keyset.io", userId.toString(), created);
+        jdbcTemplate.update("INSERT INTO projects (id, tenant_id, name, status, owner_id, created_at, updated_at) " +
+                "VALUES (?, ?, 'Keyset', 'ACTIVE', ?, ?, ?)", projectId, tenantId, userId, created, created);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void pagesAcrossTasksCreatedAtTheSameInstantInIdOrder() {
+        // Ids on both sides of the sign bit, so a signed comparison would misorder them
+        List<UUID> ids = List.of(
+                UUID.fromString("00000000-0000-7000-8000-000000000001"),
+                UUID.fromString("7fffffff-ffff-7fff-bfff-ffffffffffff"),
+                UUID.fromString("80000000-0000-7000-8000-000000000000"),
+                UUID.fromString("ffffffff-ffff-7fff-bfff-fffffffffffe"),
+                UUID.fromString("12345678-9abc-7def-8123-456789abcdef"),
+                UUID.fromString("c0ffee00-0000-7000-8000-000000000000"),
+                UUID.fromString("0fffffff-ffff-7fff-bfff-ffffffffffff"));
+        for (UUID id : ids) {
+            insertTask(id, now);
+        }
+        List<UUID> expected = ids.stream()
+                .sorted(Comparator.comparing(UUID::toString).reversed())
+                .toList();
+
+        for (int limit = 1; limit <= ids.size() + 1; limit++) {
+            assertEquals(expected, walk(limit), "limit " + limit);
+        }
+    }
+
+    @Test
+    void tiesStraddlingAPageBoundaryAreNeitherRepeatedNorSkipped() {
+        List<UUID> expected = new ArrayList<>();
+        for (int second = 0; second < 4; second++) {
+            List<UUID> tied = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                UUID id = UUID.randomUUID();
+                insertTask(id, now.minusSeconds(second));
+                tied.add(id);
+            }
+            tied.sort(Comparator.comparing(UUID::toString).reversed());
+            expected.addAll(tied);
+        }
+        // A task of another project created at the same instant is never part of the listing
+        UUID otherProject = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO projects (id, tenant_id, name, status, owner_id, created_at, updated_at) " +
+                "VALUES (?, ?, 'Other', 'ACTIVE', ?, ?, ?)", otherProject, tenantId, userId,
+                Timestamp.from(now), Timestamp.from(now));
+        jdbcTemplate.update("INSERT INTO tasks (id, tenant_id, project_id, title, status, priority, created_at) " +
+                "VALUES (?, ?, ?, 'Elsewhere', 'TODO', 'MEDIUM', ?)", UUID.randomUUID(), tenantId, otherProject,
+                Timestamp.from(now));
+
+        assertEquals(expected, walk(2));
+        assertEquals(expected, walk(5));
+    }
+
+    @Test
+    void aCursorAtARowThatNoLongerExistsResumesRightAfterIt() {
+        UUID first = UUID.fromString("30000000-0000-7000-8000-000000000000");
+        UUID second = UUID.fromString("20000000-0000-7000-8000-000000000000");
+        UUID third = UUID.fromString("10000000-0000-7000-8000-000000000000");
+        for (UUID id : List.of(first, second, third)) {
+            insertTask(id, now);
+        }
+        KeysetCursor cursor = new KeysetCursor(now, UUID.fromString("25000000-0000-7000-8000-000000000000"));
+
+        List<TaskResponseDTO> page = taskRepository.findPageByProjectAfter(
+                tenantId, projectId, cursor.getCreatedAt(), cursor.getId(), Limit.of(10));
+
+        assertEquals(List.of(second, third), page.stream().map(TaskResponseDTO::getId).toList());
+    }
+
+    @Test
+    void theLastPageHasNoNextCursorEvenWhenItIsFull() {
+        for (int i = 0; i < 4; i++) {
+            insertTask(UUID.randomUUID(), now.minusSeconds(i % 2));
+        }
+        TenantContext.setTenant(tenantId);
+
+        CursorPage<TaskResponseDTO> first = taskService.getTasksByProjectAfter(projectId, null, 2);
+        assertTrue(first.isHasNext());
+        CursorPage<TaskResponseDTO> last = taskService.getTasksByProjectAfter(projectId, first.getNextCursor(), 2);
+        assertEquals(2, last.getItems().size());
+        assertNull(last.getNextCursor());
+        assertFalse(last.isHasNext());
+
+        CursorPage<TaskResponseDTO> whole = taskService.getTasksByProjectAfter(projectId, null, 4);
+        assertEquals(4, whole.getItems().size());
+        assertNull(whole.getNextCursor());
+
+        CursorPage<TaskResponseDTO> pastTheEnd = taskService.getTasksByProjectAfter(
+                projectId, new KeysetCursor(Instant.EPOCH, new UUID(0, 0)).encode(), 2);
+        assertTrue(pastTheEnd.getItems().isEmpty());
+        assertNull(pastTheEnd.getNextCursor());
+    }
+
+    @Test
+    void aTamperedOrGarbageCursorIsABadRequest() {
+        insertTask(UUID.randomUUID(), now);
+        insertTask(UUID.randomUUID(), now);
+        TenantContext.setTenant(tenantId);
+        String valid = taskService.getTasksByProjectAfter(projectId, null, 1).getNextCursor();
+        assertNotNull(valid);
+
+        for (String cursor : List.of("garbage", valid.substring(0, valid.length() - 2), valid + "AAAA", "!" + valid)) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                    () -> taskService.getTasksByProjectAfter(projectId, cursor, 1), cursor);
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        }
+    }
+
+    /** Pages through the project with the keyset queries, resuming from each page's last row. */
+    private List<UUID> walk(int limit) {
+        List<UUID> ids = new ArrayList<>();
+        List<TaskResponseDTO> page = taskRepository.findFirstPageByProject(tenantId, projectId, Limit.of(limit));
+        while (!page.isEmpty()) {
+            page.forEach(task -> ids.add(task.getId()));
+            TaskResponseDTO last = page.get(page.size() - 1);
+            KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
+            page = taskRepository.findPageByProjectAfter(
+                    tenantId, projectId, cursor.getCreatedAt(), cursor.getId(), Limit.of(limit));
+            assertTrue(ids.size() <= 100, "paging did not end");
+        }
+        return ids;
+    }
+
+    private void insertTask(UUID id, Instant createdAt) {
+        jdbcTemplate.update("INSERT INTO tasks (id, tenant_id, project_id, title, status, priority, assignee_id, created_at) " +
+                "VALUES (?, ?, ?, ?, 'TODO', 'MEDIUM', ?, ?)", id, tenantId, projectId, "Task " + id, userId,
+                Timestamp.from(createdAt));
+    }
+}
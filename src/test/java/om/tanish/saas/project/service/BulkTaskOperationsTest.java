@@ -0,0 +1,223 @@
+package om.tanish.saas.project.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import om.tanish.saas.project.dto.BulkCreateTasksRequest;
+import om.tanish.saas.project.dto.BulkCreateTasksResponse;
+import om.tanish.saas.project.dto.BulkStatusUpdateRequest;
+import om.tanish.saas.project.dto.BulkStatusUpdateResponse;
+import om.tanish.saas.project.dto.BulkTaskResult;
+import om.tanish.saas.project.dto.CreateProjectRequest;
+import om.tanish.saas.project.dto.CreateTaskRequest;
+import om.tanish.saas.project.dto.TaskHistogram;
+import om.tanish.saas.project.enums.TaskStatus;
+import om.tanish.saas.project.repository.TaskRepository;
+import om.tanish.saas.tenant.CreateTenantRequest;
+import om.tanish.saas.tenant.Tenant;
+import om.tanish.saas.tenant.TenantContext;
+import om.tanish.saas.tenant.TenantRepository;
+import om.tanish.saas.tenant.TenantService;
+import om.tanish.saas.user.User;
+import om.tanish.saas.user.UserRepository;
+import om.tanish.saas.user.UserRole;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-tasks",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "task-counters.reconcile-on-startup=false"
+})
+@ActiveProfiles("test")
+class BulkTaskOperationsTest {
+
+    private static final int TASKS = 120;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createsValidItemsInBatchesAndReportsRejectedOnes() {
+        Tenant tenant = createTenant("bulk-co");
+        User user = actAsNewUser(tenant, "bulk@bulk.io");
+        UUID projectId = createProject("Import");
+
+        List<CreateTaskRequest> items = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            items.add(task(projectId, "Imported " + i, "TODO", user.getId()));
+        }
+        items.add(task(UUID.randomUUID(), "Unknown project", "TODO", null));
+        items.add(task(projectId, "Bad status", "SOMEDAY", null));
+        items.add(task(projectId, "Foreign assignee", "TODO", UUID.randomUUID()));
+        items.add(task(projectId, "x", "TODO", null));
+        BulkCreateTasksRequest request = new BulkCreateTasksRequest();
+        request.setTasks(items);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        BulkCreateTasksResponse response = taskService.createTasks(request);
+
+        assertEquals(TASKS, response.getCreated());
+        assertEquals(4, response.getRejected());
+        List<BulkTaskResult> results = response.getResults();
+        assertEquals(TASKS + 4, results.size());
+        assertNotNull(results.get(0).getId());
+        assertEquals("Project not found for the tenant", results.get(TASKS).getError());
+        assertEquals("Invalid status: SOMEDAY", results.get(TASKS + 1).getError());
+        assertEquals("Assignee not found in this tenant", results.get(TASKS + 2).getError());
+        assertNotNull(results.get(TASKS + 3).getError());
+
+        // Inserts go out as JDBC batches rather than one statement per task
+        assertEquals(TASKS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < 20, "statements: " + statistics.getPrepareStatementCount());
+
+        assertEquals(TASKS, taskRepository.countByProjectIdAndStatus(tenant.getId(), projectId, TaskStatus.TODO));
+        assertEquals(TASKS, taskService.getMyTasks(null, null, null).size());
+    }
+
+    @Test
+    void movesTasksWithOneUpdateAndKeepsCountersInStep() {
+        Tenant tenant = createTenant("sprint-co");
+        User user = actAsNewUser(tenant, "dev@sprint.io");
+        UUID sprint = createProject("Sprint");
+        UUID backlog = createProject("Backlog");
+
+        List<CreateTaskRequest> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(task(sprint, "Sprint task " + i, i < 6 ? "IN_REVIEW" : "TODO", user.getId()));
+        }
+        items.add(task(backlog, "Backlog task", "IN_REVIEW", user.getId()));
+        BulkCreateTasksRequest create = new BulkCreateTasksRequest();
+        create.setTasks(items);
+        List<UUID> ids = taskService.createTasks(create).getResults().stream().map(BulkTaskResult::getId).toList();
+
+        // By filter: everything in review on the sprint moves to DONE
+        BulkStatusUpdateRequest byFilter = new BulkStatusUpdateRequest();
+        byFilter.setStatus("DONE");
+        byFilter.setProjectId(sprint);
+        byFilter.setCurrentStatus("IN_REVIEW");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        BulkStatusUpdateResponse response = taskService.updateTaskStatuses(byFilter);
+
+        assertEquals(6, response.getUpdated());
+        assertEquals(Map.of(TaskStatus.IN_REVIEW, 6L), response.getPreviousStatuses());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(6, taskRepository.countByProjectIdAndStatus(tenant.getId(), sprint, TaskStatus.DONE));
+        assertEquals(1, taskRepository.countByProjectIdAndStatus(tenant.getId(), backlog, TaskStatus.IN_REVIEW));
+
+        // By ids: one already DONE and one unknown id are skipped
+        BulkStatusUpdateRequest byIds = new BulkStatusUpdateRequest();
+        byIds.setStatus("BLOCKED");
+        byIds.setTaskIds(List.of(ids.get(0), ids.get(7), ids.get(10), UUID.randomUUID()));
+        BulkStatusUpdateRequest alreadyDone = new BulkStatusUpdateRequest();
+        alreadyDone.setStatus("DONE");
+        alreadyDone.setTaskIds(List.of(ids.get(0)));
+        assertEquals(0, taskService.updateTaskStatuses(alreadyDone).getUpdated());
+
+        response = taskService.updateTaskStatuses(byIds);
+        assertEquals(3, response.getUpdated());
+        assertEquals(1, response.getSkipped());
+        assertEquals(Map.of(TaskStatus.DONE, 1L, TaskStatus.TODO, 1L, TaskStatus.IN_REVIEW, 1L),
+                response.getPreviousStatuses());
+
+        TaskHistogram sprintCounters = taskCounterService.histogramForProject(tenant.getId(), sprint);
+        assertEquals(5, sprintCounters.countByStatus(TaskStatus.DONE));
+        assertEquals(3, sprintCounters.countByStatus(TaskStatus.TODO));
+        assertEquals(2, sprintCounters.countByStatus(TaskStatus.BLOCKED));
+        assertEquals(0, sprintCounters.countByStatus(TaskStatus.IN_REVIEW));
+        TaskHistogram backlogCounters = taskCounterService.histogramForProject(tenant.getId(), backlog);
+        assertEquals(1, backlogCounters.countByStatus(TaskStatus.BLOCKED));
+        assertEquals(0, backlogCounters.countByStatus(TaskStatus.IN_REVIEW));
+        assertNotNull(taskService.getTaskById(ids.get(10)).getUpdatedAt());
+
+        BulkStatusUpdateRequest neither = new BulkStatusUpdateRequest();
+        neither.setStatus("DONE");
+        ResponseStatusException invalid =
+                assertThrows(ResponseStatusException.class, () -> taskService.updateTaskStatuses(neither));
+        assertEquals(HttpStatus.BAD_REQUEST, invalid.getStatusCode());
+    }
+
+    private Tenant createTenant(String key) {
+        CreateTenantRequest request = new CreateTenantRequest();
+        request.setTenantKey(key);
+        request.setName(key + " Inc");
+        return tenantService.createTenant(request);
+    }
+
+    private User actAsNewUser(Tenant tenant, String email) {
+        TenantContext.setTenant(tenant.getId());
+        User user = new User();
+        user.setTenant(tenantRepository.getReferenceById(tenant.getId()));
+        user.setEmail(email);
+        user.setUsername(email);
+        user.setPassword("x");
+        user.setRole(UserRole.TENANT_ADMIN.name());
+        user.setCreatedAt(Instant.now());
+        user = userRepository.save(user);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                user.getId(), null, List.of(new SimpleGrantedAuthority("ROLE_TENANT_ADMIN"))));
+        return user;
+    }
+
+    private UUID createProject(String name) {
+        CreateProjectRequest project = new CreateProjectRequest();
+        project.setName(name);
+        project.setStatus("IN_PROGRESS");
+        return projectService.createProject(project).getId();
+    }
+
+    private CreateTaskRequest task(UUID projectId, String title, String status, UUID assigneeId) {
+        CreateTaskRequest task = new CreateTaskRequest();
+        task.setProjectId(projectId);
+        task.setTitle(title);
+        task.setStatus(status);
+        task.setPriority("MEDIUM");
+        task.setAssigneeId(assigneeId);
+        return task;
+    }
+}
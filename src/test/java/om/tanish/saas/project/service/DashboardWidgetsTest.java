@@ -0,0 +1,202 @@
+package om.tanish.saas.project.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import om.tanish.saas.config.DashboardProperties;
+import om.tanish.saas.project.dto.AssigneeLoad;
+import om.tanish.saas.project.dto.CreateProjectRequest;
+import om.tanish.saas.project.dto.CreateTaskRequest;
+import om.tanish.saas.project.dto.DashboardWidgets;
+import om.tanish.saas.project.dto.TaskHistogram;
+import om.tanish.saas.project.dto.TaskResponseDTO;
+import om.tanish.saas.project.enums.ProjectStatus;
+import om.tanish.saas.project.repository.TaskRepository;
+import om.tanish.saas.tenant.CreateTenantRequest;
+import om.tanish.saas.tenant.Tenant;
+import om.tanish.saas.tenant.TenantContext;
+import om.tanish.saas.tenant.TenantRepository;
+import om.tanish.saas.tenant.TenantService;
+import om.tanish.saas.user.User;
+import om.tanish.saas.user.UserRepository;
+import om.tanish.saas.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dashboard-widgets",
+        "dashboard.widget-timeout=2s",
+        "task-counters.reconcile-on-startup=false"
+})
+@ActiveProfiles("test")
+class DashboardWidgetsTest {
+
+    private static final long SLOW_WIDGET_MS = 400;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private DashboardProperties dashboardProperties;
+
+    @SpyBean
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        dashboardProperties.getWidgetTimeouts().clear();
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void widgetsLoadConcurrentlyAndASlowOneIsLeftOut() {
+        seedTenant("widgets-co", "lead@widgets.io");
+        // Another tenant's tasks must not show up in the first tenant's widgets
+        UUID otherUser = seedTenant("other-co", "lead@other.io");
+
+        DashboardWidgets all = dashboardService.getWidgets(null);
+        assertFalse(all.isPartial());
+        assertEquals(List.of("projects", "tasks", "overdue", "assignee-load", "recent-activity"),
+                List.copyOf(all.getWidgets().keySet()));
+        assertEquals(Map.of(ProjectStatus.IN_PROGRESS, 1L), all.getWidgets().get("projects"));
+        assertEquals(4, ((TaskHistogram) all.getWidgets().get("tasks")).total());
+        assertEquals(2L, all.getWidgets().get("overdue"));
+        List<?> load = (List<?>) all.getWidgets().get("assignee-load");
+        assertEquals(1, load.size());
+        assertEquals(otherUser, ((AssigneeLoad) load.get(0)).getAssigneeId());
+        assertEquals(3, ((AssigneeLoad) load.get(0)).getCount());
+        assertEquals(4, ((List<?>) all.getWidgets().get("recent-activity")).size());
+        assertEquals("Task 3", ((TaskResponseDTO) ((List<?>) all.getWidgets().get("recent-activity")).get(0)).getTitle());
+
+        dashboardProperties.getWidgetTimeouts().put("recent-activity", Duration.ofMillis(200));
+        doAnswer(invocation -> {
+            Thread.sleep(SLOW_WIDGET_MS);
+            return 2L;
+        }).when(taskRepository).countOverdueForTenant(any(), any(), any());
+        doAnswer(invocation -> {
+            Thread.sleep(SLOW_WIDGET_MS);
+            return load;
+        }).when(taskRepository).countOpenByAssigneeForTenant(any(), any(), any());
+        doAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return List.of();
+        }).when(taskRepository).findRecentlyUpdated(any(), any());
+
+        long started = System.nanoTime();
+        DashboardWidgets partial = dashboardService.getWidgets(null);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertTrue(partial.isPartial());
+        assertEquals(List.of("recent-activity"), partial.getTimedOut());
+        assertEquals(2L, partial.getWidgets().get("overdue"));
+        assertEquals(List.of("projects", "tasks", "overdue", "assignee-load"), List.copyOf(partial.getWidgets().keySet()));
+        // Run one after the other, the two slow widgets alone would take twice as long
+        assertTrue(elapsed.toMillis() < 2 * SLOW_WIDGET_MS, "took " + elapsed.toMillis() + " ms");
+
+        DashboardWidgets selected = dashboardService.getWidgets(List.of("projects"));
+        assertEquals(List.of("projects"), List.copyOf(selected.getWidgets().keySet()));
+        ResponseStatusException unknown = assertThrows(ResponseStatusException.class,
+                () -> dashboardService.getWidgets(List.of("weather")));
+        assertEquals(HttpStatus.BAD_REQUEST, unknown.getStatusCode());
+    }
+
+    @Test
+    void oneRequestHoldsAtMostTheConfiguredNumberOfConnections() throws Exception {
+        seedTenant("fanout-co", "lead@fanout.io");
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        AtomicInteger mostActive = new AtomicInteger();
+        Function<Object, Answer<Object>> slowRead = result -> invocation -> {
+            mostActive.accumulateAndGet(pool.getActiveConnections(), Math::max);
+            Thread.sleep(100);
+            return result;
+        };
+        doAnswer(slowRead.apply(0L)).when(taskRepository).countOverdueForTenant(any(), any(), any());
+        doAnswer(slowRead.apply(List.of())).when(taskRepository).countOpenByAssigneeForTenant(any(), any(), any());
+        doAnswer(slowRead.apply(List.of())).when(taskRepository).findRecentlyUpdated(any(), any());
+
+        assertEquals(2, dashboardProperties.getMaxConcurrentWidgets());
+        DashboardWidgets widgets = dashboardService.getWidgets(null);
+
+        assertFalse(widgets.isPartial());
+        assertEquals(5, widgets.getWidgets().size());
+        assertTrue(mostActive.get() >= 1);
+        assertTrue(mostActive.get() <= 2, "one request held " + mostActive.get() + " connections");
+    }
+
+    /** Creates a tenant with one project and four tasks, two of them overdue; returns the assignee. */
+    private UUID seedTenant(String key, String email) {
+        TenantContext.clear();
+        CreateTenantRequest tenantRequest = new CreateTenantRequest();
+        tenantRequest.setTenantKey(key);
+        tenantRequest.setName(key + " Inc");
+        Tenant tenant = tenantService.createTenant(tenantRequest);
+        TenantContext.setTenant(tenant.getId());
+        User user = new User();
+        user.setTenant(tenantRepository.getReferenceById(tenant.getId()));
+        user.setEmail(email);
+        user.setUsername(email);
+        user.setPassword("x");
+        user.setRole(UserRole.TENANT_ADMIN.name());
+        user.setCreatedAt(Instant.now());
+        user = userRepository.save(user);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                user.getId(), null, List.of(new SimpleGrantedAuthority("ROLE_TENANT_ADMIN"))));
+
+        CreateProjectRequest project = new CreateProjectRequest();
+        project.setName("Launch");
+        project.setStatus("IN_PROGRESS");
+        UUID projectId = projectService.createProject(project).getId();
+        for (int i = 0; i < 4; i++) {
+            CreateTaskRequest task = new CreateTaskRequest();
+            task.setProjectId(projectId);
+            task.setTitle("Task " + i);
+            task.setStatus(i == 0 ? "DONE" : "TODO");
+            task.setPriority("HIGH");
+            task.setAssigneeId(user.getId());
+            task.setDueDate(i < 3 ? Instant.now().minus(Duration.ofDays(1)) : Instant.now().plus(Duration.ofDays(1)));
+            taskService.createTask(task);
+        }
+        return user.getId();
+    }
+}
@@ -0,0 +1,149 @@
+package om.tanish.saas.project.service;
+
+import om.tanish.saas.project.dto.CounterReconciliationReport;
+import om.tanish.saas.project.dto.CreateProjectRequest;
+import om.tanish.saas.project.dto.CreateTaskRequest;
+import om.tanish.saas.project.entities.TaskCounter;
+import om.tanish.saas.project.enums.TaskPriority;
+import om.tanish.saas.project.enums.TaskStatus;
+import om.tanish.saas.project.repository.TaskCounterRepository;
+import om.tanish.saas.tenant.CreateTenantRequest;
+import om.tanish.saas.tenant.Tenant;
+import om.tanish.saas.tenant.TenantContext;
+import om.tanish.saas.tenant.TenantRepository;
+import om.tanish.saas.tenant.TenantService;
+import om.tanish.saas.user.User;
+import om.tanish.saas.user.UserRepository;
+import om.tanish.saas.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-counter-grid",
+        "task-counters.reconcile-on-startup=false"
+})
+@ActiveProfiles("test")
+class TaskCounterGridTest {
+
+    private static final int GRID_SIZE = TaskStatus.values().length * TaskPriority.values().length;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private TaskCounterReconciler taskCounterReconciler;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deltasNeverInsertAndReconciliationRestoresTheFullGrid() {
+        Tenant tenant = actAsNewTenant("grid-co");
+        UUID busy = createProject("Busy");
+        UUID empty = createProject("Empty");
+        assertEquals(GRID_SIZE, counters(tenant.getId(), empty).size());
+
+        createTask(busy, "TODO", "HIGH");
+        assertEquals(1, count(tenant.getId(), busy, TaskStatus.TODO, TaskPriority.HIGH));
+
+        // A project whose grid is missing (as before the counters existed) gets no rows from deltas
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskCounterRepository.deleteAllForProject(tenant.getId(), busy);
+            taskCounterRepository.deleteAllForProject(tenant.getId(), empty);
+        });
+        createTask(busy, "TODO", "HIGH");
+        assertTrue(counters(tenant.getId(), busy).isEmpty());
+
+        CounterReconciliationReport report = taskCounterReconciler.reconcileTenant(tenant.getId());
+        assertEquals(2 * GRID_SIZE, report.getCountersChecked());
+        assertEquals(1, report.getCountersDrifted());
+        assertEquals(GRID_SIZE, counters(tenant.getId(), busy).size());
+        assertEquals(GRID_SIZE, counters(tenant.getId(), empty).size());
+        assertEquals(2, count(tenant.getId(), busy, TaskStatus.TODO, TaskPriority.HIGH));
+
+        createTask(busy, "TODO", "HIGH");
+        assertEquals(3, count(tenant.getId(), busy, TaskStatus.TODO, TaskPriority.HIGH));
+        assertEquals(0, taskCounterReconciler.reconcileTenant(tenant.getId()).getCountersDrifted());
+    }
+
+    private List<TaskCounter> counters(UUID tenantId, UUID projectId) {
+        return taskCounterRepository.findAllByTenantIdAndProjectId(tenantId, projectId);
+    }
+
+    private long count(UUID tenantId, UUID projectId, TaskStatus status, TaskPriority priority) {
+        return counters(tenantId, projectId).stream()
+                .filter(counter -> counter.getStatus() == status && counter.getPriority() == priority)
+                .mapToLong(TaskCounter::getTaskCount)
+                .sum();
+    }
+
+    private Tenant actAsNewTenant(String key) {
+        CreateTenantRequest request = new CreateTenantRequest();
+        request.setTenantKey(key);
+        request.setName(key + " Inc");
+        Tenant tenant = tenantService.createTenant(request);
+        TenantContext.setTenant(tenant.getId());
+        User user = new User();
+        user.setTenant(tenantRepository.getReferenceById(tenant.getId()));
+        user.setEmail("lead@" + key + ".io");
+        user.setUsername(key);
+        user.setPassword("x");
+        user.setRole(UserRole.TENANT_ADMIN.name());
+        user.setCreatedAt(Instant.now());
+        user = userRepository.save(user);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                user.getId(), null, List.of(new SimpleGrantedAuthority("ROLE_TENANT_ADMIN"))));
+        return tenant;
+    }
+
+    private UUID createProject(String name) {
+        CreateProjectRequest project = new CreateProjectRequest();
+        project.setName(name);
+        project.setStatus("IN_PROGRESS");
+        return projectService.createProject(project).getId();
+    }
+
+    private void createTask(UUID projectId, String status, String priority) {
+        CreateTaskRequest task = new CreateTaskRequest();
+        task.setProjectId(projectId);
+        task.setTitle("Task");
+        task.setStatus(status);
+        task.setPriority(priority);
+        taskService.createTask(task);
+    }
+}
@@ -0,0 +1,113 @@
+package om.tanish.saas.replica;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import om.tanish.saas.project.dto.CreateProjectRequest;
+import om.tanish.saas.project.service.ProjectService;
+import om.tanish.saas.tenant.CreateTenantRequest;
+import om.tanish.saas.tenant.Tenant;
+import om.tanish.saas.tenant.TenantContext;
+import om.tanish.saas.tenant.TenantRepository;
+import om.tanish.saas.tenant.TenantService;
+import om.tanish.saas.user.User;
+import om.tanish.saas.user.UserRepository;
+import om.tanish.saas.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Both pools point at one H2 database: a replica with no lag, so only the routing differs
+@SpringBootTest(properties = {
+        "saas.replica.enabled=true",
+        "saas.replica.url=jdbc:h2:mem:replica-routing;DB_CLOSE_DELAY=-1",
+        "saas.replica.username=sa",
+        "saas.replica.read-your-writes-window=1m",
+        "spring.datasource.url=jdbc:h2:mem:replica-routing;DB_CLOSE_DELAY=-1",
+        "spring.jpa.open-in-view=false",
+        "task-counters.reconcile-on-startup=false"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readsGoToReplicaExceptForUsersWhoJustWrote() {
+        CreateTenantRequest request = new CreateTenantRequest();
+        request.setTenantKey("replica-co");
+        request.setName("Replica Co");
+        Tenant tenant = tenantService.createTenant(request);
+        User writer = createUser(tenant, "writer@replica.io");
+        User reader = createUser(tenant, "reader@replica.io");
+
+        actAs(tenant, reader);
+        double replicaBefore = reads("replica");
+        projectService.getAllProjects(Pageable.unpaged());
+        assertEquals(replicaBefore + 1, reads("replica"));
+
+        actAs(tenant, writer);
+        CreateProjectRequest project = new CreateProjectRequest();
+        project.setName("Project");
+        project.setStatus("IN_PROGRESS");
+        projectService.createProject(project);
+
+        double primaryBefore = reads("primary");
+        assertEquals(1, projectService.getAllProjects(Pageable.unpaged()).getTotalElements());
+        assertEquals(primaryBefore + 1, reads("primary"));
+
+        actAs(tenant, reader);
+        replicaBefore = reads("replica");
+        projectService.getAllProjects(Pageable.unpaged());
+        assertEquals(replicaBefore + 1, reads("replica"));
+    }
+
+    private User createUser(Tenant tenant, String email) {
+        User user = new User();
+        user.setTenant(tenantRepository.getReferenceById(tenant.getId()));
+        user.setEmail(email);
+        user.setUsername(email);
+        user.setPassword("x");
+        user.setRole(UserRole.TENANT_ADMIN.name());
+        user.setCreatedAt(Instant.now());
+        return userRepository.save(user);
+    }
+
+    private void actAs(Tenant tenant, User user) {
+        TenantContext.setTenant(tenant.getId());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                user.getId(), null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()))));
+    }
+
+    private double reads(String target) {
+        return meterRegistry.counter("datasource.reads", "target", target).count();
+    }
+}
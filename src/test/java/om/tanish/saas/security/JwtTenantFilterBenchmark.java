@@ -0,0 +1,134 @@
+package om.tanish.saas.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import om.tanish.saas.shard.ShardDirectory;
+import om.tanish.saas.tenant.TenantRepository;
+import om.tanish.saas.tenant.TenantStatus;
+import om.tanish.saas.tenant.TenantStatusTable;
+import om.tanish.saas.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Throughput of JwtTenantFilter with the verified-token cache, with only the cached key and
+ * parser, and with the previous behaviour of building a parser from the raw secret on every
+ * request. Run with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class JwtTenantFilterBenchmark {
+
+    private static final String SECRET = "QLjQVqSdFKGRDG2Q/t9D4dv/xbu/YMa4YV5q9Uxsmiaa0Nb7";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtTenantFilter verifiedTokenFilter;
+    private JwtTenantFilter cachedFilter;
+    private JwtTenantFilter perRequestFilter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtService cached = newJwtService();
+
+        JwtService perRequest = new JwtService() {
+            @Override
+            public Claims extractClaims(String token) {
+                return Jwts.parserBuilder()
+                        .setSigningKey(SECRET.getBytes(StandardCharsets.UTF_8))
+                        .build()
+                        .parseClaimsJws(token)
+                        .getBody();
+            }
+        };
+        ReflectionTestUtils.setField(perRequest, "SECRET", SECRET);
+        perRequest.validateSecret();
+
+        TenantRepository tenantRepository = mock(TenantRepository.class);
+        when(tenantRepository.findStatusById(any())).thenReturn(Optional.of(TenantStatus.ACTIVE));
+        TenantStatusTable statusTable = new TenantStatusTable(tenantRepository, Duration.ofMinutes(1));
+        ShardDirectory shardDirectory = mock(ShardDirectory.class);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        verifiedTokenFilter = new JwtTenantFilter(new VerifiedTokenCache(cached, registry, true, 10_000), statusTable, shardDirectory);
+        cachedFilter = new JwtTenantFilter(new VerifiedTokenCache(cached, registry, false, 10_000), statusTable, shardDirectory);
+        perRequestFilter = new JwtTenantFilter(new VerifiedTokenCache(perRequest, registry, false, 10_000), statusTable, shardDirectory);
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("tenantId", UUID.randomUUID().toString());
+        claims.put("role", "USER");
+        authorization = "Bearer " + cached.generateToken(claims, user);
+    }
+
+    @Benchmark
+    public int verifiedTokenCache() throws Exception {
+        return filter(verifiedTokenFilter);
+    }
+
+    @Benchmark
+    public int cachedParser() throws Exception {
+        return filter(cachedFilter);
+    }
+
+    @Benchmark
+    public int perRequestParser() throws Exception {
+        return filter(perRequestFilter);
+    }
+
+    private int filter(JwtTenantFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks/my-tasks");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return response.getStatus();
+    }
+
+    private static JwtService newJwtService() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "SECRET", SECRET);
+        jwtService.validateSecret();
+        return jwtService;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtTenantFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,127 @@
+package om.tanish.saas.security;
+
+import io.jsonwebtoken.MalformedJwtException;
+import om.tanish.saas.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    private static final long IP_CAPACITY = 2;
+    private static final long AUTHENTICATED_IP_CAPACITY = 5;
+    private static final long GLOBAL_CAPACITY = 6;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setGlobal(new RateLimitProperties.Limit(GLOBAL_CAPACITY, Duration.ofMinutes(1)));
+        properties.setIp(new RateLimitProperties.Limit(IP_CAPACITY, Duration.ofMinutes(1)));
+        properties.setIpAuthenticated(new RateLimitProperties.Limit(AUTHENTICATED_IP_CAPACITY, Duration.ofMinutes(1)));
+        filter = new RateLimitFilter(properties, verifiedTokenCache);
+    }
+
+    @Test
+    void requestsWithoutATokenGetTheStrictTier() throws Exception {
+        MockHttpServletResponse response = perform(request("/api/v1/projects", null));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(Long.toString(IP_CAPACITY), response.getHeader("RateLimit-Limit"));
+        verifyNoInteractions(verifiedTokenCache);
+    }
+
+    @Test
+    void verifiedTokensGetTheAuthenticatedTier() throws Exception {
+        when(verifiedTokenCache.resolve("good")).thenReturn(new VerifiedTokenCache.VerifiedToken(
+                UUID.randomUUID(), UUID.randomUUID(), List.of(), Instant.now().plusSeconds(60)));
+
+        for (long i = 0; i < AUTHENTICATED_IP_CAPACITY; i++) {
+            MockHttpServletResponse response = perform(request("/api/v1/projects", "good"));
+            assertEquals(200, response.getStatus());
+            assertEquals(Long.toString(AUTHENTICATED_IP_CAPACITY), response.getHeader("RateLimit-Limit"));
+        }
+        assertEquals(429, perform(request("/api/v1/projects", "good")).getStatus());
+    }
+
+    @Test
+    void forgedTokensAreHeldToTheStrictTier() throws Exception {
+        when(verifiedTokenCache.resolve("forged")).thenThrow(new MalformedJwtException("bad"));
+
+        for (long i = 0; i < IP_CAPACITY; i++) {
+            MockHttpServletResponse response = perform(request("/api/v1/projects", "forged"));
+            assertEquals(Long.toString(IP_CAPACITY), response.getHeader("RateLimit-Limit"));
+        }
+        assertEquals(429, perform(request("/api/v1/projects", "forged")).getStatus());
+    }
+
+    @Test
+    void tokensAreOnlyVerifiedWhileTheIpHasBudgetLeft() throws Exception {
+        when(verifiedTokenCache.resolve("forged")).thenThrow(new MalformedJwtException("bad"));
+
+        for (int i = 0; i < 20; i++) {
+            perform(request("/api/v1/projects", "forged"));
+        }
+        verify(verifiedTokenCache, times((int) AUTHENTICATED_IP_CAPACITY)).resolve("forged");
+    }
+
+    @Test
+    void aFloodingIpDoesNotSpendTheGlobalQuota() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            perform(request("/api/v1/projects", null));
+        }
+        // Only the flood's own two requests reached the global bucket; the rest were refused first
+        for (long i = 0; i < GLOBAL_CAPACITY - IP_CAPACITY - 1; i++) {
+            MockHttpServletRequest client = request("/api/v1/projects", null);
+            client.setRemoteAddr("198.51.100." + i);
+            assertEquals(200, perform(client).getStatus());
+        }
+        MockHttpServletRequest other = request("/api/v1/projects", null);
+        other.setRemoteAddr("198.51.100.20");
+        assertEquals(200, perform(other).getStatus());
+    }
+
+    @Test
+    void authEndpointsAlwaysGetTheStrictTier() throws Exception {
+        for (long i = 0; i < IP_CAPACITY; i++) {
+            MockHttpServletResponse response = perform(request("/api/v1/auth/login", "x"));
+            assertEquals(200, response.getStatus());
+            assertEquals(Long.toString(IP_CAPACITY), response.getHeader("RateLimit-Limit"));
+        }
+        assertEquals(429, perform(request("/api/v1/auth/login", "x")).getStatus());
+        verifyNoInteractions(verifiedTokenCache);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr("203.0.113.7");
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+}
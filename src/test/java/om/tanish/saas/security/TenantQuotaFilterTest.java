@@ -0,0 +1,152 @@
+package om.tanish.saas.security;
+
+import jakarta.servlet.FilterChain;
+import om.tanish.saas.config.RateLimitProperties;
+import om.tanish.saas.tenant.TenantContext;
+import om.tanish.saas.tenant.TenantRegistry;
+import om.tanish.saas.tenant.TenantSnapshot;
+import om.tanish.saas.tenant.TenantStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantQuotaFilterTest {
+
+    @Mock
+    private TenantRegistry tenantRegistry;
+
+    private RateLimitProperties properties;
+    private final UUID tenantId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setUser(new RateLimitProperties.Limit(3, Duration.ofMinutes(1)));
+        properties.setTenant(new RateLimitProperties.Limit(100, Duration.ofMinutes(1)));
+        properties.setTenantMaxConcurrentRequests(1);
+        RateLimitProperties.RouteLimit dashboard = new RateLimitProperties.RouteLimit();
+        dashboard.setMethod(HttpMethod.GET);
+        dashboard.setPattern("/api/v1/dashboard/**");
+        dashboard.setCapacity(1);
+        dashboard.setRefillPeriod(Duration.ofMinutes(1));
+        properties.setRoutes(List.of(dashboard));
+        actAs(UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void unauthenticatedRequestsPassThroughUnmetered() throws Exception {
+        SecurityContextHolder.clearContext();
+        TenantQuotaFilter filter = new TenantQuotaFilter(properties, tenantRegistry);
+
+        MockHttpServletResponse response = perform(filter, "GET", "/api/v1/projects");
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("RateLimit-Limit"));
+        verifyNoInteractions(tenantRegistry);
+    }
+
+    @Test
+    void userQuotaRefusesOnceSpentAndReportsTheTightestTier() throws Exception {
+        TenantQuotaFilter filter = new TenantQuotaFilter(properties, tenantRegistry);
+
+        MockHttpServletResponse first = perform(filter, "GET", "/api/v1/projects");
+        assertEquals("3", first.getHeader("RateLimit-Limit"));
+        assertEquals("2", first.getHeader("RateLimit-Remaining"));
+        perform(filter, "GET", "/api/v1/projects");
+        perform(filter, "GET", "/api/v1/projects");
+
+        MockHttpServletResponse refused = perform(filter, "GET", "/api/v1/projects");
+        assertEquals(429, refused.getStatus());
+        assertNotNull(refused.getHeader("Retry-After"));
+    }
+
+    @Test
+    void tenantOverridesReplaceTheDefaults() throws Exception {
+        when(tenantRegistry.get(tenantId)).thenReturn(Optional.of(new TenantSnapshot(
+                tenantId, "small", "Small", TenantStatus.ACTIVE, null, 1, null)));
+        TenantQuotaFilter filter = new TenantQuotaFilter(properties, tenantRegistry);
+
+        assertEquals(200, perform(filter, "GET", "/api/v1/projects").getStatus());
+        assertEquals(429, perform(filter, "GET", "/api/v1/projects").getStatus());
+    }
+
+    @Test
+    void routeLimitIsCheckedFirstAndOnlyForMatchingRequests() throws Exception {
+        TenantQuotaFilter filter = new TenantQuotaFilter(properties, tenantRegistry);
+
+        assertEquals(200, perform(filter, "GET", "/api/v1/dashboard/overview").getStatus());
+        assertEquals(429, perform(filter, "GET", "/api/v1/dashboard/overview").getStatus());
+        assertEquals(200, perform(filter, "POST", "/api/v1/dashboard/overview").getStatus());
+        // The refused route request did not spend a user token: two of three are used
+        assertEquals("0", perform(filter, "GET", "/api/v1/projects").getHeader("RateLimit-Remaining"));
+    }
+
+    @Test
+    void concurrentRequestsBeyondTheTenantCapAreRefused() throws Exception {
+        TenantQuotaFilter filter = new TenantQuotaFilter(properties, tenantRegistry);
+        AtomicInteger nestedStatus = new AtomicInteger();
+
+        FilterChain holdsTheSlot = (request, response) ->
+                nestedStatus.set(perform(filter, "GET", "/api/v1/projects").getStatus());
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/projects"), new MockHttpServletResponse(), holdsTheSlot);
+
+        assertEquals(429, nestedStatus.get());
+        assertEquals(200, perform(filter, "GET", "/api/v1/projects").getStatus());
+    }
+
+    @Test
+    void asyncRequestsHoldTheirSlotUntilTheyComplete() throws Exception {
+        TenantQuotaFilter filter = new TenantQuotaFilter(properties, tenantRegistry);
+        MockHttpServletRequest streaming = new MockHttpServletRequest("GET", "/api/v1/tasks/my-tasks");
+        streaming.setAsyncSupported(true);
+
+        filter.doFilter(streaming, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+        assertEquals(429, perform(filter, "GET", "/api/v1/projects").getStatus());
+
+        MockAsyncContext asyncContext = (MockAsyncContext) streaming.getAsyncContext();
+        asyncContext.complete();
+        assertEquals(200, perform(filter, "GET", "/api/v1/projects").getStatus());
+    }
+
+    private void actAs(UUID userId) {
+        TenantContext.setTenant(tenantId);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+
+    private static MockHttpServletResponse perform(TenantQuotaFilter filter, String method, String path) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(new MockHttpServletRequest(method, path), response, new MockFilterChain());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,104 @@
+package om.tanish.saas.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contended throughput of the token-bucket limiter against the previous fixed-window maps,
+ * with every thread on one hot key and with threads spread over many clients. Run with the
+ * main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class TokenBucketRateLimiterBenchmark {
+
+    private static final int CLIENTS = 4096;
+
+    private TokenBucketRateLimiter tokenBucket;
+    private FixedWindowMaps fixedWindow;
+    private String[] clients;
+
+    @Setup
+    public void setUp() {
+        tokenBucket = new TokenBucketRateLimiter(100, Duration.ofMinutes(1), Duration.ofMinutes(5));
+        fixedWindow = new FixedWindowMaps();
+        clients = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "10.0." + (i >> 8) + "." + (i & 0xff);
+        }
+    }
+
+    @Benchmark
+    public long tokenBucketHotKey() {
+        return tokenBucket.tryAcquire(clients[0]);
+    }
+
+    @Benchmark
+    public long tokenBucketSpread() {
+        return tokenBucket.tryAcquire(clients[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+
+    @Benchmark
+    public boolean fixedWindowHotKey() {
+        return fixedWindow.allow(clients[0]);
+    }
+
+    @Benchmark
+    public boolean fixedWindowSpread() {
+        return fixedWindow.allow(clients[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+
+    /** The bookkeeping RateLimitFilter did before the token-bucket limiter. */
+    static final class FixedWindowMaps {
+
+        private static final int MAX_REQUESTS = 100;
+        private static final long TIME_WINDOW = 60000;
+
+        private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+        private final Map<String, Long> resetTimes = new ConcurrentHashMap<>();
+
+        boolean allow(String clientIp) {
+            long currentTime = System.currentTimeMillis();
+
+            resetTimes.putIfAbsent(clientIp, currentTime + TIME_WINDOW);
+            requestCounts.putIfAbsent(clientIp, new AtomicInteger(0));
+
+            if (currentTime > resetTimes.get(clientIp)) {
+                requestCounts.get(clientIp).set(0);
+                resetTimes.put(clientIp, currentTime + TIME_WINDOW);
+            }
+
+            return requestCounts.get(clientIp).incrementAndGet() <= MAX_REQUESTS;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenBucketRateLimiterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
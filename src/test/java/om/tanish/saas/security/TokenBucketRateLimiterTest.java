@@ -0,0 +1,98 @@
+package om.tanish.saas.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+
+    private TokenBucketRateLimiter limiter(long capacity, Duration refillPeriod, Duration idleTimeout) {
+        return new TokenBucketRateLimiter(capacity, refillPeriod, idleTimeout, clock::get);
+    }
+
+    @Test
+    void tryAcquire_AllowsBurstUpToCapacityThenRefuses() {
+        TokenBucketRateLimiter limiter = limiter(3, Duration.ofSeconds(3), Duration.ofSeconds(3));
+
+        assertEquals(2, limiter.tryAcquire("a"));
+        assertEquals(1, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+
+        long refused = limiter.tryAcquire("a");
+        assertEquals(-1000, refused);
+
+        // Other keys have their own bucket
+        assertEquals(2, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void tryAcquire_RefillsContinuouslyWithoutLosingFractions() {
+        // One token every 600ms
+        TokenBucketRateLimiter limiter = limiter(100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire("a") >= 0);
+        }
+        assertTrue(limiter.tryAcquire("a") < 0);
+
+        // Polled every 100ms, which only adds a fraction of a token each time
+        int granted = 0;
+        for (int i = 0; i < 60; i++) {
+            clock.addAndGet(100);
+            if (limiter.tryAcquire("a") >= 0) {
+                granted++;
+            }
+        }
+        assertEquals(10, granted);
+    }
+
+    @Test
+    void tryAcquire_NeverRefillsPastCapacity() {
+        TokenBucketRateLimiter limiter = limiter(2, Duration.ofSeconds(1), Duration.ofSeconds(1));
+        limiter.tryAcquire("a");
+
+        clock.addAndGet(Duration.ofDays(400).toMillis());
+
+        assertEquals(1, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") < 0);
+    }
+
+    @Test
+    void sweep_EvictsOnlyIdleRefilledBuckets() {
+        TokenBucketRateLimiter limiter = limiter(10, Duration.ofSeconds(10), Duration.ofSeconds(80));
+        limiter.tryAcquire("idle");
+        limiter.tryAcquire("busy");
+
+        for (int i = 0; i < 12; i++) {
+            clock.addAndGet(10_000);
+            limiter.tryAcquire("busy");
+            limiter.sweep();
+        }
+
+        assertEquals(1, limiter.size());
+        assertEquals(0, limiter.millisUntilFull("idle"));
+        assertTrue(limiter.millisUntilFull("busy") > 0);
+    }
+
+    @Test
+    void constructor_RejectsCapacityThatDoesNotFitThePackedState() {
+        assertThrows(IllegalArgumentException.class,
+                () -> limiter(1 << 16, Duration.ofSeconds(1), Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void clientIpResolver_KeysIpv6ByPrefixAndRejectsHostnames() {
+        assertEquals("203.0.113.7", ClientIpResolver.toKey("203.0.113.7"));
+        assertEquals("2001:db8:85a3:12::/64", ClientIpResolver.toKey("2001:db8:85a3:12:abcd::1"));
+        assertEquals(ClientIpResolver.toKey("2001:db8:85a3:12::1"), ClientIpResolver.toKey("2001:db8:85a3:12:ffff::2"));
+        assertEquals("192.0.2.1", ClientIpResolver.toKey("::ffff:192.0.2.1"));
+        assertNull(ClientIpResolver.toKey("example.com"));
+        assertNull(ClientIpResolver.toKey("999.1.1.1"));
+        assertNull(ClientIpResolver.toKey("abc:xyz"));
+    }
+}
@@ -0,0 +1,83 @@
+package om.tanish.saas.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(jwtService, meterRegistry, true, 100);
+    }
+
+    @Test
+    void resolve_VerifiesOnceThenServesFromCache() {
+        UUID userId = UUID.randomUUID();
+        UUID tenantId = UUID.randomUUID();
+        when(jwtService.extractClaims("token")).thenReturn(claims(userId, tenantId, Instant.now().plusSeconds(60)));
+
+        VerifiedTokenCache.VerifiedToken first = cache.resolve("token");
+        VerifiedTokenCache.VerifiedToken second = cache.resolve("token");
+
+        assertSame(first, second);
+        assertEquals(userId, second.userId());
+        assertEquals(tenantId, second.tenantId());
+        assertEquals("ROLE_USER", second.authorities().get(0).getAuthority());
+        verify(jwtService, times(1)).extractClaims("token");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void resolve_DoesNotCacheAlreadyExpiredToken() {
+        when(jwtService.extractClaims("token"))
+                .thenReturn(claims(UUID.randomUUID(), null, Instant.now().minusSeconds(1)));
+
+        cache.resolve("token");
+        cache.resolve("token");
+
+        verify(jwtService, times(2)).extractClaims("token");
+    }
+
+    @Test
+    void resolve_PropagatesVerificationFailure() {
+        when(jwtService.extractClaims("expired")).thenThrow(new ExpiredJwtException(null, null, "expired"));
+
+        assertThrows(ExpiredJwtException.class, () -> cache.resolve("expired"));
+        assertThrows(ExpiredJwtException.class, () -> cache.resolve("expired"));
+
+        verify(jwtService, times(2)).extractClaims("expired");
+    }
+
+    private static Claims claims(UUID userId, UUID tenantId, Instant expiresAt) {
+        Claims claims = new DefaultClaims();
+        claims.setSubject(userId.toString());
+        claims.setExpiration(Date.from(expiresAt));
+        claims.put("role", "USER");
+        if (tenantId != null) {
+            claims.put("tenantId", tenantId.toString());
+        }
+        return claims;
+    }
+}
@@ -0,0 +1,194 @@
+package om.tanish.saas.shard;
+
+import om.tanish.saas.project.dto.CreateProjectRequest;
+import om.tanish.saas.project.dto.CreateTaskRequest;
+import om.tanish.saas.project.dto.ProjectResponseDTO;
+import om.tanish.saas.project.service.ProjectService;
+import om.tanish.saas.project.service.TaskService;
+import om.tanish.saas.tenant.CreateTenantRequest;
+import om.tanish.saas.tenant.MoveTenantShardRequest;
+import om.tanish.saas.tenant.Tenant;
+import om.tanish.saas.tenant.TenantContext;
+import om.tanish.saas.tenant.TenantRepository;
+import om.tanish.saas.tenant.TenantService;
+import om.tanish.saas.user.User;
+import om.tanish.saas.user.UserRepository;
+import om.tanish.saas.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "saas.sharding.enabled=true",
+        "saas.sharding.shards.shard-a.url=jdbc:h2:mem:shard-a;DB_CLOSE_DELAY=-1",
+        "saas.sharding.shards.shard-b.url=jdbc:h2:mem:shard-b;DB_CLOSE_DELAY=-1",
+        "saas.sharding.placement=shard-a,shard-b",
+        "saas.sharding.directory-ttl=0s",
+        "saas.sharding.move-drain=0s",
+        "spring.jpa.open-in-view=false",
+        "spring.datasource.url=jdbc:h2:mem:shard-catalog;DB_CLOSE_DELAY=-1",
+        "task-counters.reconcile-on-startup=false"
+})
+@ActiveProfiles("test")
+class TenantShardingTest {
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tenantsAreSpreadOverShardsAndWriteOnlyToTheirOwn() {
+        List<Tenant> tenants = List.of(
+                createTenant("alpha"), createTenant("beta"), createTenant("delta"), createTenant("epsilon"));
+        Map<String, Long> perShard = catalog().queryForList("SELECT shard_id FROM tenant_shards", String.class)
+                .stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        assertEquals(Set.of("shard-a", "shard-b"), perShard.keySet());
+        assertTrue(Math.abs(perShard.get("shard-a") - perShard.get("shard-b")) <= 1, perShard.toString());
+
+        Tenant alpha = tenants.get(0);
+        Tenant other = tenants.stream()
+                .filter(t -> !shardDirectory.shardFor(t.getId()).equals(shardDirectory.shardFor(alpha.getId())))
+                .findFirst()
+                .orElseThrow();
+        String alphaShard = shardDirectory.shardFor(alpha.getId());
+        String otherShard = shardDirectory.shardFor(other.getId());
+
+        UUID alphaTask = createTask(alpha, "a@alpha.io");
+        createTask(other, "o@other.io");
+
+        assertEquals(1, count(alphaShard, "tasks", alpha));
+        assertEquals(0, count(otherShard, "tasks", alpha));
+        assertEquals(1, count(otherShard, "tasks", other));
+        assertEquals(0, count(shardDirectory.catalogShard(), "tasks", alpha));
+        assertEquals(0, count(shardDirectory.catalogShard(), "users", other));
+
+        actAs(other, userOf(other, "o@other.io"));
+        ResponseStatusException notFound =
+                assertThrows(ResponseStatusException.class, () -> taskService.getTaskById(alphaTask));
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+    }
+
+    @Test
+    void moveCopiesTenantRowsAndRemovesThemFromTheSource() {
+        Tenant gamma = createTenant("gamma");
+        UUID task = createTask(gamma, "g@gamma.io");
+        String source = shardDirectory.shardFor(gamma.getId());
+        String target = source.equals("shard-a") ? "shard-b" : "shard-a";
+
+        MoveTenantShardRequest request = new MoveTenantShardRequest();
+        request.setShardId(target);
+        ShardMoveReport report = tenantService.moveTenantToShard("gamma", request);
+
+        assertEquals(source, report.getSourceShard());
+        assertEquals(1, report.getRowsMoved().get("tasks"));
+        assertEquals(target, shardDirectory.shardFor(gamma.getId()));
+        assertFalse(shardDirectory.isMoving(gamma.getId()));
+        for (String table : List.of("users", "projects", "tasks", "task_counters")) {
+            assertEquals(0, count(source, table, gamma), table);
+        }
+        assertEquals(1, count(target, "tasks", gamma));
+
+        actAs(gamma, userOf(gamma, "g@gamma.io"));
+        assertEquals(task, taskService.getTaskById(task).getId());
+        assertEquals(1, taskService.getMyTasks(null, null, null).size());
+
+        ResponseStatusException sameShard = assertThrows(ResponseStatusException.class,
+                () -> tenantService.moveTenantToShard("gamma", request));
+        assertEquals(HttpStatus.BAD_REQUEST, sameShard.getStatusCode());
+    }
+
+    private Tenant createTenant(String key) {
+        CreateTenantRequest request = new CreateTenantRequest();
+        request.setTenantKey(key);
+        request.setName(key + " Inc");
+        return tenantService.createTenant(request);
+    }
+
+    private UUID createTask(Tenant tenant, String email) {
+        TenantContext.setTenant(tenant.getId());
+        User user = new User();
+        user.setTenant(tenantRepository.getReferenceById(tenant.getId()));
+        user.setEmail(email);
+        user.setUsername(email);
+        user.setPassword("x");
+        user.setRole(UserRole.TENANT_ADMIN.name());
+        user.setCreatedAt(Instant.now());
+        user = userRepository.save(user);
+        actAs(tenant, user);
+
+        CreateProjectRequest project = new CreateProjectRequest();
+        project.setName("Project");
+        project.setStatus("IN_PROGRESS");
+        ProjectResponseDTO created = projectService.createProject(project);
+
+        CreateTaskRequest task = new CreateTaskRequest();
+        task.setProjectId(created.getId());
+        task.setTitle("Task");
+        task.setStatus("TODO");
+        task.setPriority("HIGH");
+        task.setAssigneeId(user.getId());
+        return taskService.createTask(task).getId();
+    }
+
+    private User userOf(Tenant tenant, String email) {
+        return TenantContext.callAs(tenant.getId(),
+                () -> userRepository.findByEmailAndTenant_TenantKey(email, tenant.getTenantKey()).orElseThrow());
+    }
+
+    private void actAs(Tenant tenant, User user) {
+        TenantContext.setTenant(tenant.getId());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                user.getId(), null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()))));
+    }
+
+    private JdbcTemplate catalog() {
+        return new JdbcTemplate(shardDataSources.catalog());
+    }
+
+    private int count(String shardId, String table, Tenant tenant) {
+        return new JdbcTemplate(shardDataSources.get(shardId)).queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE tenant_id = ?", Integer.class, tenant.getId());
+    }
+}
@@ -0,0 +1,131 @@
+package om.tanish.saas.tenant;
+
+import om.tanish.saas.project.dto.CreateProjectRequest;
+import om.tanish.saas.project.dto.CreateTaskRequest;
+import om.tanish.saas.project.dto.ProjectResponseDTO;
+import om.tanish.saas.project.entities.Project;
+import om.tanish.saas.project.entities.Task;
+import om.tanish.saas.project.enums.TaskStatus;
+import om.tanish.saas.project.repository.ProjectRepository;
+import om.tanish.saas.project.repository.TaskRepository;
+import om.tanish.saas.project.service.ProjectService;
+import om.tanish.saas.project.service.TaskService;
+import om.tanish.saas.user.User;
+import om.tanish.saas.user.UserRepository;
+import om.tanish.saas.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "saas.tenancy.isolation=rls",
+        "spring.datasource.url=jdbc:h2:mem:row-level-security",
+        "task-counters.reconcile-on-startup=false"
+})
+@ActiveProfiles("test")
+class RowLevelSecurityTest {
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void queriesWithoutTenantPredicateOnlySeeCurrentTenantRows() {
+        Tenant north = createTenant("north");
+        Tenant south = createTenant("south");
+        UUID northProject = createProjectWithTask(north, "n@north.io");
+        UUID southProject = createProjectWithTask(south, "s@south.io");
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<UUID> northTasks = TenantContext.callAs(north.getId(), () -> transaction.execute(status ->
+                taskRepository.findAll().stream().map(Task::getId).toList()));
+        assertEquals(1, northTasks.size());
+        List<UUID> northProjects = TenantContext.callAs(north.getId(), () -> transaction.execute(status ->
+                projectRepository.findAll().stream().map(Project::getId).toList()));
+        assertEquals(List.of(northProject), northProjects);
+
+        // Without a tenant, e.g. super admin or background work, every row stays visible
+        long allTasks = TenantContext.callWithoutTenant(() -> transaction.execute(status -> taskRepository.count()));
+        assertEquals(2, allTasks);
+
+        assertEquals(0, taskRepository.countByProjectIdAndStatus(north.getId(), southProject, TaskStatus.TODO));
+        assertEquals(1, taskRepository.countByProjectIdAndStatus(south.getId(), southProject, TaskStatus.TODO));
+    }
+
+    private Tenant createTenant(String key) {
+        CreateTenantRequest request = new CreateTenantRequest();
+        request.setTenantKey(key);
+        request.setName(key + " Inc");
+        return tenantService.createTenant(request);
+    }
+
+    private UUID createProjectWithTask(Tenant tenant, String email) {
+        TenantContext.setTenant(tenant.getId());
+        User user = new User();
+        user.setTenant(tenantRepository.getReferenceById(tenant.getId()));
+        user.setEmail(email);
+        user.setUsername(email);
+        user.setPassword("x");
+        user.setRole(UserRole.TENANT_ADMIN.name());
+        user.setCreatedAt(Instant.now());
+        user = userRepository.save(user);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                user.getId(), null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()))));
+
+        CreateProjectRequest project = new CreateProjectRequest();
+        project.setName("Project");
+        project.setStatus("IN_PROGRESS");
+        ProjectResponseDTO created = projectService.createProject(project);
+
+        CreateTaskRequest task = new CreateTaskRequest();
+        task.setProjectId(created.getId());
+        task.setTitle("Task");
+        task.setStatus("TODO");
+        task.setPriority("HIGH");
+        task.setAssigneeId(user.getId());
+        taskService.createTask(task);
+
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+        return created.getId();
+    }
+}
@@ -0,0 +1,140 @@
+package om.tanish.saas.tenant;
+
+import om.tanish.saas.project.dto.CreateProjectRequest;
+import om.tanish.saas.project.dto.CreateTaskRequest;
+import om.tanish.saas.project.dto.ProjectResponseDTO;
+import om.tanish.saas.project.dto.TaskResponseDTO;
+import om.tanish.saas.project.service.ProjectService;
+import om.tanish.saas.project.service.TaskService;
+import om.tanish.saas.user.User;
+import om.tanish.saas.user.UserRepository;
+import om.tanish.saas.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "saas.tenancy.mode=schema",
+        "spring.jpa.open-in-view=false",
+        "spring.datasource.url=jdbc:h2:mem:schema-tenancy",
+        "task-counters.reconcile-on-startup=false"
+})
+@ActiveProfiles("test")
+class SchemaPerTenantTest {
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void dedicatedTenantWritesToItsOwnSchema() {
+        Tenant dedicated = createTenant("bigco", true);
+        Tenant shared = createTenant("smallco", false);
+        assertEquals("tenant_bigco", dedicated.getSchemaName());
+        assertNull(shared.getSchemaName());
+
+        UUID dedicatedTask = createTask(dedicated, "big@bigco.io");
+        UUID sharedTask = createTask(shared, "small@smallco.io");
+
+        assertEquals(1, count("tenant_bigco.tasks"));
+        assertEquals(1, count("tenant_bigco.projects"));
+        assertTrue(count("tenant_bigco.task_counters") > 0);
+        assertEquals(List.of(sharedTask), jdbcTemplate.queryForList("SELECT id FROM public.tasks", UUID.class));
+
+        actAs(dedicated, userRepository.findByEmail("big@bigco.io").orElseThrow());
+        assertEquals(dedicatedTask, taskService.getTaskById(dedicatedTask).getId());
+        assertEquals(1, taskService.getMyTasks(null, null, null).size());
+
+        actAs(shared, userRepository.findByEmail("small@smallco.io").orElseThrow());
+        ResponseStatusException notFound =
+                assertThrows(ResponseStatusException.class, () -> taskService.getTaskById(dedicatedTask));
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+    }
+
+    @Test
+    void duplicateSchemaIsRejected() {
+        createTenant("dup-co", true);
+
+        ResponseStatusException conflict =
+                assertThrows(ResponseStatusException.class, () -> createTenant("dup_co", true));
+        assertEquals(HttpStatus.CONFLICT, conflict.getStatusCode());
+    }
+
+    private Tenant createTenant(String key, boolean dedicatedSchema) {
+        CreateTenantRequest request = new CreateTenantRequest();
+        request.setTenantKey(key);
+        request.setName(key + " Inc");
+        request.setDedicatedSchema(dedicatedSchema);
+        return tenantService.createTenant(request);
+    }
+
+    private UUID createTask(Tenant tenant, String email) {
+        User user = new User();
+        user.setTenant(tenantRepository.getReferenceById(tenant.getId()));
+        user.setEmail(email);
+        user.setUsername(email);
+        user.setPassword("x");
+        user.setRole(UserRole.TENANT_ADMIN.name());
+        user.setCreatedAt(Instant.now());
+        user = userRepository.save(user);
+        actAs(tenant, user);
+
+        CreateProjectRequest project = new CreateProjectRequest();
+        project.setName("Project");
+        project.setStatus("IN_PROGRESS");
+        ProjectResponseDTO created = projectService.createProject(project);
+
+        CreateTaskRequest task = new CreateTaskRequest();
+        task.setProjectId(created.getId());
+        task.setTitle("Task");
+        task.setStatus("TODO");
+        task.setPriority("HIGH");
+        task.setAssigneeId(user.getId());
+        TaskResponseDTO response = taskService.createTask(task);
+        return response.getId();
+    }
+
+    private void actAs(Tenant tenant, User user) {
+        TenantContext.setTenant(tenant.getId());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                user.getId(), null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()))));
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
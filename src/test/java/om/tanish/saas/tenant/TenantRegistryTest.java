@@ -0,0 +1,61 @@
+package om.tanish.saas.tenant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A small pool: with one connection held elsewhere, a lookup that needed a second one would time out
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tenant-registry",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=250",
+        "task-counters.reconcile-on-startup=false"
+})
+@ActiveProfiles("test")
+class TenantRegistryTest {
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private TenantRegistry tenantRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void aMissInsideAWriteTransactionReadsOnTheConnectionItAlreadyHolds() throws Exception {
+        CreateTenantRequest request = new CreateTenantRequest();
+        request.setTenantKey("registry-co");
+        request.setName("Registry Inc");
+        Tenant tenant = tenantService.createTenant(request);
+        tenantRegistry.invalidate(tenant.getId(), tenant.getTenantKey());
+
+        TenantSnapshot snapshot;
+        try (Connection elsewhere = dataSource.getConnection()) {
+            snapshot = new TransactionTemplate(transactionManager).execute(status -> {
+                // Hold the last connection, as a write transaction does by the time it attaches a tenant
+                tenantRepository.count();
+                tenantRegistry.reference(tenant.getId()).orElseThrow();
+                return tenantRegistry.getByKey("registry-co").orElseThrow();
+            });
+        }
+
+        assertEquals(tenant.getId(), snapshot.id());
+        assertEquals(TenantStatus.PENDING, snapshot.status());
+    }
+}
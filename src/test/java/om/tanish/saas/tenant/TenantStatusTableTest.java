@@ -0,0 +1,101 @@
+package om.tanish.saas.tenant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantStatusTableTest {
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    private TenantStatusTable table;
+    private UUID tenantId;
+
+    @BeforeEach
+    void setUp() {
+        table = new TenantStatusTable(tenantRepository, Duration.ofMinutes(1));
+        tenantId = UUID.randomUUID();
+    }
+
+    @Test
+    void statusChange_TakesEffectWithoutDatabaseLookup() {
+        table.onStatusChanged(new TenantStatusChangedEvent(tenantId, TenantStatus.ACTIVE));
+        assertTrue(table.isActive(tenantId));
+
+        table.onStatusChanged(new TenantStatusChangedEvent(tenantId, TenantStatus.SUSPENDED));
+        assertFalse(table.isActive(tenantId));
+
+        verifyNoInteractions(tenantRepository);
+    }
+
+    @Test
+    void unknownTenant_IsLookedUpOnceIncludingMisses() {
+        UUID missingId = UUID.randomUUID();
+        when(tenantRepository.findStatusById(tenantId)).thenReturn(Optional.of(TenantStatus.ACTIVE));
+        when(tenantRepository.findStatusById(missingId)).thenReturn(Optional.empty());
+
+        assertTrue(table.isActive(tenantId));
+        assertTrue(table.isActive(tenantId));
+        assertFalse(table.isActive(missingId));
+        assertFalse(table.isActive(missingId));
+
+        verify(tenantRepository, times(1)).findStatusById(tenantId);
+        verify(tenantRepository, times(1)).findStatusById(missingId);
+    }
+
+    @Test
+    void reload_DoesNotOverwriteChangeAppliedWhileReading() {
+        table.onStatusChanged(new TenantStatusChangedEvent(tenantId, TenantStatus.ACTIVE));
+
+        // The first read races with a suspension and returns the old status
+        when(tenantRepository.findAllProjectedBy())
+                .thenAnswer(invocation -> {
+                    table.onStatusChanged(new TenantStatusChangedEvent(tenantId, TenantStatus.SUSPENDED));
+                    return List.of(view(tenantId, TenantStatus.ACTIVE));
+                })
+                .thenReturn(List.of(view(tenantId, TenantStatus.SUSPENDED)));
+
+        long before = table.version();
+        table.reload();
+
+        assertFalse(table.isActive(tenantId));
+        assertEquals(before + 2, table.version());
+        verify(tenantRepository, times(2)).findAllProjectedBy();
+    }
+
+    @Test
+    void deletedTenant_IsNoLongerActive() {
+        table.onStatusChanged(new TenantStatusChangedEvent(tenantId, TenantStatus.ACTIVE));
+        when(tenantRepository.findStatusById(tenantId)).thenReturn(Optional.empty());
+
+        table.onStatusChanged(new TenantStatusChangedEvent(tenantId, null));
+
+        assertFalse(table.isActive(tenantId));
+    }
+
+    private static TenantStatusView view(UUID id, TenantStatus status) {
+        return new TenantStatusView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public TenantStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -2,7 +2,7 @@ package om.tanish.saas.user;
 
 import om.tanish.saas.tenant.Tenant;
 import om.tanish.saas.tenant.TenantContext;
-import om.tanish.saas.tenant.TenantRepository;
+import om.tanish.saas.tenant.TenantRegistry;
 import om.tanish.saas.tenant.TenantStatus;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,7 +32,7 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private TenantRepository tenantRepository;
+    private TenantRegistry tenantRegistry;
 
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -70,7 +70,7 @@ class UserServiceTest {
     void createUser_Success() {
         // Arrange
         TenantContext.setTenant(testTenantId);
-        when(tenantRepository.findById(testTenantId)).thenReturn(Optional.of(testTenant));
+        when(tenantRegistry.reference(testTenantId)).thenReturn(Optional.of(testTenant));
         when(userRepository.existsByTenantAndEmail(testTenant, validRequest.getEmail())).thenReturn(false);
         when(userRepository.existsByTenantAndUsername(testTenant, validRequest.getUsername())).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
@@ -96,7 +96,7 @@ class UserServiceTest {
     void createUser_EmailAlreadyExists_ThrowsException() {
         // Arrange
         TenantContext.setTenant(testTenantId);
-        when(tenantRepository.findById(testTenantId)).thenReturn(Optional.of(testTenant));
+        when(tenantRegistry.reference(testTenantId)).thenReturn(Optional.of(testTenant));
         when(userRepository.existsByTenantAndEmail(testTenant, validRequest.getEmail())).thenReturn(true);
 
         // Act & Assert
@@ -113,7 +113,7 @@ class UserServiceTest {
     void createUser_UsernameAlreadyExists_ThrowsException() {
         // Arrange
         TenantContext.setTenant(testTenantId);
-        when(tenantRepository.findById(testTenantId)).thenReturn(Optional.of(testTenant));
+        when(tenantRegistry.reference(testTenantId)).thenReturn(Optional.of(testTenant));
         when(userRepository.existsByTenantAndEmail(testTenant, validRequest.getEmail())).thenReturn(false);
         when(userRepository.existsByTenantAndUsername(testTenant, validRequest.getUsername())).thenReturn(true);
 
@@ -145,7 +145,7 @@ class UserServiceTest {
     void createUser_PasswordTooShort_ThrowsException() {
         // Arrange
         TenantContext.setTenant(testTenantId);
-        when(tenantRepository.findById(testTenantId)).thenReturn(Optional.of(testTenant));
+        when(tenantRegistry.reference(testTenantId)).thenReturn(Optional.of(testTenant));
         when(userRepository.existsByTenantAndEmail(testTenant, validRequest.getEmail())).thenReturn(false);
         when(userRepository.existsByTenantAndUsername(testTenant, validRequest.getUsername())).thenReturn(false);
 
@@ -164,7 +164,7 @@ class UserServiceTest {
     void createUser_PasswordNoUppercase_ThrowsException() {
         // Arrange
         TenantContext.setTenant(testTenantId);
-        when(tenantRepository.findById(testTenantId)).thenReturn(Optional.of(testTenant));
+        when(tenantRegistry.reference(testTenantId)).thenReturn(Optional.of(testTenant));
         when(userRepository.existsByTenantAndEmail(testTenant, validRequest.getEmail())).thenReturn(false);
         when(userRepository.existsByTenantAndUsername(testTenant, validRequest.getUsername())).thenReturn(false);
 
@@ -183,7 +183,7 @@ class UserServiceTest {
     void createUser_PasswordNoLowercase_ThrowsException() {
         // Arrange
         TenantContext.setTenant(testTenantId);
-        when(tenantRepository.findById(testTenantId)).thenReturn(Optional.of(testTenant));
+        when(tenantRegistry.reference(testTenantId)).thenReturn(Optional.of(testTenant));
         when(userRepository.existsByTenantAndEmail(testTenant, validRequest.getEmail())).thenReturn(false);
         when(userRepository.existsByTenantAndUsername(testTenant, validRequest.getUsername())).thenReturn(false);
 
@@ -202,7 +202,7 @@ class UserServiceTest {
     void createUser_PasswordNoDigit_ThrowsException() {
         // Arrange
         TenantContext.setTenant(testTenantId);
-        when(tenantRepository.findById(testTenantId)).thenReturn(Optional.of(testTenant));
+        when(tenantRegistry.reference(testTenantId)).thenReturn(Optional.of(testTenant));
         when(userRepository.existsByTenantAndEmail(testTenant, validRequest.getEmail())).thenReturn(false);
         when(userRepository.existsByTenantAndUsername(testTenant, validRequest.getUsername())).thenReturn(false);
 